@@ -0,0 +1,122 @@
+package com.digitalojt.web.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.entity.AdminInfo;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.entity.OperationLog;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * ベンチマーク用のテストデータ・スタブ生成クラス
+ *
+ * <pre>
+ * 乱数は使わず、件数が同じなら毎回同じデータを生成する。
+ * （リリース間で計測結果を比較できるようにするため）
+ * </pre>
+ *
+ * @author dotlife
+ */
+final class BenchmarkData {
+
+	/** 基準日時 */
+	static final LocalDateTime BASE_DATE = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * 在庫センター情報を生成
+	 * 都道府県は全47都道府県に均等に割り当て、現在容量は 0～999 に分散させる
+	 *
+	 * @param rows 件数
+	 * @return 在庫センター情報のリスト（center_id は 1 からの連番）
+	 */
+	static List<CenterInfo> centers(int rows) {
+		Region[] regions = Region.values();
+		List<CenterInfo> list = new ArrayList<>(rows);
+		for (int i = 1; i <= rows; i++) {
+			Region region = regions[i % regions.length];
+			CenterInfo center = new CenterInfo();
+			center.setCenterId(i);
+			center.setCenterName("センター" + i);
+			center.setPostCode("100-0001");
+			center.setAddress(region.getName() + "中央区1-" + i);
+			center.setRegionCode(region.getCode());
+			center.setPhoneNumber("03-1234-5678");
+			center.setManagerName("管理者" + (i % 100));
+			center.setOperationalStatus(i % 10 == 0 ? 1 : 0);
+			center.setMaxStorageCapacity(1000);
+			center.setCurrentStorageCapacity((i * 37) % 1000);
+			center.setNotes(i % 3 == 0 ? null : "備考" + i);
+			center.setDeleteFlag(0);
+			center.setCreateDate(BASE_DATE.plusMinutes(i));
+			center.setUpdateDate(BASE_DATE.plusMinutes(i));
+			center.setVersion(0L);
+			list.add(center);
+		}
+		return list;
+	}
+
+	/**
+	 * 操作履歴情報を生成
+	 *
+	 * @param rows 件数
+	 * @return 操作履歴情報のリスト
+	 */
+	static List<OperationLog> operationLogs(int rows) {
+		AdminInfo admin = new AdminInfo();
+		admin.setAdminId("admin");
+		admin.setAdminName("管理者");
+
+		String[] tableKeys = { "centerInfo.title", "stockList.title", "operationLog.title", "unknown.title" };
+		List<OperationLog> list = new ArrayList<>(rows);
+		for (int i = 1; i <= rows; i++) {
+			OperationLog log = new OperationLog();
+			log.setLogId(i);
+			log.setAdminInfo(admin);
+			log.setTableKey(tableKeys[i % tableKeys.length]);
+			log.setOperateType(i % 3 + 1);
+			log.setStatus(i % 2);
+			log.setOperationDetails("操作" + i);
+			log.setDeleteFlag(0);
+			log.setCreateDate(BASE_DATE.plusSeconds(i));
+			log.setUpdateDate(BASE_DATE.plusSeconds(i));
+			list.add(log);
+		}
+		return list;
+	}
+
+	/**
+	 * 何もしない ConstraintValidatorContext を生成
+	 * エラー時のメッセージ組み立て（buildConstraintViolationWithTemplate 以降）は空振りさせる
+	 *
+	 * @return バリデーションコンテキスト
+	 */
+	static ConstraintValidatorContext noopValidatorContext() {
+		return noop(ConstraintValidatorContext.class);
+	}
+
+	/**
+	 * 戻り値がインターフェースの場合は同じく何もしないスタブを返すプロキシを生成
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T noop(Class<T> type) {
+		return (T) Proxy.newProxyInstance(BenchmarkData.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Class<?> returnType = method.getReturnType();
+					if (returnType.isInterface()) {
+						return noop(returnType);
+					}
+					if (returnType == boolean.class) {
+						return false;
+					}
+					return null;
+				});
+	}
+}
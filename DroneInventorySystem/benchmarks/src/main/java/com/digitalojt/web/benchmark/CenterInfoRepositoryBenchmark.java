@@ -0,0 +1,141 @@
+package com.digitalojt.web.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.digitalojt.web.DroneInventorySystemApplication;
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.repository.CenterInfoRepository;
+
+/**
+ * 在庫センター情報リポジトリーの検索ベンチマーク
+ *
+ * <pre>
+ * 組み込み H2（MySQL 互換モード）にアプリケーションのスキーマを作成し、
+ * 合成データを投入した上で検索クエリを計測する。
+ * インメモリ索引・検索結果キャッシュは無効にし、リポジトリーを直接呼び出す。
+ * （コントローラーが Servlet 環境を前提とするため、空きポートで組み込み Tomcat も起動する）
+ * </pre>
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CenterInfoRepositoryBenchmark {
+
+	/** 投入件数 */
+	@Param({ "10000", "100000" })
+	private int rows;
+
+	/** 1回の INSERT バッチ件数 */
+	private static final int INSERT_BATCH_SIZE = 1000;
+
+	private ConfigurableApplicationContext context;
+
+	private CenterInfoRepository repository;
+
+	private final int tokyo = Region.TOKYO.getCode();
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(DroneInventorySystemApplication.class)
+				// application.properties より優先させるためコマンドライン引数で指定する
+				.run(
+						"--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.driverClassName=org.h2.Driver",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.jpa.hibernate.ddl-auto=create",
+						"--spring.jpa.show-sql=false",
+						"--app.center-info.index.enabled=false",
+						"--app.center-info.search-cache.enabled=false",
+						"--logging.level.root=WARN",
+						"--logging.level.org.hibernate.SQL=OFF",
+						"--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF");
+		repository = context.getBean(CenterInfoRepository.class);
+		seed(context.getBean(JdbcTemplate.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	/** 都道府県 + 容量範囲（画面の代表的な検索条件） */
+	@Benchmark
+	public List<CenterInfo> findActiveCentersByRegionAndCapacity() {
+		return repository.findActiveCenters("", tokyo, 100, 300);
+	}
+
+	/** センター名の部分一致のみ */
+	@Benchmark
+	public List<CenterInfo> findActiveCentersByName() {
+		return repository.findActiveCenters("ター12", null, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	/** キーセットページング（先頭ページ 50件） */
+	@Benchmark
+	public List<CenterInfo> findActiveCentersAfterFirstPage() {
+		return repository.findActiveCentersAfter("", null, Integer.MIN_VALUE, Integer.MAX_VALUE,
+				0, PageRequest.ofSize(51));
+	}
+
+	/** キーセットページング（末尾付近のページ 50件） */
+	@Benchmark
+	public List<CenterInfo> findActiveCentersAfterDeepPage() {
+		return repository.findActiveCentersAfter("", null, Integer.MIN_VALUE, Integer.MAX_VALUE,
+				rows - 100, PageRequest.ofSize(51));
+	}
+
+	/**
+	 * 合成データを JDBC バッチで投入
+	 */
+	private void seed(JdbcTemplate jdbcTemplate) {
+		String sql = "INSERT INTO center_info (center_name, post_code, address, region_code, phone_number, "
+				+ "manager_name, operational_status, max_storage_capacity, current_storage_capacity, notes, "
+				+ "delete_flag, create_date, update_date, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		List<CenterInfo> centers = BenchmarkData.centers(rows);
+		for (int from = 0; from < centers.size(); from += INSERT_BATCH_SIZE) {
+			List<CenterInfo> batch = centers.subList(from, Math.min(from + INSERT_BATCH_SIZE, centers.size()));
+			jdbcTemplate.batchUpdate(sql, batch, batch.size(), (ps, c) -> {
+				ps.setString(1, c.getCenterName());
+				ps.setString(2, c.getPostCode());
+				ps.setString(3, c.getAddress());
+				ps.setInt(4, c.getRegionCode());
+				ps.setString(5, c.getPhoneNumber());
+				ps.setString(6, c.getManagerName());
+				ps.setInt(7, c.getOperationalStatus());
+				ps.setInt(8, c.getMaxStorageCapacity());
+				ps.setInt(9, c.getCurrentStorageCapacity());
+				ps.setString(10, c.getNotes());
+				ps.setInt(11, c.getDeleteFlag());
+				ps.setObject(12, c.getCreateDate());
+				ps.setObject(13, c.getUpdateDate());
+				ps.setLong(14, c.getVersion());
+			});
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.digitalojt.web.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.digitalojt.web.dto.CenterInfoView;
+import com.digitalojt.web.entity.CenterInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 在庫センター情報一覧の JSON シリアライズのベンチマーク
+ *
+ * <pre>
+ * エンティティをそのまま出力する場合と、表示用DTO（CenterInfoView）へ変換して出力する場合を比較する。
+ * 出力先は破棄用の OutputStream とし、レスポンスへの書き込みと同じくバイト配列を保持しない。
+ * 割り当て量は -prof gc（gc.alloc.rate.norm）で確認する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CenterInfoSerializationBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int rows;
+
+	/** Spring Boot の既定設定に合わせた ObjectMapper（出力先は閉じない） */
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	private final OutputStream sink = OutputStream.nullOutputStream();
+
+	private List<CenterInfo> entities;
+
+	private List<CenterInfoView> views;
+
+	@Setup
+	public void setUp() {
+		entities = BenchmarkData.centers(rows);
+		views = toViews(entities);
+	}
+
+	/** エンティティ一覧をそのまま出力 */
+	@Benchmark
+	public void entities() throws IOException {
+		objectMapper.writeValue(sink, entities);
+	}
+
+	/** 変換済みの表示用DTO一覧を出力 */
+	@Benchmark
+	public void views() throws IOException {
+		objectMapper.writeValue(sink, views);
+	}
+
+	/** 表示用DTOへの変換と出力（コントローラーと同じ処理） */
+	@Benchmark
+	public void convertAndWriteViews() throws IOException {
+		objectMapper.writeValue(sink, toViews(entities));
+	}
+
+	private static List<CenterInfoView> toViews(List<CenterInfo> list) {
+		List<CenterInfoView> result = new ArrayList<>(list.size());
+		for (CenterInfo center : list) {
+			result.add(CenterInfoView.from(center));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,97 @@
+package com.digitalojt.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.digitalojt.web.form.CenterInfoForm;
+import com.digitalojt.web.form.OperationLogForm;
+import com.digitalojt.web.validation.CenterInfoFormValidatorImpl;
+import com.digitalojt.web.validation.OperationLogFormValidatorImpl;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * 画面フォームの相関バリデーション（isValid）のベンチマーク
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormValidatorBenchmark {
+
+	private final CenterInfoFormValidatorImpl centerInfoValidator = new CenterInfoFormValidatorImpl();
+
+	private final OperationLogFormValidatorImpl operationLogValidator = new OperationLogFormValidatorImpl();
+
+	private final ConstraintValidatorContext context = BenchmarkData.noopValidatorContext();
+
+	/** 在庫センター検索: 全項目入力（正常） */
+	private CenterInfoForm centerSearchForm;
+
+	/** 在庫センター検索: 不正文字を含む */
+	private CenterInfoForm centerInvalidForm;
+
+	/** 操作履歴検索: 全項目入力（正常） */
+	private OperationLogForm operationLogForm;
+
+	/** 操作履歴検索: 不正なステータス */
+	private OperationLogForm operationLogInvalidForm;
+
+	@Setup
+	public void setUp() {
+		centerSearchForm = new CenterInfoForm();
+		centerSearchForm.setCenterName("東京第一物流センター");
+		centerSearchForm.setRegion("東京都");
+		centerSearchForm.setStorageCapacityFrom(100);
+		centerSearchForm.setStorageCapacityTo(900);
+
+		centerInvalidForm = new CenterInfoForm();
+		centerInvalidForm.setCenterName("東京第一物流センター<script>");
+		centerInvalidForm.setRegion("東京都");
+
+		operationLogForm = new OperationLogForm();
+		operationLogForm.setUserId("admin");
+		operationLogForm.setOperateTypeStr("更新");
+		operationLogForm.setStatusStr("成功");
+		operationLogForm.setCreateDate(BenchmarkData.BASE_DATE);
+		operationLogForm.setUpdateDate(BenchmarkData.BASE_DATE.plusDays(30));
+
+		operationLogInvalidForm = new OperationLogForm();
+		operationLogInvalidForm.setUserId("admin");
+		operationLogInvalidForm.setStatusStr("' OR 1=1 --");
+	}
+
+	@Benchmark
+	public boolean centerInfoValid() {
+		return centerInfoValidator.isValid(centerSearchForm, context);
+	}
+
+	@Benchmark
+	public boolean centerInfoInvalid() {
+		return centerInfoValidator.isValid(centerInvalidForm, context);
+	}
+
+	@Benchmark
+	public boolean operationLogValid() {
+		return operationLogValidator.isValid(operationLogForm, context);
+	}
+
+	@Benchmark
+	public boolean operationLogInvalid() {
+		return operationLogValidator.isValid(operationLogInvalidForm, context);
+	}
+}
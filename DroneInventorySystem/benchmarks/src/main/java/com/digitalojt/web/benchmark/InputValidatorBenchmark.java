@@ -0,0 +1,57 @@
+package com.digitalojt.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.digitalojt.web.util.InputValidator;
+
+/**
+ * 入力値バリデータ（SQLインジェクション・XSS 正規表現）のベンチマーク
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputValidatorBenchmark {
+
+	/**
+	 * 入力の種類
+	 * short: 通常の短い入力 / long: 不正パターンを含まない255文字（最悪ケース） /
+	 * sql: SQLインジェクション / xss: スクリプトタグ
+	 */
+	@Param({ "short", "long", "sql", "xss" })
+	private String kind;
+
+	private String input;
+
+	@Setup
+	public void setUp() {
+		input = switch (kind) {
+		case "short" -> "東京第一物流センター";
+		case "long" -> "物流センター備考 onlyletters ".repeat(20).substring(0, 255);
+		case "sql" -> "センター' UNION SELECT password FROM admin_info";
+		case "xss" -> "<img src=x onerror=alert(1)>";
+		default -> throw new IllegalArgumentException(kind);
+		};
+	}
+
+	@Benchmark
+	public boolean isValid() {
+		return InputValidator.isValid(input);
+	}
+}
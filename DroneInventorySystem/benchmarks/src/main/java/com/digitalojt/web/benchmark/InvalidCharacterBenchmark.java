@@ -0,0 +1,98 @@
+package com.digitalojt.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.digitalojt.web.consts.InvalidCharacter;
+import com.digitalojt.web.util.InvalidCharacterSanitizer;
+
+/**
+ * 不正文字チェックのベンチマーク
+ * 共通化前の実装（InvalidCharacter.values() の線形走査・ログインIDの禁止文字列の indexOf）と
+ * InvalidCharacterSanitizer（ビット表）を比較する。
+ * 割り当て量は -prof gc（gc.alloc.rate.norm）で確認する。
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvalidCharacterBenchmark {
+
+	/** 共通化前のログインIDの禁止文字 */
+	private static final String LEGACY_ADMIN_ID_INVALID_CHARS = "{}()'*;$=&";
+
+	/**
+	 * 入力の種類
+	 * id: ログインID / short: 通常の短い入力 / long: 不正文字を含まない255文字（最悪ケース） /
+	 * invalid: 末尾に不正文字
+	 */
+	@Param({ "id", "short", "long", "invalid" })
+	private String kind;
+
+	private String input;
+
+	@Setup
+	public void setUp() {
+		input = switch (kind) {
+		case "id" -> "admin01";
+		case "short" -> "東京第一物流センター";
+		case "long" -> "物流センター備考onlyletters".repeat(20).substring(0, 255);
+		case "invalid" -> "東京第一物流センター*";
+		default -> throw new IllegalArgumentException(kind);
+		};
+	}
+
+	/** 共通化前: 各バリデータの実装（1文字ごとに InvalidCharacter.values() を生成して走査） */
+	@Benchmark
+	public boolean legacyEnumLoop() {
+		for (char c : input.toCharArray()) {
+			for (InvalidCharacter invalidChar : InvalidCharacter.values()) {
+				if (invalidChar.getCharacter() == c) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/** 共通化前: CustomUserDetailsService#isValidAdminId の実装（禁止文字ごとに indexOf） */
+	@Benchmark
+	public boolean legacyAdminIdIndexOf() {
+		if (input.contains(" ")) {
+			return true;
+		}
+		for (char c : LEGACY_ADMIN_ID_INVALID_CHARS.toCharArray()) {
+			if (input.indexOf(c) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** 共通化後: ビット表 */
+	@Benchmark
+	public boolean lookupTable() {
+		return InvalidCharacterSanitizer.containsInvalidCharacter(input);
+	}
+
+	/** 共通化後: ログインIDの禁止文字のビット表 */
+	@Benchmark
+	public boolean adminIdLookupTable() {
+		return InvalidCharacterSanitizer.containsInvalidAdminIdCharacter(input);
+	}
+}
@@ -0,0 +1,75 @@
+package com.digitalojt.web.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.digitalojt.web.dto.KeysetPageDto;
+import com.digitalojt.web.entity.OperationLog;
+import com.digitalojt.web.repository.OperationLogRepository;
+import com.digitalojt.web.service.OperationLogService;
+
+/**
+ * 操作履歴の画面表示用変換（OperationLogService）のベンチマーク
+ *
+ * <pre>
+ * リポジトリーはスタブに置き換え、DBアクセスを含まない変換処理のみを計測する。
+ * 変換処理は取得結果のテーブルキーを画面名で上書きするため、
+ * スタブは呼び出しごとにテーブルキーを元に戻してから返す（その分の時間も含まれる）。
+ * 1ページ分（ページサイズ + 1 件）の変換とページ情報の作成を計測対象とする。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperationLogConversionBenchmark {
+
+	@Param({ "100", "500" })
+	private int rows;
+
+	private OperationLogService service;
+
+	@Setup
+	public void setUp() {
+		List<OperationLog> logs = BenchmarkData.operationLogs(rows + 1);
+		String[] tableKeys = logs.stream().map(OperationLog::getTableKey).toArray(String[]::new);
+
+		OperationLogRepository repository = (OperationLogRepository) Proxy.newProxyInstance(
+				OperationLogRepository.class.getClassLoader(), new Class<?>[] { OperationLogRepository.class },
+				(proxy, method, args) -> {
+					if (!method.getName().startsWith("findOperationLogs")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					for (int i = 0; i < tableKeys.length; i++) {
+						logs.get(i).setTableKey(tableKeys[i]);
+					}
+					return logs.subList(0, Math.min(logs.size(), ((Pageable) args[args.length - 1]).getPageSize()));
+				});
+		service = new OperationLogService(repository);
+	}
+
+	@Benchmark
+	public KeysetPageDto<OperationLog> getOperationLogPage() {
+		return service.getOperationLogPage("admin", null, null, null, null, Sort.Direction.ASC, null, null, rows);
+	}
+}
@@ -0,0 +1,186 @@
+package com.digitalojt.web.benchmark;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 在庫センター検索の負荷試験（同時接続数に対するスループット・応答時間）
+ *
+ * <pre>
+ * 起動済みのアプリケーションにログインし、指定した同時接続数のクライアントが
+ * /admin/centerInfo/search（JSON）を応答を待って繰り返し呼び出す（クローズドループ）。
+ * クライアントは非同期 HTTP で実装しているため、1,000 接続以上でもスレッドを消費しない。
+ * 従来のスレッドプールと仮想スレッドの比較は、アプリケーションの起動オプションだけを変えて同じ条件で実行する。
+ *
+ *   java -cp target/benchmarks.jar com.digitalojt.web.benchmark.SearchLoadTest \
+ *       [URL] [同時接続数] [計測秒数] [ウォームアップ秒数]
+ *   例: java -cp target/benchmarks.jar com.digitalojt.web.benchmark.SearchLoadTest http://localhost:8080 1000 60 15
+ *
+ * 検索条件は容量(From)を毎回変えるため、検索結果キャッシュにはほぼヒットしない。
+ * ログインIDとパスワードはシステムプロパティ loadtest.adminId / loadtest.password で変更できる。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class SearchLoadTest {
+
+	/** ログイン画面の CSRF トークン */
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+	/** 応答時間の集計単位の上限（ミリ秒、これ以上は最後の区間に集計） */
+	private static final int MAX_LATENCY_MS = 60_000;
+
+	/** 計測中か */
+	private static volatile boolean measuring;
+
+	/** 終了したか */
+	private static volatile boolean stopped;
+
+	/** 成功件数 */
+	private static final LongAdder successes = new LongAdder();
+
+	/** 失敗件数（200 以外の応答・通信エラー） */
+	private static final LongAdder failures = new LongAdder();
+
+	/** 応答時間の分布（ミリ秒単位） */
+	private static final AtomicLongArray latencies = new AtomicLongArray(MAX_LATENCY_MS + 1);
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = (args.length > 0) ? args[0] : "http://localhost:8080";
+		int clients = (args.length > 1) ? Integer.parseInt(args[1]) : 1000;
+		int seconds = (args.length > 2) ? Integer.parseInt(args[2]) : 60;
+		int warmupSeconds = (args.length > 3) ? Integer.parseInt(args[3]) : 15;
+
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.cookieHandler(new CookieManager())
+				.connectTimeout(Duration.ofSeconds(30))
+				.build();
+		login(http, baseUrl);
+
+		System.out.printf("URL=%s, 同時接続数=%d, 計測=%d秒, ウォームアップ=%d秒%n", baseUrl, clients, seconds, warmupSeconds);
+		CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+		for (int i = 0; i < clients; i++) {
+			loops[i] = loop(http, baseUrl);
+		}
+
+		Thread.sleep(warmupSeconds * 1000L);
+		measuring = true;
+		long start = System.nanoTime();
+		Thread.sleep(seconds * 1000L);
+		measuring = false;
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		stopped = true;
+		CompletableFuture.allOf(loops).get();
+
+		long count = successes.sum();
+		System.out.printf("スループット: %.1f req/s（成功=%d, 失敗=%d）%n", count / elapsed, count, failures.sum());
+		System.out.printf("応答時間(ms): p50=%d, p90=%d, p99=%d, max=%d%n",
+				percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0));
+	}
+
+	/**
+	 * 1クライアント分の呼び出しを繰り返す
+	 *
+	 * @param http HTTPクライアント
+	 * @param baseUrl アプリケーションのURL
+	 * @return 終了までの Future
+	 */
+	private static CompletableFuture<Void> loop(HttpClient http, String baseUrl) {
+		if (stopped) {
+			return CompletableFuture.completedFuture(null);
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/admin/centerInfo/search?pageSize=50"
+				+ "&storageCapacityFrom=" + ThreadLocalRandom.current().nextInt(1000)))
+				.header("Accept", "application/json")
+				.timeout(Duration.ofSeconds(MAX_LATENCY_MS / 1000))
+				.GET()
+				.build();
+		long start = System.nanoTime();
+		return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, error) -> {
+					if (measuring) {
+						if (error == null && response.statusCode() == 200) {
+							successes.increment();
+							int millis = (int) Math.min((System.nanoTime() - start) / 1_000_000, MAX_LATENCY_MS);
+							latencies.incrementAndGet(millis);
+						} else {
+							failures.increment();
+						}
+					}
+					return null;
+				})
+				.thenCompose(ignored -> loop(http, baseUrl));
+	}
+
+	/**
+	 * ログインしてセッションを確立する
+	 *
+	 * @param http HTTPクライアント
+	 * @param baseUrl アプリケーションのURL
+	 * @throws Exception ログインに失敗した場合
+	 */
+	private static void login(HttpClient http, String baseUrl) throws Exception {
+		String page = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).build(),
+				HttpResponse.BodyHandlers.ofString()).body();
+		Matcher csrf = CSRF.matcher(page);
+		if (!csrf.find()) {
+			throw new IllegalStateException("ログイン画面の CSRF トークンが見つかりません");
+		}
+		String form = "adminId=" + encode(System.getProperty("loadtest.adminId", "admin"))
+				+ "&password=" + encode(System.getProperty("loadtest.password", "pass"))
+				+ "&_csrf=" + encode(csrf.group(1));
+		HttpResponse<Void> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		String location = response.headers().firstValue("Location").orElse("");
+		if (response.statusCode() != 302 || location.contains("error")) {
+			throw new IllegalStateException("ログインに失敗しました: status=" + response.statusCode() + ", location=" + location);
+		}
+	}
+
+	/**
+	 * 応答時間の百分位数を取得
+	 *
+	 * @param ratio 割合（0.0～1.0）
+	 * @return 応答時間（ミリ秒）
+	 */
+	private static long percentile(double ratio) {
+		long total = 0;
+		for (int i = 0; i < latencies.length(); i++) {
+			total += latencies.get(i);
+		}
+		long target = (long) Math.ceil(total * ratio);
+		long seen = 0;
+		for (int i = 0; i < latencies.length(); i++) {
+			seen += latencies.get(i);
+			if (seen >= target && seen > 0) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * URL エンコード
+	 *
+	 * @param value 値
+	 * @return エンコードした値
+	 */
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -1,21 +1,52 @@
 package com.digitalojt.web.config;
 
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.digitalojt.web.util.BCryptStrengthCalibrator;
+
 /**
  * Bean定義クラス
  *
  * @author dotlife
- * 
+ *
  */
 @Configuration
 public class BeanDefine {
 
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(BeanDefine.class);
+
+	/**
+	 * パスワードエンコーダー
+	 * 2026/10/18 性能改善: 強度（コスト）を設定値、または起動時に計測した照合時間から決定する
+	 * 保存済みのハッシュが決定した強度より弱い場合は、ログイン成功時に再ハッシュして保存する（CustomUserDetailsService）
+	 *
+	 * @param strength 強度（0 の場合は target-latency から決定）
+	 * @param targetLatency 1回の照合にかける目標時間
+	 * @param minStrength 最小強度
+	 * @param maxStrength 最大強度
+	 * @return パスワードエンコーダー
+	 */
     @Bean
-    PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(
+			@Value("${app.security.bcrypt.strength:0}") int strength,
+			@Value("${app.security.bcrypt.target-latency:250ms}") Duration targetLatency,
+			@Value("${app.security.bcrypt.min-strength:10}") int minStrength,
+			@Value("${app.security.bcrypt.max-strength:14}") int maxStrength) {
+		if (strength <= 0) {
+			strength = BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+			logger.info("BCrypt 強度を計測から決定: strength={}, 目標={}ms", strength, targetLatency.toMillis());
+		} else {
+			logger.info("BCrypt 強度（設定値）: strength={}", strength);
+		}
+		return new BCryptPasswordEncoder(strength);
 	}
 }
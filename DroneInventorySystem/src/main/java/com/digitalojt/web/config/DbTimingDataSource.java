@@ -0,0 +1,245 @@
+package com.digitalojt.web.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.digitalojt.web.filter.RequestContext;
+
+/**
+ * DB の処理時間をリクエストのコンテキストに加算するデータソース（2026/10/18 機能追加）
+ *
+ * <pre>
+ * 接続・ステートメント・結果セットをプロキシで包み、以下の時間を RequestContext に加算する。
+ * - 接続の取得（コネクションプールの待ち時間を含む）
+ * - SQL の実行（execute / executeQuery / executeUpdate / executeBatch）
+ * - 結果セットの読み込み（next などの行の移動。ドライバーが行を分割して取得する場合の取得時間）
+ * - コミット・ロールバック
+ * JPA（Hibernate）・JdbcTemplate のどちらから実行された SQL も対象になる。
+ * 接続の取得時に処理中のスレッドに RequestContext がない場合（起動時の処理・バッチなど）は、元の接続をそのまま返す。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class DbTimingDataSource extends DelegatingDataSource {
+
+	/** 処理時間を計測する接続のメソッド */
+	private static final Set<String> TIMED_CONNECTION_METHODS = Set.of("commit", "rollback");
+
+	/** 処理時間を計測する結果セットのメソッド（行の移動） */
+	private static final Set<String> TIMED_RESULT_SET_METHODS = Set.of("next", "previous", "first", "last",
+			"absolute", "relative");
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param target 元のデータソース
+	 */
+	public DbTimingDataSource(DataSource target) {
+		super(target);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		RequestContext context = RequestContext.current();
+		if (context == null) {
+			return super.getConnection();
+		}
+		long start = System.nanoTime();
+		try {
+			return wrap(super.getConnection());
+		} finally {
+			context.addDbTime(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		RequestContext context = RequestContext.current();
+		if (context == null) {
+			return super.getConnection(username, password);
+		}
+		long start = System.nanoTime();
+		try {
+			return wrap(super.getConnection(username, password));
+		} finally {
+			context.addDbTime(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * 接続をプロキシで包む
+	 *
+	 * @param connection 元の接続
+	 * @return プロキシ
+	 */
+	private static Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(DbTimingDataSource.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+	}
+
+	/**
+	 * 接続のプロキシ（ステートメントの生成をフックし、コミット・ロールバックの時間を計測する）
+	 */
+	private static final class ConnectionHandler implements InvocationHandler {
+
+		/** 元の接続 */
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				break;
+			}
+			Object result = TIMED_CONNECTION_METHODS.contains(name) ? invokeTimed(target, method, args)
+					: invokeTarget(target, method, args);
+			if (result instanceof Statement statement) {
+				Class<?> type = (result instanceof CallableStatement) ? CallableStatement.class
+						: (result instanceof PreparedStatement) ? PreparedStatement.class : Statement.class;
+				return Proxy.newProxyInstance(DbTimingDataSource.class.getClassLoader(),
+						new Class<?>[] { type }, new StatementHandler(statement, (Connection) proxy));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * ステートメントのプロキシ（SQL の実行時間を計測し、結果セットをプロキシで包む）
+	 */
+	private static final class StatementHandler implements InvocationHandler {
+
+		/** 元のステートメント */
+		private final Statement target;
+
+		/** 接続のプロキシ（getConnection の戻り値） */
+		private final Connection connection;
+
+		StatementHandler(Statement target, Connection connection) {
+			this.target = target;
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "getConnection":
+				return connection;
+			default:
+				break;
+			}
+			Object result = name.startsWith("execute") ? invokeTimed(target, method, args)
+					: invokeTarget(target, method, args);
+			if (result instanceof ResultSet resultSet) {
+				return Proxy.newProxyInstance(DbTimingDataSource.class.getClassLoader(),
+						new Class<?>[] { ResultSet.class }, new ResultSetHandler(resultSet, (Statement) proxy));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * 結果セットのプロキシ（行の移動の時間を計測する）
+	 */
+	private static final class ResultSetHandler implements InvocationHandler {
+
+		/** 元の結果セット */
+		private final ResultSet target;
+
+		/** ステートメントのプロキシ（getStatement の戻り値） */
+		private final Statement statement;
+
+		ResultSetHandler(ResultSet target, Statement statement) {
+			this.target = target;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "getStatement":
+				return statement;
+			default:
+				break;
+			}
+			return TIMED_RESULT_SET_METHODS.contains(name) ? invokeTimed(target, method, args)
+					: invokeTarget(target, method, args);
+		}
+	}
+
+	/**
+	 * 元のオブジェクトのメソッドを呼び出し、処理時間を処理中のスレッドの RequestContext に加算する
+	 *
+	 * @param target 元のオブジェクト
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 戻り値
+	 * @throws Throwable 元のメソッドが送出した例外
+	 */
+	private static Object invokeTimed(Object target, Method method, Object[] args) throws Throwable {
+		RequestContext context = RequestContext.current();
+		if (context == null) {
+			return invokeTarget(target, method, args);
+		}
+		long start = System.nanoTime();
+		try {
+			return invokeTarget(target, method, args);
+		} finally {
+			context.addDbTime(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * 元のオブジェクトのメソッドを呼び出す（例外は元の型のまま送出する）
+	 *
+	 * @param target 元のオブジェクト
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 戻り値
+	 * @throws Throwable 元のメソッドが送出した例外
+	 */
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
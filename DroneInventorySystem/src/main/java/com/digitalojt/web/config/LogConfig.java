@@ -1,20 +1,140 @@
 package com.digitalojt.web.config;
 
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
 
 import com.digitalojt.web.filter.LogSettingFilter;
+import com.digitalojt.web.filter.RequestContext;
+import com.digitalojt.web.util.DropCountingAsyncAppender;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 /**
  * ログセッティングフィルターを使用可能にするための設定
- * 
+ *
  * @author dotlife
  */
 @Configuration
 public class LogConfig {
-	
+
+	/**
+	 * ログセッティングフィルター
+	 * 2026/10/18 機能追加: 認証（Spring Security のフィルター）より前に実行し、認証を含めた処理時間を計測する
+	 *
+	 * @param serverTimingEnabled Server-Timing ヘッダーの出力有無
+	 * @return フィルターの登録内容
+	 */
+	@Bean
+	public FilterRegistrationBean<LogSettingFilter> logSettingFilter(
+			@Value("${app.request-context.server-timing.enabled:true}") boolean serverTimingEnabled) {
+		FilterRegistrationBean<LogSettingFilter> registration = new FilterRegistrationBean<>(
+				new LogSettingFilter(serverTimingEnabled));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+
+	/**
+	 * DB の処理時間の計測（2026/10/18 機能追加）
+	 * データソースを DbTimingDataSource で包み、接続取得・SQL 実行・結果セット読み込みの時間を RequestContext に加算する
+	 *
+	 * @return データソースの置き換え処理
+	 */
+	@Bean
+	static BeanPostProcessor dbTimingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof DbTimingDataSource)) {
+					return new DbTimingDataSource(dataSource);
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * 非同期処理へのリクエストのコンテキストの引き継ぎ（2026/10/18 機能追加）
+	 * ログの診断コンテキスト（リクエストID・IPアドレス・ユーザーID）と RequestContext（DB の処理時間の加算先）を引き継ぐ
+	 * Spring Boot が applicationTaskExecutor（@Async・ストリーミング出力など）に設定する
+	 *
+	 * @return タスクの装飾
+	 */
+	@Bean
+	public TaskDecorator mdcTaskDecorator() {
+		return runnable -> {
+			Map<String, String> context = MDC.getCopyOfContextMap();
+			RequestContext requestContext = RequestContext.current();
+			return () -> {
+				Map<String, String> previous = MDC.getCopyOfContextMap();
+				RequestContext previousRequestContext = RequestContext.current();
+				setContextMap(context);
+				RequestContext.bind(requestContext);
+				try {
+					runnable.run();
+				} finally {
+					RequestContext.bind(previousRequestContext);
+					setContextMap(previous);
+				}
+			};
+		};
+	}
+
+	/**
+	 * ログの診断コンテキストを置き換え
+	 *
+	 * @param context 診断コンテキスト（null の場合は消去）
+	 */
+	private static void setContextMap(Map<String, String> context) {
+		if (context == null) {
+			MDC.clear();
+		} else {
+			MDC.setContextMap(context);
+		}
+	}
+
+	/**
+	 * 非同期ログ出力のメトリクス（2026/10/18 機能追加）
+	 * ルートロガーの非同期アペンダーごとに破棄件数（logback.async.dropped）・滞留件数（logback.async.queue.size）を登録する
+	 *
+	 * @return メトリクスの登録処理
+	 */
 	@Bean
-	public LogSettingFilter logSettingFilter() {
-		return new LogSettingFilter();
+	public MeterBinder asyncLogMetrics() {
+		return registry -> {
+			if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+				return;
+			}
+			Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+			while (appenders.hasNext()) {
+				if (appenders.next() instanceof DropCountingAsyncAppender appender) {
+					FunctionCounter.builder("logback.async.dropped", appender, DropCountingAsyncAppender::getDroppedCount)
+							.description("非同期キューが満杯のため破棄したログの件数")
+							.tag("appender", appender.getName())
+							.register(registry);
+					Gauge.builder("logback.async.queue.size", appender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+							.description("非同期キューに滞留しているログの件数")
+							.tag("appender", appender.getName())
+							.register(registry);
+				}
+			}
+		};
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.digitalojt.web.config;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.digitalojt.web.util.QueryCounter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * メトリクスの設定（2026/10/18 機能追加）
+ *
+ * <pre>
+ * 以下は Spring Boot が自動で登録するため、ここでは定義しない
+ * - リポジトリの関数ごとの処理時間（spring.data.repository.invocations）
+ * - JVM のメモリ・GC・スレッド・クラスロード（jvm.*）、CPU 使用率（process.*, system.*）
+ * - Prometheus 形式の出力（/actuator/prometheus。micrometer-registry-prometheus）
+ * ここでは Hibernate の統計情報と、リクエストごとの SQL 件数を数えるための設定を定義する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Configuration
+public class MetricsConfig {
+
+	/**
+	 * Hibernate が発行した SQL の件数をスレッドごとに数える（controller.queries で参照）
+	 *
+	 * @return Hibernate の設定
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer queryCounterCustomizer() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+	}
+
+	/**
+	 * Hibernate の統計情報（hibernate.*）
+	 * hibernate.generate_statistics=true の場合のみ登録する
+	 *
+	 * @param entityManagerFactory エンティティマネージャーファクトリー
+	 * @return メトリクスの登録処理
+	 */
+	@Bean
+	public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+		return registry -> {
+			Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			if (!statistics.isStatisticsEnabled()) {
+				return;
+			}
+			counter(registry, statistics, "hibernate.query.executions", "HQL・ネイティブクエリの実行件数",
+					Statistics::getQueryExecutionCount);
+			counter(registry, statistics, "hibernate.statements", "準備した JDBC ステートメントの件数",
+					Statistics::getPrepareStatementCount);
+			counter(registry, statistics, "hibernate.entities.loads", "エンティティの読み込み件数",
+					Statistics::getEntityLoadCount);
+			counter(registry, statistics, "hibernate.entities.fetches", "エンティティの遅延読み込み件数",
+					Statistics::getEntityFetchCount);
+			counter(registry, statistics, "hibernate.entities.inserts", "エンティティの登録件数",
+					Statistics::getEntityInsertCount);
+			counter(registry, statistics, "hibernate.entities.updates", "エンティティの更新件数",
+					Statistics::getEntityUpdateCount);
+			counter(registry, statistics, "hibernate.entities.deletes", "エンティティの削除件数",
+					Statistics::getEntityDeleteCount);
+			counter(registry, statistics, "hibernate.collections.loads", "コレクションの読み込み件数",
+					Statistics::getCollectionLoadCount);
+			counter(registry, statistics, "hibernate.flushes", "フラッシュの件数",
+					Statistics::getFlushCount);
+			counter(registry, statistics, "hibernate.sessions.open", "開いたセッションの件数",
+					Statistics::getSessionOpenCount);
+			counter(registry, statistics, "hibernate.transactions", "完了したトランザクションの件数",
+					Statistics::getTransactionCount);
+			counter(registry, statistics, "hibernate.optimistic.failures", "楽観ロックの失敗件数",
+					Statistics::getOptimisticFailureCount);
+			Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+					.description("最も遅かったクエリの実行時間")
+					.baseUnit("milliseconds")
+					.register(registry);
+		};
+	}
+
+	/**
+	 * 統計情報の累計値をカウンターとして登録
+	 *
+	 * @param registry メトリクス
+	 * @param statistics 統計情報
+	 * @param name メトリクス名
+	 * @param description 説明
+	 * @param function 累計値の取得関数
+	 */
+	private static void counter(MeterRegistry registry, Statistics statistics, String name, String description,
+			ToDoubleFunction<Statistics> function) {
+		FunctionCounter.builder(name, statistics, function)
+				.description(description)
+				.register(registry);
+	}
+}
@@ -0,0 +1,247 @@
+package com.digitalojt.web.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 実行時間が閾値を超えた SQL を記録するデータソース
+ *
+ * <pre>
+ * 接続・ステートメントをプロキシで包み、execute / executeQuery / executeUpdate / executeBatch の実行時間を計測する。
+ * JPA（Hibernate）・JdbcTemplate のどちらから実行された SQL も対象になる。
+ * - 閾値を超えた SQL の件数は Micrometer（jdbc.slow.queries）で常に数える
+ * - ログ（WARN）は sample-rate の割合だけ出力し、遅延が続く障害時にログが溢れないようにする
+ * - バインドパラメータは出力しない（個人情報を含むため）。SQL は1行に整形し、上限文字数で切り詰める
+ * 閾値未満の SQL は時刻の取得のみで、文字列の整形・出力は行わない。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(SlowQueryDataSource.class);
+
+	/** 連続する空白（改行を含む） */
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/** 閾値（ナノ秒） */
+	private final long thresholdNanos;
+
+	/** ログを出力する割合（0.0～1.0） */
+	private final double sampleRate;
+
+	/** ログに出力する SQL の最大文字数 */
+	private final int maxSqlLength;
+
+	/** 閾値を超えた SQL の件数 */
+	private final Counter slowQueries;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param target 元のデータソース
+	 * @param threshold 閾値
+	 * @param sampleRate ログを出力する割合（0.0～1.0）
+	 * @param maxSqlLength ログに出力する SQL の最大文字数
+	 * @param meterRegistry メトリクス
+	 */
+	public SlowQueryDataSource(DataSource target, Duration threshold, double sampleRate, int maxSqlLength,
+			MeterRegistry meterRegistry) {
+		super(target);
+		this.thresholdNanos = threshold.toNanos();
+		this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+		this.maxSqlLength = Math.max(0, maxSqlLength);
+		this.slowQueries = Counter.builder("jdbc.slow.queries")
+				.description("実行時間が閾値を超えた SQL の件数")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	/**
+	 * 接続をプロキシで包む
+	 *
+	 * @param connection 元の接続
+	 * @return プロキシ
+	 */
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+	}
+
+	/**
+	 * 閾値を超えた SQL を記録
+	 *
+	 * @param sql SQL（不明な場合は null）
+	 * @param method 実行メソッド
+	 * @param batchCount バッチ件数（バッチ以外は 0）
+	 * @param elapsedNanos 実行時間（ナノ秒）
+	 */
+	private void record(String sql, String method, int batchCount, long elapsedNanos) {
+		slowQueries.increment();
+		if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+		String text = (sql == null) ? "(不明)" : WHITESPACE.matcher(sql).replaceAll(" ").trim();
+		if (text.length() > maxSqlLength) {
+			text = text.substring(0, maxSqlLength) + "...";
+		}
+		logger.warn("遅いSQL: {}ms, {}{}, sql={}", elapsedNanos / 1_000_000, method,
+				(batchCount > 0) ? "(" + batchCount + "件)" : "", text);
+	}
+
+	/**
+	 * 接続のプロキシ（ステートメントの生成をフックする）
+	 */
+	private final class ConnectionHandler implements InvocationHandler {
+
+		/** 元の接続 */
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				break;
+			}
+			Object result = invokeTarget(target, method, args);
+			if (result instanceof Statement statement) {
+				String sql = (args != null && args.length > 0 && args[0] instanceof String s) ? s : null;
+				Class<?> type = (result instanceof CallableStatement) ? CallableStatement.class
+						: (result instanceof PreparedStatement) ? PreparedStatement.class : Statement.class;
+				return Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(),
+						new Class<?>[] { type }, new StatementHandler(statement, (Connection) proxy, sql));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * ステートメントのプロキシ（実行時間を計測する）
+	 */
+	private final class StatementHandler implements InvocationHandler {
+
+		/** 元のステートメント */
+		private final Statement target;
+
+		/** 接続のプロキシ（getConnection の戻り値） */
+		private final Connection connection;
+
+		/** プリペアドステートメントの SQL */
+		private final String preparedSql;
+
+		/** バッチに追加した件数 */
+		private int batchCount;
+
+		/** バッチに追加した直近の SQL（Statement#addBatch(String) の場合） */
+		private String batchSql;
+
+		StatementHandler(Statement target, Connection connection, String preparedSql) {
+			this.target = target;
+			this.connection = connection;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			switch (name) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "getConnection":
+				return connection;
+			case "addBatch":
+				batchCount++;
+				if (args != null && args.length > 0 && args[0] instanceof String s) {
+					batchSql = s;
+				}
+				return invokeTarget(target, method, args);
+			case "clearBatch":
+				batchCount = 0;
+				return invokeTarget(target, method, args);
+			default:
+				break;
+			}
+			if (!name.startsWith("execute")) {
+				return invokeTarget(target, method, args);
+			}
+
+			boolean batch = name.startsWith("executeBatch") || name.startsWith("executeLargeBatch");
+			long start = System.nanoTime();
+			try {
+				return invokeTarget(target, method, args);
+			} finally {
+				long elapsed = System.nanoTime() - start;
+				if (elapsed >= thresholdNanos) {
+					String sql = (args != null && args.length > 0 && args[0] instanceof String s) ? s
+							: (preparedSql != null) ? preparedSql : batchSql;
+					record(sql, name, batch ? batchCount : 0, elapsed);
+				}
+				if (batch) {
+					batchCount = 0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 元のオブジェクトのメソッドを呼び出す（例外は元の型のまま送出する）
+	 *
+	 * @param target 元のオブジェクト
+	 * @param method メソッド
+	 * @param args 引数
+	 * @return 戻り値
+	 * @throws Throwable 元のメソッドが送出した例外
+	 */
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
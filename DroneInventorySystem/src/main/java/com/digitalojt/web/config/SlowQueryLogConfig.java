@@ -0,0 +1,43 @@
+package com.digitalojt.web.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 遅い SQL の記録を有効にするための設定
+ * app.slow-query.enabled=true の場合、データソースを SlowQueryDataSource で包む
+ *
+ * @author dotlife
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+	@Bean
+	static BeanPostProcessor slowQueryDataSourcePostProcessor(
+			@Value("${app.slow-query.threshold:500ms}") Duration threshold,
+			@Value("${app.slow-query.sample-rate:1.0}") double sampleRate,
+			@Value("${app.slow-query.max-sql-length:1000}") int maxSqlLength,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+					return new SlowQueryDataSource(dataSource, threshold, sampleRate, maxSqlLength,
+							meterRegistry.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
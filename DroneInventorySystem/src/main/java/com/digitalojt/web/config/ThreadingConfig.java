@@ -0,0 +1,99 @@
+package com.digitalojt.web.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 実行スレッド（仮想スレッド / 従来のスレッドプール）の設定確認
+ *
+ * <pre>
+ * spring.threads.virtual.enabled=true の場合、Tomcat のリクエスト処理・@Async・@Scheduled は
+ * Spring Boot の自動設定により仮想スレッドで実行される（Java 21 以上のみ）。
+ * 起動時に実際の動作モードを出力し、以下の場合は警告を出す。
+ * - 有効化されているが Java 21 未満で起動した（従来のスレッドプールで動作する）
+ * - キャリアスレッド数がコネクションプール数以下
+ *   （MySQL Connector/J 8.x は通信中に synchronized でキャリアスレッドを固定するため、
+ *     DB 待ちのリクエストでキャリアスレッドが埋まり、DB を使わないリクエストも処理されなくなる）
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Configuration
+public class ThreadingConfig {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+	/** 仮想スレッドのキャリアスレッド数を指定するシステムプロパティ */
+	private static final String PARALLELISM = "jdk.virtualThreadScheduler.parallelism";
+
+	/** 設定 */
+	private final Environment environment;
+
+	/** データソース */
+	private final DataSource dataSource;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param environment 設定
+	 * @param dataSource データソース
+	 */
+	public ThreadingConfig(Environment environment, DataSource dataSource) {
+		this.environment = environment;
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * 起動完了時に動作モードを出力する
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void report() {
+		boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+		if (!Threading.VIRTUAL.isActive(environment)) {
+			if (requested) {
+				logger.warn("仮想スレッドは Java 21 以上で有効になります（現在: Java {}）。従来のスレッドプールで動作します",
+						Runtime.version().feature());
+			} else {
+				logger.info("実行スレッド: 従来のスレッドプール");
+			}
+			return;
+		}
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		int parallelism = Integer.getInteger(PARALLELISM, processors);
+		int poolSize = maximumPoolSize();
+		logger.info("実行スレッド: 仮想スレッド（キャリアスレッド数={}, コネクションプール数={}）", parallelism, poolSize);
+		if (parallelism <= poolSize) {
+			logger.warn("キャリアスレッド数がコネクションプール数以下です。JDBC 通信中の固定（pinning）で処理が滞るため、"
+					+ "-D{}={} 以上を指定してください", PARALLELISM, poolSize + processors);
+		}
+	}
+
+	/**
+	 * コネクションプールの最大接続数を取得（データソースが包まれている場合も元の HikariCP を参照）
+	 *
+	 * @return 最大接続数（HikariCP 以外の場合は 0）
+	 */
+	private int maximumPoolSize() {
+		try {
+			if (dataSource.isWrapperFor(HikariDataSource.class)) {
+				return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+			}
+		} catch (SQLException e) {
+			logger.debug("コネクションプールの設定を取得できません", e);
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,92 @@
+package com.digitalojt.web.config;
+
+import org.springframework.context.MessageSource;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.digitalojt.web.consts.ErrorMessage;
+import com.digitalojt.web.exception.LoginThrottledException;
+import com.digitalojt.web.service.LoginThrottleService;
+import com.digitalojt.web.util.MessageManager;
+
+/**
+ * ログイン試行の制限を行う AuthenticationProvider
+ *
+ * <pre>
+ * 試行回数が上限を超えた場合は、元の Provider（パスワードの照合）を呼ばずに LoginThrottledException で拒否する。
+ * 照合に失敗した場合（BadCredentialsException）は失敗を、成功した場合は成功を LoginThrottleService に記録する。
+ * それ以外の理由で認証できなかった場合（DB 障害など）は、試行回数から取り消す。
+ * 接続元IPアドレスは WebAuthenticationDetails（ログ出力の MDC と同じ ServletRequest#getRemoteAddr）から取得する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class ThrottlingAuthenticationProvider implements AuthenticationProvider {
+
+	/** 接続元が不明な場合のIPアドレス */
+	private static final String UNKNOWN_ADDRESS = "unknown";
+
+	/** 元の Provider */
+	private final AuthenticationProvider delegate;
+
+	/** ログイン試行の制限 */
+	private final LoginThrottleService throttleService;
+
+	/** メッセージソース */
+	private final MessageSource messageSource;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param delegate 元の Provider
+	 * @param throttleService ログイン試行の制限
+	 * @param messageSource メッセージソース
+	 */
+	public ThrottlingAuthenticationProvider(AuthenticationProvider delegate, LoginThrottleService throttleService,
+			MessageSource messageSource) {
+		this.delegate = delegate;
+		this.throttleService = throttleService;
+		this.messageSource = messageSource;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		String adminId = authentication.getName();
+		String address = (authentication.getDetails() instanceof WebAuthenticationDetails details
+				&& details.getRemoteAddress() != null) ? details.getRemoteAddress() : UNKNOWN_ADDRESS;
+
+		if (!throttleService.tryAcquire(adminId, address)) {
+			throw new LoginThrottledException(MessageManager.getMessage(messageSource, ErrorMessage.LOGIN_THROTTLED));
+		}
+		Authentication result;
+		try {
+			result = delegate.authenticate(authentication);
+		} catch (BadCredentialsException e) {
+			throttleService.recordFailure(adminId, address);
+			throw e;
+		} catch (RuntimeException e) {
+			throttleService.release(adminId, address);
+			throw e;
+		}
+		if (result != null) {
+			throttleService.recordSuccess(adminId, address);
+		} else {
+			throttleService.release(adminId, address);
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return delegate.supports(authentication);
+	}
+}
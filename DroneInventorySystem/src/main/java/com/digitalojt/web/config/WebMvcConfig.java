@@ -0,0 +1,33 @@
+package com.digitalojt.web.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.digitalojt.web.interceptor.RequestTracingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Spring MVC の設定
+ * コントローラーの処理開始・終了の記録（RequestTracingInterceptor）を登録する
+ *
+ * @author dotlife
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+	/** メトリクス */
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public WebMvcConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new RequestTracingInterceptor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
+	}
+}
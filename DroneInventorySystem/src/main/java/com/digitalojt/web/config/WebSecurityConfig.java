@@ -1,17 +1,28 @@
 package com.digitalojt.web.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 
 import com.digitalojt.web.consts.RoleConstants;
 import com.digitalojt.web.consts.UrlConsts;
+import com.digitalojt.web.service.LoginThrottleService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,6 +44,44 @@ public class WebSecurityConfig {
     /** ユーザー情報取得Service */
     private final UserDetailsService userDetailsService;
 
+    /** パスワードハッシュ更新Service（弱い強度のハッシュをログイン成功時に再ハッシュする） */
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
+    /** ログイン試行の制限 */
+    private final LoginThrottleService loginThrottleService;
+
+    /** メッセージソース */
+    private final MessageSource messageSource;
+
+    /**
+     * 監視用エンドポイント（/actuator/**）のフィルタチェーン定義（2026/10/18 機能追加）
+     * 画面と同じ管理者アカウントで、Basic 認証（監視サーバーからの取得）またはログイン済みセッションを受け付ける
+     * ヘルスチェック（/actuator/health）はロードバランサー等から認証なしで参照できるようにする
+     * （詳細は management.endpoint.health.show-details の既定値 never により出力されない）
+     * 
+     * @param http HttpSecurityオブジェクト
+     * @return セキュリティフィルタチェーン
+     * @throws Exception 設定エラー
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        // 未認証・認証失敗は 401 を直接返す（sendError だとエラー画面経由でログイン画面へリダイレクトされるため）
+        AuthenticationEntryPoint unauthorized = (request, response, authException) -> {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"DroneInventorySystem\"");
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        };
+        return http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().authenticated())
+                .httpBasic(basic -> basic.authenticationEntryPoint(unauthorized))
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorized))
+                .authenticationManager(authenticationManager())
+                .build();
+    }
+
     /**
      * Spring Securityのフィルタチェーン定義
      * 
@@ -41,6 +90,7 @@ public class WebSecurityConfig {
      * @throws Exception 設定エラー
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .authorizeHttpRequests(auth -> auth
@@ -57,10 +107,23 @@ public class WebSecurityConfig {
                         .deleteCookies("JSESSIONID"))
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers(UrlConsts.CENTER_INFO_SEARCH)) // 検索APIはCSRF保護から除外
-                .authenticationProvider(daoAuthenticationProvider()) // Providerを適用
+                .authenticationManager(authenticationManager()) // ログイン試行の制限付きProviderを適用
                 .build();
     }
 
+    /**
+     * 認証処理の定義（2026/10/18 性能改善）
+     * ログイン試行の制限付きProviderのみを使用する
+     * （親の AuthenticationManager を持たないため、認証失敗時に同じ照合が親で再実行されない）
+     * 
+     * @return 認証処理
+     */
+    @Bean
+    public AuthenticationManager authenticationManager() {
+        return new ProviderManager(
+                new ThrottlingAuthenticationProvider(daoAuthenticationProvider(), loginThrottleService, messageSource));
+    }
+
     /**
 	 * Provider定義
      * 
@@ -71,6 +134,7 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         return provider;
     }
 }
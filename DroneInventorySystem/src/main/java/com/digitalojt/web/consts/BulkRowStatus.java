@@ -0,0 +1,34 @@
+package com.digitalojt.web.consts;
+
+/**
+ * 一括更新・一括削除の行ごとの処理結果 Enumクラス
+ * 
+ * @author dotlife
+ */
+public enum BulkRowStatus {
+
+	UPDATED(true, "更新しました。"),
+	DELETED(true, "削除しました。"),
+	DELETABLE(true, "削除できます。"),
+	NOT_FOUND(false, "対象のセンター情報が存在しません。"),
+	CONFLICT(false, "他のユーザーが先に更新しました。再読込してやり直してください。"),
+	HAS_STOCK(false, "在庫が存在するため、センター情報を削除できません。"),
+	DUPLICATE(false, "同じセンターIDが重複して指定されています。"),
+	INVALID(false, "入力値が不正です。");
+
+	private final boolean success; // 処理できたか
+	private final String message; // 既定の表示文言
+
+	BulkRowStatus(boolean success, String message) {
+		this.success = success;
+		this.message = message;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
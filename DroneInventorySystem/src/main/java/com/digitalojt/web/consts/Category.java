@@ -28,4 +28,27 @@ public enum Category {
 	public String getName() {
 		return categoryName;
 	}
+
+	/**
+	 * 分類ID（category_info.category_id）を取得
+	 * 分類情報テーブルは定義順に 1 から採番されているため、序数 + 1 を分類IDとする
+	 *
+	 * @return 分類ID（1:フレーム ～ 10:カメラ／センサー）
+	 */
+	public int getCategoryId() {
+		return ordinal() + 1;
+	}
+
+	/**
+	 * 分類IDから対応する Enum を取得
+	 *
+	 * @param categoryId 分類ID
+	 * @return 分類 (該当しない場合は null を返す)
+	 */
+	public static Category fromCategoryId(Integer categoryId) {
+		if (categoryId == null || categoryId < 1 || categoryId > values().length) {
+			return null;
+		}
+		return values()[categoryId - 1];
+	}
 }
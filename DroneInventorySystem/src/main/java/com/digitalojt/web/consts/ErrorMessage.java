@@ -11,6 +11,9 @@ public class ErrorMessage {
 	// ログイン情報の入力に誤りがあった場合に、出力するエラーメッセージのID
 	public static final String  LOGIN_WRONG_INPUT = "login.wrongInput";
 
+	// ログイン失敗の回数が上限に達した場合のエラーメッセージ
+	public static final String LOGIN_THROTTLED = "login.throttled";
+
 	// データが空の場合のエラーメッセージ
 	public static final String DATA_EMPTY_ERROR_MESSAGE = "data.empty";
 	
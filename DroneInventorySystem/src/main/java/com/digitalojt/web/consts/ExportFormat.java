@@ -0,0 +1,49 @@
+package com.digitalojt.web.consts;
+
+/**
+ * エクスポート形式 Enumクラス
+ * 
+ * @author dotlife
+ */
+public enum ExportFormat {
+
+	NDJSON("ndjson", "application/x-ndjson", ".ndjson"),
+	CSV("csv", "text/csv", ".csv");
+
+	private final String code; // リクエストパラメータ値
+	private final String contentType; // レスポンスのContent-Type
+	private final String extension; // ダウンロードファイルの拡張子
+
+	ExportFormat(String code, String contentType, String extension) {
+		this.code = code;
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * パラメータ値から対応する Enum を取得
+	 *
+	 * @param code パラメータ値（大文字小文字は区別しない）
+	 * @return エクスポート形式 (該当しない場合は null を返す)
+	 */
+	public static ExportFormat fromCode(String code) {
+		for (ExportFormat format : values()) {
+			if (format.getCode().equalsIgnoreCase(code)) {
+				return format;
+			}
+		}
+		return null;
+	}
+}
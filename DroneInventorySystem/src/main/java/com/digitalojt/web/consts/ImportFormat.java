@@ -0,0 +1,43 @@
+package com.digitalojt.web.consts;
+
+import java.util.Locale;
+
+/**
+ * 取込形式 Enumクラス
+ * 
+ * @author dotlife
+ */
+public enum ImportFormat {
+
+	CSV(".csv"),
+	XLSX(".xlsx");
+
+	private final String extension; // 取込ファイルの拡張子
+
+	ImportFormat(String extension) {
+		this.extension = extension;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	/**
+	 * ファイル名の拡張子から対応する Enum を取得
+	 *
+	 * @param fileName ファイル名（大文字小文字は区別しない）
+	 * @return 取込形式 (該当しない場合は null を返す)
+	 */
+	public static ImportFormat fromFileName(String fileName) {
+		if (fileName == null) {
+			return null;
+		}
+		String lower = fileName.toLowerCase(Locale.ROOT);
+		for (ImportFormat format : values()) {
+			if (lower.endsWith(format.getExtension())) {
+				return format;
+			}
+		}
+		return null;
+	}
+}
@@ -14,17 +14,28 @@ public class LogMessage {
 	//ユーザーID
 	public static final String USER_ID_KEY = "userId";
 
+	//リクエストID
+	public static final String REQUEST_ID_KEY = "requestId";
+
 	//アクセスログ
 	//ACCESSだけ表示される
-	public static final String ACCESS_LOG = "ACCESS: %s";
+	//2026/10/18 性能改善: String.format をやめ、出力時にのみ組み立てるプレースホルダ形式に変更
+	//2026/10/18 機能追加: リクエストの完了時に1行出力する形式に変更
+	//(HTTPメソッド) (URI) (ステータス)-(全体)-(フィルター)-(コントローラー)-(画面描画)-(DB)の処理時間-(SQL の件数)
+	//（処理時間が -1 の区間は未到達）
+	public static final String ACCESS_LOG = "ACCESS: {} {} {} total={}ms security={}ms controller={}ms view={}ms db={}ms queries={}";
 
 	//エラーログ
 	//(GETかPOST)-(処理対象の関数名)-(エラー内容)
-	public static final String ERROR_LOG = "ERROR: %s - %s - %s";
+	public static final String ERROR_LOG = "ERROR: {} - {} - {}";
 
 	//アプリケーションログ
 	//(GETかPOST)-(処理対象の関数名)-(開始か終了)
-	public static final String APP_LOG = "APP: %s - %s - %s";
+	public static final String APP_LOG = "APP: {} - {} - {}";
+
+	//アプリケーションログ（終了）
+	//(GETかPOST)-(処理対象の関数名)-(終了)-(処理時間)-(ステータス)
+	public static final String APP_END_LOG = "APP: {} - {} - {} - {}ms - {}";
 	
 	public static final String PROCESS_START = "START";
 	public static final String PROCESS_END = "END";
@@ -29,8 +29,23 @@ public class ModelAttributeContents {
 	/** 操作履歴画面 */
 	// 操作履歴一覧
 	public static final String OPERATION_LOG_LIST = "operationLogList";
+	// 操作履歴一覧のページ情報
+	public static final String OPERATION_LOG_PAGE = "operationLogPage";
+	// 操作履歴一覧のページ遷移先
+	public static final String OPERATION_LOG_PAGING_URL = "pagingUrl";
+	public static final int OPERATION_LOG_PAGE_SIZE = 100; // 1ページの既定件数
+
+	/** 在庫一覧画面 */
+	// 分類
+	public static final String CATEGORIES = "categories";
+	// 保管場所（在庫センター）
+	public static final String CENTERS = "centers";
+	public static final int MAX_STOCK_NAME_LENGTH = 20; // 在庫名の最大文字数
 
 	/** 在庫センター情報画面*/
 	public static final int INITIAL_CAPACITY_FROM = 10;// 容量(From)初期値
     public static final int MAX_CENTER_NAME_LENGTH = 20; // 最大文字数
+    public static final int DEFAULT_PAGE_SIZE = 50; // 検索結果 1ページの既定件数
+    public static final int MAX_PAGE_SIZE = 500; // 検索結果 1ページの最大件数
+    public static final int MAX_BULK_ITEMS = 10000; // 一括更新・一括削除 1リクエストの最大件数
 }
@@ -1,5 +1,8 @@
 package com.digitalojt.web.consts;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 都道府県 Enumクラス
  * 
@@ -57,6 +60,15 @@ public enum Region {
 
     private final String name;
 
+    /** 都道府県名 → Enum の逆引き表 */
+    private static final Map<String, Region> BY_NAME = new HashMap<>();
+
+    static {
+        for (Region region : values()) {
+            BY_NAME.put(region.getName(), region);
+        }
+    }
+
     Region(String name) {
         this.name = name;
     }
@@ -64,4 +76,63 @@ public enum Region {
     public String getName() {
         return name;
     }
+
+    /**
+     * 都道府県コードを取得
+     * 定義順が JIS X 0401 の並びと一致するため、序数 + 1 を都道府県コードとする
+     *
+     * @return 都道府県コード（1:北海道 ～ 47:沖縄県）
+     */
+    public int getCode() {
+        return ordinal() + 1;
+    }
+
+    /**
+     * 都道府県コードから対応する Enum を取得
+     *
+     * @param code 都道府県コード
+     * @return 都道府県 (該当しない場合は null を返す)
+     */
+    public static Region fromCode(Integer code) {
+        if (code == null || code < 1 || code > values().length) {
+            return null;
+        }
+        return values()[code - 1];
+    }
+
+    /**
+     * 住所から都道府県を判定
+     * 先頭の都道府県名（3文字または4文字）を優先し、該当しない場合は住所に含まれる都道府県名で判定する
+     *
+     * @param address 住所
+     * @return 都道府県 (判定できない場合は null を返す)
+     */
+    public static Region fromAddress(String address) {
+        if (address == null) {
+            return null;
+        }
+        String trimmed = address.trim();
+        for (int length = 3; length <= 4 && length <= trimmed.length(); length++) {
+            Region region = BY_NAME.get(trimmed.substring(0, length));
+            if (region != null) {
+                return region;
+            }
+        }
+        for (Region region : values()) {
+            if (trimmed.contains(region.getName())) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 都道府県名から対応する Enum を取得
+     *
+     * @param name 都道府県名（完全一致）
+     * @return 都道府県 (該当しない場合は null を返す)
+     */
+    public static Region fromName(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
 }
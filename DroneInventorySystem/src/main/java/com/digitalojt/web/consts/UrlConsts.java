@@ -28,6 +28,9 @@ public class UrlConsts {
 
 	// 在庫一覧画面 検索
 	public static final String STOCK_LIST_SEARCH = "/admin/stockList/search";
+
+	// 在庫一覧画面 センター別在庫集計
+	public static final String STOCK_LIST_SUMMARY = "/admin/stockList/summary";
 	
 	// 在庫センター情報画面
 	public static final String  CENTER_INFO = "/admin/centerInfo";
@@ -47,6 +50,18 @@ public class UrlConsts {
 	// 在庫センター情報画面 削除
 	public static final String CENTER_INFO_DELETE = "/admin/centerInfo/delete";
 	
+	// 在庫センター情報画面 エクスポート
+	public static final String CENTER_INFO_EXPORT = "/admin/centerInfo/export";
+	
+	// 在庫センター情報画面 一括取込
+	public static final String CENTER_INFO_IMPORT = "/admin/centerInfo/import";
+	
+	// 在庫センター情報画面 一括更新
+	public static final String CENTER_INFO_BULK_UPDATE = "/admin/centerInfo/bulkUpdate";
+	
+	// 在庫センター情報画面 一括削除
+	public static final String CENTER_INFO_BULK_DELETE = "/admin/centerInfo/bulkDelete";
+	
 	// 操作履歴画面
 	public static final String  OPERATION_LOG = "/admin/operationLog";
 
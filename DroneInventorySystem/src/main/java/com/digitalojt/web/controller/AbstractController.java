@@ -5,6 +5,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.servlet.error.ErrorController;
 import org.springframework.context.MessageSource;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.digitalojt.web.consts.LogMessage;
@@ -15,6 +17,7 @@ import jakarta.servlet.http.HttpServletRequest;
 /**
  * 抽象コントローラー
  * ※全てのコントローラークラスは、このクラスを継承すること
+ * ※処理開始・終了のログは RequestTracingInterceptor が出力する（2026/10/18 性能改善）
  *
  * @author dotlife
  *
@@ -29,71 +32,58 @@ public abstract class AbstractController implements ErrorController {
 
 	/**
 	 * 現在のメソッド名を取得
+	 * Spring MVC がリクエスト属性に保持している HandlerMethod から取得する（スタックは走査しない）
+	 *
 	 * @return メソッド名
 	 */
 	private String getMethodName() {
-		return StackWalker.getInstance()
-				.walk(frames -> frames.skip(2).findFirst().map(StackWalker.StackFrame::getMethodName))
-				.orElse("UnknownMethod");
-	}
-
-	/**
-	 * 処理開始のログ
-	 * 
-	 * @param logger ロガーオブジェクト
-	 * @param action アクション名
-	 */
-	protected void logStart(String action) {
-		logger.info(String.format(LogMessage.ACCESS_LOG, request.getRequestURI()));
-		logger.info(String.format(LogMessage.APP_LOG, action, getMethodName(), LogMessage.PROCESS_START));
-	}
-
-	/**
-	 * 処理終了のログ
-	 * 
-	 * @param logger ロガーオブジェクト
-	 * @param action アクション名
-	 */
-	protected void logEnd(String action) {
-		logger.info(String.format(LogMessage.APP_LOG, action, getMethodName(), LogMessage.PROCESS_END));
+		Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+		return (handler instanceof HandlerMethod handlerMethod) ? handlerMethod.getMethod().getName()
+				: "UnknownMethod";
 	}
 
 	/**
 	 * エラーログ
-	 * 
+	 *
 	 * @param logger ロガーオブジェクト
 	 * @param action アクション名
 	 * @param e 例外オブジェクト
 	 */
 	protected void logError(String action, Exception e) {
-		logger.error(String.format(LogMessage.ERROR_LOG, action, getMethodName(), e));
+		if (logger.isErrorEnabled()) {
+			logger.error(LogMessage.ERROR_LOG, action, getMethodName(), String.valueOf(e));
+		}
 	}
 
 	/**
 	 * クリティカルエラーログ
-	 * 
+	 *
 	 * @param logger ロガーオブジェクト
 	 * @param action アクション名
 	 * @param errorMsg エラーメッセージ
 	 */
 	protected void logException(String action, String errorMsg) {
-		logger.error(String.format(LogMessage.ERROR_LOG, action, getMethodName(), String.valueOf(errorMsg)));
+		if (logger.isErrorEnabled()) {
+			logger.error(LogMessage.ERROR_LOG, action, getMethodName(), errorMsg);
+		}
 	}
 
 	/**
 	 * バリデーションエラーログ
-	 * 
+	 *
 	 * @param logger ロガーオブジェクト
 	 * @param action アクション名
 	 * @param errorMsg エラーメッセージ
 	 */
 	protected void logValidationError(String action, String errorMsg) {
-		logger.error(String.format(LogMessage.ERROR_LOG, action, getMethodName(), errorMsg));
+		if (logger.isErrorEnabled()) {
+			logger.error(LogMessage.ERROR_LOG, action, getMethodName(), errorMsg);
+		}
 	}
 
 	/**
 	 * エラーメッセージをフラッシュメッセージにセット
-	 * 
+	 *
 	 * @param messageSource メッセージソース
 	 * @param redirectAttributes リダイレクト属性
 	 * @param messageConst メッセージ定数
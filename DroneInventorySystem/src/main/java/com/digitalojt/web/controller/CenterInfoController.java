@@ -1,9 +1,14 @@
 package com.digitalojt.web.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -20,24 +25,34 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.digitalojt.web.consts.ExportFormat;
+import com.digitalojt.web.consts.ImportFormat;
 import com.digitalojt.web.consts.LogMessage;
 import com.digitalojt.web.consts.ModelAttributeContents;
 import com.digitalojt.web.consts.Region;
 import com.digitalojt.web.consts.UrlConsts;
 import com.digitalojt.web.dto.ApiResponseDto;
+import com.digitalojt.web.dto.BulkResultDto;
+import com.digitalojt.web.dto.CenterInfoView;
+import com.digitalojt.web.dto.ImportResultDto;
+import com.digitalojt.web.dto.KeysetPageDto;
 import com.digitalojt.web.entity.CenterInfo;
 import com.digitalojt.web.exception.BusinessLogicException;
 import com.digitalojt.web.exception.GlobalExceptionHandler;
 import com.digitalojt.web.exception.ResourceNotFoundException;
+import com.digitalojt.web.form.CenterInfoBulkDeleteForm;
+import com.digitalojt.web.form.CenterInfoBulkUpdateForm;
 import com.digitalojt.web.form.CenterInfoForm;
+import com.digitalojt.web.service.CenterInfoBulkService;
+import com.digitalojt.web.service.CenterInfoExportService;
+import com.digitalojt.web.service.CenterInfoImportService;
 import com.digitalojt.web.service.CenterInfoService;
 import com.digitalojt.web.validation.ValidationGroups.Insert;
 import com.digitalojt.web.validation.ValidationGroups.Update;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -52,23 +67,34 @@ public class CenterInfoController extends AbstractController {
 	/** センター情報 サービス */
 	private final CenterInfoService centerInfoService;
 	
+	/** センター情報エクスポート サービス */
+	private final CenterInfoExportService centerInfoExportService;
+	
+	/** センター情報一括取込 サービス */
+	private final CenterInfoImportService centerInfoImportService;
+	
+	/** センター情報一括更新・一括削除 サービス */
+	private final CenterInfoBulkService centerInfoBulkService;
+	
 	/** ロガー */
 	private static final org.slf4j.Logger classLogger = org.slf4j.LoggerFactory.getLogger(CenterInfoController.class);
-
-	// Jackson ObjectMapper
-	private final ObjectMapper objectMapper;
 	
 	/**
      * コンストラクタ
      * 
      * @param centerInfoService センター情報サービス
+     * @param centerInfoExportService センター情報エクスポートサービス
+     * @param centerInfoImportService センター情報一括取込サービス
+     * @param centerInfoBulkService センター情報一括更新・一括削除サービス
      */
-	public CenterInfoController(CenterInfoService centerInfoService) {
+	public CenterInfoController(CenterInfoService centerInfoService,
+			CenterInfoExportService centerInfoExportService,
+			CenterInfoImportService centerInfoImportService,
+			CenterInfoBulkService centerInfoBulkService) {
 		this.centerInfoService = centerInfoService;
-		// ObjectMapperの設定
-		this.objectMapper = new ObjectMapper()
-				.registerModule(new JavaTimeModule())
-				.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+		this.centerInfoExportService = centerInfoExportService;
+		this.centerInfoImportService = centerInfoImportService;
+		this.centerInfoBulkService = centerInfoBulkService;
 	}
 
 	/**
@@ -89,43 +115,17 @@ public class CenterInfoController extends AbstractController {
 	 */
 	@GetMapping(UrlConsts.CENTER_INFO)
 	public String index(Model model) {
-		logStart(LogMessage.HTTP_GET);
 		classLogger.info("在庫センター情報画面の初期表示処理を開始します");
 
 		// 在庫センター情報画面に表示するデータを取得
 		List<CenterInfo> centerInfoList = centerInfoService.getCenterInfoData();
 		classLogger.info("取得したセンター情報データ: {}件", centerInfoList.size());
 
-		// 画面表示用に商品情報リストをセット
-		model.addAttribute(ModelAttributeContents.CENTER_INFO_LIST, centerInfoList);
-		
-		// centerInfoListをJSON文字列に変換してモデルに追加
-		try {
-			// デバッグ情報
-			classLogger.debug("JSON変換前のデータ件数: {}", centerInfoList.size());
-			
-			// JSON文字列に変換
-			String centerInfoJson = objectMapper.writeValueAsString(centerInfoList);
-			
-			// デバッグログ
-			if (centerInfoList.isEmpty()) {
-				classLogger.debug("変換されたJSON (空リスト): []");
-			} else {
-				classLogger.debug("変換されたJSON（一部）: {}", 
-					centerInfoJson.length() > 100 ? centerInfoJson.substring(0, 100) + "..." : centerInfoJson);
-			}
-			
-			model.addAttribute("centerInfoJson", centerInfoJson);
-			classLogger.info("初期データをモデルに設定しました: centerInfoJson");
-		} catch (Exception e) {
-			// JSON変換エラー
-			logException(LogMessage.HTTP_GET, "JSON変換エラー: " + e.getMessage());
-			classLogger.error("JSON変換エラーの詳細", e);
-			model.addAttribute("centerInfoJson", "[]");
-			classLogger.warn("JSONエラーのため、空の配列をモデルに設定しました");
-		}
+		// 画面表示用に表示項目のみのリストをセット
+		// 2026/10/18 性能改善 JSON文字列への事前変換を廃止し、テンプレートの JavaScript インライン出力で
+		// レスポンスへ直接1回だけシリアライズする
+		model.addAttribute(ModelAttributeContents.CENTER_INFO_LIST, toViews(centerInfoList));
 
-		logEnd(LogMessage.HTTP_GET);
 		classLogger.info("在庫センター情報画面の初期表示処理が完了しました（表示テンプレート: {}）", UrlConsts.CENTER_INFO_INDEX);
 
 		return UrlConsts.CENTER_INFO_INDEX;
@@ -133,16 +133,16 @@ public class CenterInfoController extends AbstractController {
 
 	/**
 	 * 検索結果表示（JSON形式）
+	 * 2026/10/18 機能改修 全件返却をやめ、キーセット方式のページ単位で返却する
 	 * 
 	 * @param model
 	 * @param form
 	 * @param bindingResult
-	 * @return 標準化されたJSON応答（ApiResponseDto）
+	 * @return 標準化されたJSON応答（ApiResponseDto、results はページ情報）
 	 */
 	@GetMapping(value = UrlConsts.CENTER_INFO_SEARCH, produces = "application/json")
 	@ResponseBody
-	public ResponseEntity<ApiResponseDto<List<CenterInfo>>> search(Model model, @Valid CenterInfoForm form, BindingResult bindingResult) {
-		logStart(LogMessage.HTTP_GET);
+	public ResponseEntity<ApiResponseDto<KeysetPageDto<CenterInfoView>>> search(Model model, @Valid CenterInfoForm form, BindingResult bindingResult) {
 		classLogger.info("在庫センター情報の検索APIが呼び出されました");
 		
 		// 入力値のバリデーションチェック
@@ -155,53 +155,53 @@ public class CenterInfoController extends AbstractController {
 			// リクエストパラメータのログ出力
 			logSearchParameters(form);
 	
-			// 検索条件に基づいて在庫センター情報を取得
+			// 検索条件に基づいて在庫センター情報を1ページ分取得
 			// 2025/05/16 機能改修 現在容量範囲が検索できるため、検索項目引数を追加する
-			List<CenterInfo> centerInfoList = centerInfoService.getCenterInfoData(
+			KeysetPageDto<CenterInfoView> page = centerInfoService.getCenterInfoPage(
 					form.getCenterName(), 
 					form.getRegion(),
 					form.getStorageCapacityFrom(),
-					form.getStorageCapacityTo());
+					form.getStorageCapacityTo(),
+					form.getCursor(),
+					form.getPageSize())
+					.map(CenterInfoView::from);
+			List<CenterInfoView> centerInfoList = page.getItems();
 	
 			classLogger.info("検索結果: {}件のデータが見つかりました", centerInfoList.size());
 			
-			// デバッグ：検索結果のJSONシリアライズ確認
-			try {
-				classLogger.debug("JSON変換前の検索結果: {} 件", centerInfoList.size());
-				String resultJson = objectMapper.writeValueAsString(centerInfoList);
-				classLogger.debug("検索結果のJSON変換: {} 文字", resultJson.length());
-				if (centerInfoList.size() > 0) {
-					classLogger.debug("JSON変換サンプル (最初の1件): {}",
-							objectMapper.writeValueAsString(centerInfoList.get(0)));
-				}
-			} catch (Exception ex) {
-				classLogger.warn("検索結果のJSON変換デバッグ中にエラー", ex);
+			// デバッグ：検索結果のサンプル出力（応答のシリアライズはメッセージコンバーターの1回のみ）
+			if (classLogger.isDebugEnabled() && !centerInfoList.isEmpty()) {
+				classLogger.debug("検索結果サンプル (最初の1件): {}", centerInfoList.get(0));
 			}
 			
-			logEnd(LogMessage.HTTP_GET);
-			
-			// 検索結果がない場合は、成功レスポンスを空リストで返却
+			// 検索結果がない場合は、成功レスポンスを空ページで返却
 			if (centerInfoList.isEmpty()) {
-				ApiResponseDto<List<CenterInfo>> response = ApiResponseDto.success(
-						Collections.emptyList(), 
+				ApiResponseDto<KeysetPageDto<CenterInfoView>> response = ApiResponseDto.success(
+						page, 
 						"該当するデータはありません");
 				classLogger.info("検索結果なしのレスポンスを返します");
 				return ResponseEntity.ok(response);
 			}
 			
 			// 成功レスポンスを返却
-			ApiResponseDto<List<CenterInfo>> response = ApiResponseDto.success(
-					centerInfoList, 
+			ApiResponseDto<KeysetPageDto<CenterInfoView>> response = ApiResponseDto.success(
+					page, 
 					String.format("%d件のデータが見つかりました", centerInfoList.size()));
-			classLogger.info("検索結果レスポンスを返します: {}件", centerInfoList.size());
+			classLogger.info("検索結果レスポンスを返します: {}件, hasNext={}", centerInfoList.size(), page.isHasNext());
 			return ResponseEntity.ok(response);
 			
+		} catch (BusinessLogicException e) {
+			// 容量範囲・カーソルの不正
+			classLogger.warn("検索条件が不正です: {}", e.getMessage());
+			ApiResponseDto<KeysetPageDto<CenterInfoView>> response = ApiResponseDto.clientError(e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+			
 		} catch (Exception e) {
 			// 予期せぬエラーをログ出力
 			classLogger.error("検索処理中にエラーが発生しました", e);
 			
 			// サーバーエラーレスポンスを返却
-			ApiResponseDto<List<CenterInfo>> response = ApiResponseDto.serverError(
+			ApiResponseDto<KeysetPageDto<CenterInfoView>> response = ApiResponseDto.serverError(
 					String.format("検索処理中にエラーが発生しました: %s", e.getMessage()));
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
 		}
@@ -217,8 +217,6 @@ public class CenterInfoController extends AbstractController {
 	 */
 	@GetMapping(value = UrlConsts.CENTER_INFO_SEARCH, produces = "text/html")
 	public String searchHtml(Model model, @Valid CenterInfoForm form, BindingResult bindingResult) {
-		logStart(LogMessage.HTTP_GET);
-
 		// 入力値のバリデーションチェック
 		if (bindingResult.hasErrors()) {
 			handleValidationError(model, bindingResult, form);
@@ -236,18 +234,8 @@ public class CenterInfoController extends AbstractController {
 					form.getStorageCapacityFrom(),
 					form.getStorageCapacityTo());
 	
-			// 画面表示用に在庫センター情報リストをセット
-			model.addAttribute(ModelAttributeContents.CENTER_INFO_LIST, centerInfoList);
-			
-			// centerInfoListをJSON文字列に変換してモデルに追加
-			try {
-				String centerInfoJson = objectMapper.writeValueAsString(centerInfoList);
-				model.addAttribute("centerInfoJson", centerInfoJson);
-			} catch (Exception e) {
-				// JSON変換エラー
-				logException(LogMessage.HTTP_GET, "JSON変換エラー: " + e.getMessage());
-				model.addAttribute("centerInfoJson", "[]");
-			}
+			// 画面表示用に表示項目のみのリストをセット
+			model.addAttribute(ModelAttributeContents.CENTER_INFO_LIST, toViews(centerInfoList));
 			
 			// 検索結果が空の場合
 			if (centerInfoList.isEmpty()) {
@@ -256,8 +244,6 @@ public class CenterInfoController extends AbstractController {
 				model.addAttribute("infoMessage", String.format("%d件のデータが見つかりました", centerInfoList.size()));
 			}
 			
-			logEnd(LogMessage.HTTP_GET);
-			
 			return UrlConsts.CENTER_INFO_INDEX;
 			
 		} catch (Exception e) {
@@ -288,6 +274,90 @@ public class CenterInfoController extends AbstractController {
 	}
 	
 	
+	/**
+	 * 在庫センター情報の全件エクスポート（突合用）
+	 * 2026/10/18 機能追加
+	 * 
+	 * <pre>
+	 * - format=ndjson（既定）: 1行1レコードのJSON
+	 * - format=csv          : ヘッダー付きCSV（UTF-8 BOM付き）
+	 * 結果はメモリ上に文字列として組み立てず、レスポンスへ逐次書き込む。
+	 * </pre>
+	 * 
+	 * @param format 出力形式
+	 * @param response HTTPレスポンス
+	 * @throws IOException レスポンスへの書き込みに失敗した場合
+	 */
+	@GetMapping(UrlConsts.CENTER_INFO_EXPORT)
+	public void export(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+			HttpServletResponse response) throws IOException {
+		
+		ExportFormat exportFormat = ExportFormat.fromCode(format);
+		if (exportFormat == null) {
+			logValidationError(LogMessage.HTTP_GET, "不正なエクスポート形式: " + format);
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "format は ndjson または csv を指定してください。");
+			return;
+		}
+		
+		String fileName = "center_info_" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+				+ exportFormat.getExtension();
+		response.setContentType(exportFormat.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+		
+		OutputStream out = response.getOutputStream();
+		long count = centerInfoExportService.export(exportFormat, out);
+		out.flush();
+		
+		classLogger.info("エクスポート完了: format={}, {}件", exportFormat.getCode(), count);
+	}
+	
+	/**
+	 * 在庫センター情報の一括取込（multipart/form-data、JSON形式で結果を返す）
+	 * 
+	 * <pre>
+	 * - file: ヘッダー付きCSV（UTF-8、BOM可）または xlsx（先頭のワークシート）
+	 * - 列名はエクスポートCSVと同じ（address, max_storage_capacity, current_storage_capacity は必須）
+	 * - 入力チェックでエラーになった行は登録せず、行番号とメッセージを返す（他の行は登録する）
+	 * </pre>
+	 * 
+	 * @param file アップロードされたファイル
+	 * @return ApiResponseDto (results は取込結果)
+	 */
+	@PostMapping(
+			value = UrlConsts.CENTER_INFO_IMPORT,
+			consumes = "multipart/form-data",
+			produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<ApiResponseDto<ImportResultDto>> importCenters(@RequestParam("file") MultipartFile file) {
+		ImportFormat format = ImportFormat.fromFileName(file.getOriginalFilename());
+		if (file.isEmpty() || format == null) {
+			logValidationError(LogMessage.HTTP_POST, "不正な取込ファイル: " + file.getOriginalFilename());
+			ApiResponseDto<ImportResultDto> res =
+					ApiResponseDto.clientError("取込ファイルは .csv または .xlsx を指定してください。");
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(res);
+		}
+		
+		try {
+			ImportResultDto result = centerInfoImportService.importCenters(format, file);
+			String message = String.format("%d件を登録しました（エラー %d件）",
+					result.getImportedCount(), result.getErrorCount());
+			classLogger.info("一括取込完了: {}", message);
+			return ResponseEntity.ok(ApiResponseDto.success(result, message));
+			
+		} catch (BusinessLogicException ex) {
+			classLogger.warn("一括取込の業務エラー: {}", ex.getMessage());
+			ApiResponseDto<ImportResultDto> res = ApiResponseDto.clientError(ex.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(res);
+			
+		} catch (IOException ex) {
+			classLogger.warn("取込ファイルの読み込みに失敗: {}", ex.getMessage());
+			ApiResponseDto<ImportResultDto> res =
+					ApiResponseDto.clientError("取込ファイルを読み込めません。: " + ex.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(res);
+		}
+	}
+	
 	/**
 	 * 新規登録画面を表示する
 	 * GET /admin/centerInfo/insert
@@ -345,7 +415,6 @@ public class CenterInfoController extends AbstractController {
 			@RequestBody @Validated(Insert.class) CenterInfoForm form,
 	        BindingResult bindingResult) {
 
-	    logStart(LogMessage.HTTP_POST);
 	    classLogger.info("在庫センター情報 新規登録API 呼び出し");
 
 	    /* バリデーション */
@@ -362,7 +431,6 @@ public class CenterInfoController extends AbstractController {
 	        /* 成功レスポンス */
 	        ApiResponseDto<CenterInfo> res =
 	                ApiResponseDto.success(saved, "登録処理を正常に終了しました。");
-	        logEnd(LogMessage.HTTP_POST);
 	        return ResponseEntity.status(HttpStatus.CREATED).body(res);
 
 	    } catch (BusinessLogicException | ResourceNotFoundException ex) {
@@ -404,7 +472,6 @@ public class CenterInfoController extends AbstractController {
 	public ResponseEntity<ApiResponseDto<CenterInfo>> update(
 			@RequestBody @Validated(Update.class) CenterInfoForm form,
 			BindingResult bindingResult) {
-		logStart(LogMessage.HTTP_PUT);
 		classLogger.info("在庫センター情報 更新API 呼び出し");
 		
 		/* バリデーション */
@@ -423,7 +490,6 @@ public class CenterInfoController extends AbstractController {
 			/* 成功レスポンス (200 OK) */
 			ApiResponseDto<CenterInfo> res =
 					ApiResponseDto.success(updated, "更新処理を正常に終了しました。");
-			logEnd(LogMessage.HTTP_PUT);
 			return ResponseEntity.ok(res);
 			
 					
@@ -486,6 +552,85 @@ public class CenterInfoController extends AbstractController {
 
 	}
 
+	/**
+	 * 在庫センター情報の一括更新（JSON形式）
+	 * 
+	 * <pre>
+	 * - items: センターID・画面で取得したバージョン番号・変更する項目（null の項目は変更しない）
+	 * - 全件を1トランザクションで処理し、排他エラー・対象なし等の行は行ごとの結果で返す（他の行は更新する）
+	 * </pre>
+	 * 
+	 * @param form 更新対象
+	 * @param bindingResult バリデーション結果
+	 * @return ApiResponseDto (results は行ごとの処理結果)
+	 */
+	@PutMapping(
+			value = UrlConsts.CENTER_INFO_BULK_UPDATE,
+			consumes = "application/json",
+			produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<ApiResponseDto<BulkResultDto>> bulkUpdate(
+			@RequestBody @Valid CenterInfoBulkUpdateForm form,
+			BindingResult bindingResult) {
+		
+		if (bindingResult.hasErrors()) {
+			classLogger.warn("バリデーションエラー: {}", bindingResult.getAllErrors());
+			return GlobalExceptionHandler.handleValidationError(bindingResult);
+		}
+		
+		BulkResultDto result = centerInfoBulkService.bulkUpdate(form);
+		String message = String.format("%d件を更新しました（エラー %d件）",
+				result.getSuccessCount(), result.getFailureCount());
+		classLogger.info("一括更新完了: {}", message);
+		return ResponseEntity.ok(ApiResponseDto.success(result, message));
+	}
+	
+	/**
+	 * 在庫センター情報の一括削除（JSON形式）
+	 * 
+	 * <pre>
+	 * - items: センターID・画面で取得したバージョン番号
+	 * - preview: true の場合は削除せず、行ごとの削除可否のみ返す
+	 * - 在庫が存在するセンターは削除しない（単票の削除と同じ）
+	 * </pre>
+	 * 
+	 * @param form 削除対象
+	 * @param bindingResult バリデーション結果
+	 * @return ApiResponseDto (results は行ごとの処理結果)
+	 */
+	@PostMapping(
+			value = UrlConsts.CENTER_INFO_BULK_DELETE,
+			consumes = "application/json",
+			produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<ApiResponseDto<BulkResultDto>> bulkDelete(
+			@RequestBody @Valid CenterInfoBulkDeleteForm form,
+			BindingResult bindingResult) {
+		
+		if (bindingResult.hasErrors()) {
+			classLogger.warn("バリデーションエラー: {}", bindingResult.getAllErrors());
+			return GlobalExceptionHandler.handleValidationError(bindingResult);
+		}
+		
+		BulkResultDto result = centerInfoBulkService.bulkDelete(form);
+		String message = String.format(form.isPreview() ? "%d件を削除できます（エラー %d件）" : "%d件を削除しました（エラー %d件）",
+				result.getSuccessCount(), result.getFailureCount());
+		classLogger.info("一括削除完了: {}", message);
+		return ResponseEntity.ok(ApiResponseDto.success(result, message));
+	}
+
+	/**
+	 * エンティティのリストを画面表示用DTOのリストに変換
+	 * 
+	 * @param centerInfoList 在庫センター情報エンティティのリスト
+	 * @return 画面表示用DTOのリスト
+	 */
+	private List<CenterInfoView> toViews(List<CenterInfo> centerInfoList) {
+		return centerInfoList.stream()
+				.map(CenterInfoView::from)
+				.collect(Collectors.toList());
+	}
+
 	/**
 	 * 検索パラメータのログ出力
 	 * 
@@ -496,6 +641,7 @@ public class CenterInfoController extends AbstractController {
 		classLogger.info("検索条件 - 都道府県: {}", form.getRegion());
 		classLogger.info("検索条件 - 容量(From): {}", form.getStorageCapacityFrom());
 		classLogger.info("検索条件 - 容量(To): {}", form.getStorageCapacityTo());
+		classLogger.info("検索条件 - カーソル: {}, 件数: {}", form.getCursor(), form.getPageSize());
 	}
 
 	/**
@@ -34,9 +34,6 @@ public class LoginController extends AbstractController {
 	 */
 	@GetMapping(UrlConsts.LOGIN)
 	public String index() {
-        logStart(LogMessage.HTTP_GET);
-        logEnd(LogMessage.HTTP_GET);
-
 		return UrlConsts.LOGIN_INDEX;
 	}
 	
@@ -48,13 +45,10 @@ public class LoginController extends AbstractController {
 	 */
 	@GetMapping(value = UrlConsts.LOGIN, params = "error")
 	public String error(Model model) {
-		logStart(LogMessage.HTTP_GET);
-
 		Exception errorInfo = (Exception) session.getAttribute(WebAttributes.AUTHENTICATION_EXCEPTION);
 		logException(LogMessage.HTTP_GET, errorInfo.getMessage());
 		model.addAttribute(ModelAttributeContents.ERROR_MSG, errorInfo.getMessage());
 		
-		logEnd(LogMessage.HTTP_GET);
 		return UrlConsts.LOGIN_INDEX;
 	}
 }
@@ -5,6 +5,7 @@ import java.util.List;
 
 import jakarta.validation.Valid;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -16,7 +17,9 @@ import com.digitalojt.web.consts.ModelAttributeContents;
 import com.digitalojt.web.consts.OperationStatus;
 import com.digitalojt.web.consts.OperationType;
 import com.digitalojt.web.consts.UrlConsts;
+import com.digitalojt.web.dto.KeysetPageDto;
 import com.digitalojt.web.entity.OperationLog;
+import com.digitalojt.web.exception.BusinessLogicException;
 import com.digitalojt.web.form.OperationLogForm;
 import com.digitalojt.web.service.OperationLogService;
 
@@ -57,28 +60,36 @@ public class OperationLogController extends AbstractController {
 
 	/**
 	 * 初期表示
+	 * 2026/10/18 性能改善: 直近1か月分を全件表示せず、キーセットページングで1ページ分のみ表示
 	 * 
 	 * @param model
+	 * @param form 並び順・カーソル・表示件数（検索条件は使用しない）
 	 * @return
 	 */
 	@GetMapping(UrlConsts.OPERATION_LOG)
-	public String index(Model model) {
-
-		logStart(LogMessage.HTTP_GET);
-		
-        // 操作履歴情報の取得（直近1か月分のみ）
-        List<OperationLog> operationLogList = operationLogService.getOperationLogList();
+	public String index(Model model, OperationLogForm form) {
+		// 並び順の既定値は新しい順
+		if (form.getSortOrder() == null) {
+			form.setSortOrder(Sort.Direction.DESC);
+		}
 		
-        // 画面表示用に操作履歴情報リストをセット
-		model.addAttribute(ModelAttributeContents.OPERATION_LOG_LIST, operationLogList);
+		try {
+	        // 操作履歴情報の取得（直近1か月分のみ）
+	        KeysetPageDto<OperationLog> page = operationLogService.getOperationLogPage(
+	        		form.getSortOrder(), form.getAfter(), form.getBefore(), form.getPageSize());
+			
+	        // 画面表示用に操作履歴情報リストをセット
+	        addPage(model, page, UrlConsts.OPERATION_LOG);
+		} catch (BusinessLogicException e) {
+			model.addAttribute(LogMessage.FLASH_ATTRIBUTE_ERROR, e.getMessage());
+		}
 	    
-		logEnd(LogMessage.HTTP_GET);
-
 		return UrlConsts.OPERATION_LOG_INDEX;
 	}
 	
     /**
      * 検索結果表示
+     * 2026/10/18 性能改善: 検索結果を全件表示せず、キーセットページングで1ページ分のみ表示
      * 
      * @param model
      * @param form
@@ -87,7 +98,6 @@ public class OperationLogController extends AbstractController {
      */
     @GetMapping(UrlConsts.OPERATION_LOG_SEARCH)
     public String search(Model model, @Valid OperationLogForm form, BindingResult bindingResult) {
-        logStart(LogMessage.HTTP_GET);
         
         // 入力値のバリデーションチェック
         if (bindingResult.hasErrors()) {
@@ -110,18 +120,39 @@ public class OperationLogController extends AbstractController {
             statusCode = statusEnum.getStatusCode();
         }
         
-        // 検索条件に基づいて操作履歴情報を取得
-        List<OperationLog> operationLogList = operationLogService.getOperationLogData(
-        		form.getUserId(), operateTypeCode, statusCode, form.getCreateDate(), form.getUpdateDate());
-
-        // 画面表示用に操作履歴情報リストをセット
-        model.addAttribute(ModelAttributeContents.OPERATION_LOG_LIST, operationLogList);
+        // 並び順の既定値は古い順
+        if (form.getSortOrder() == null) {
+        	form.setSortOrder(Sort.Direction.ASC);
+        }
+        
+        try {
+	        // 検索条件に基づいて操作履歴情報を1ページ分取得
+	        KeysetPageDto<OperationLog> page = operationLogService.getOperationLogPage(
+	        		form.getUserId(), operateTypeCode, statusCode, form.getCreateDate(), form.getUpdateDate(),
+	        		form.getSortOrder(), form.getAfter(), form.getBefore(), form.getPageSize());
+	
+	        // 画面表示用に操作履歴情報リストをセット
+	        addPage(model, page, UrlConsts.OPERATION_LOG_SEARCH);
+        } catch (BusinessLogicException e) {
+        	model.addAttribute(LogMessage.FLASH_ATTRIBUTE_ERROR, e.getMessage());
+        }
         
-        logEnd(LogMessage.HTTP_GET);
-
 		return UrlConsts.OPERATION_LOG_INDEX;
     }
     
+    /**
+     * 1ページ分の操作履歴情報と、ページ遷移リンク用の情報をモデルにセット
+     * 
+     * @param model
+     * @param page 1ページ分の操作履歴情報
+     * @param pagingUrl ページ遷移リンクの遷移先
+     */
+    private void addPage(Model model, KeysetPageDto<OperationLog> page, String pagingUrl) {
+        model.addAttribute(ModelAttributeContents.OPERATION_LOG_LIST, page.getItems());
+        model.addAttribute(ModelAttributeContents.OPERATION_LOG_PAGE, page);
+        model.addAttribute(ModelAttributeContents.OPERATION_LOG_PAGING_URL, pagingUrl);
+    }
+    
     /**
      * バリデーションエラー処理
      * 
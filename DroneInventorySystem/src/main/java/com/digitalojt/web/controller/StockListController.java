@@ -1,27 +1,149 @@
 package com.digitalojt.web.controller;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.digitalojt.web.consts.Category;
+import com.digitalojt.web.consts.ModelAttributeContents;
 import com.digitalojt.web.consts.UrlConsts;
+import com.digitalojt.web.dto.ApiResponseDto;
+import com.digitalojt.web.dto.KeysetPageDto;
+import com.digitalojt.web.dto.StockSummaryView;
+import com.digitalojt.web.dto.StockView;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.exception.BusinessLogicException;
+import com.digitalojt.web.exception.GlobalExceptionHandler;
+import com.digitalojt.web.form.StockListForm;
+import com.digitalojt.web.service.CenterInfoService;
+import com.digitalojt.web.service.StockAggregationService;
+import com.digitalojt.web.service.StockService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 
 /**
  * 在庫一覧画面コントローラークラス
- * 
+ * 2026/10/18 機能追加: 固定の表示サンプルをやめ、在庫情報テーブルの検索結果を表示
+ *
  * @author your name
  *
  */
 @Controller
+@RequiredArgsConstructor
 public class StockListController extends AbstractController {
-	
+
+	/** ロガー */
+	private static final Logger classLogger = LoggerFactory.getLogger(StockListController.class);
+
+	/** 在庫一覧 サービス */
+	private final StockService stockService;
+
+	/** 在庫集計 サービス */
+	private final StockAggregationService stockAggregationService;
+
+	/** センター情報 サービス（保管場所の選択肢用） */
+	private final CenterInfoService centerInfoService;
+
+	/**
+	 * 分類Enumをリストに変換
+	 *
+	 * @return
+	 */
+	@ModelAttribute(ModelAttributeContents.CATEGORIES)
+	public List<Category> populateCategories() {
+		return Arrays.asList(Category.values());
+	}
+
 	/**
 	 * 初期表示
-	 * 
+	 * 在庫一覧は画面表示後に検索API（JSON形式）から1ページずつ取得する
+	 *
 	 * @return String(path)
 	 */
 	@GetMapping(UrlConsts.STOCK_LIST)
 	public String index(Model model) {
+		// 保管場所の選択肢
+		List<CenterInfo> centers = centerInfoService.getCenterInfoData();
+		model.addAttribute(ModelAttributeContents.CENTERS, centers);
+
 		return UrlConsts.STOCK_LIST_INDEX;
 	}
+
+	/**
+	 * 検索結果表示（JSON形式）
+	 *
+	 * @param form
+	 * @param bindingResult
+	 * @return 標準化されたJSON応答（ApiResponseDto、results はページ情報）
+	 */
+	@GetMapping(value = UrlConsts.STOCK_LIST_SEARCH, produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<ApiResponseDto<KeysetPageDto<StockView>>> search(@Valid StockListForm form,
+			BindingResult bindingResult) {
+
+		// 入力値のバリデーションチェック（想定外の分類・数値以外のセンターIDを含む）
+		if (bindingResult.hasErrors()) {
+			classLogger.warn("検索条件のバリデーションエラー: {}", bindingResult.getAllErrors());
+			return GlobalExceptionHandler.handleValidationError(bindingResult);
+		}
+
+		try {
+			// 検索条件に基づいて在庫情報を1ページ分取得
+			KeysetPageDto<StockView> page = stockService.getStockPage(
+					form.getCategory(),
+					form.getCenterId(),
+					form.getName(),
+					form.getCursor(),
+					form.getPageSize());
+			int count = page.getItems().size();
+
+			String message = (count == 0) ? "該当するデータはありません"
+					: String.format("%d件のデータが見つかりました", count);
+			classLogger.info("検索結果レスポンスを返します: {}件, hasNext={}", count, page.isHasNext());
+			return ResponseEntity.ok(ApiResponseDto.success(page, message));
+
+		} catch (BusinessLogicException e) {
+			// カーソルの不正
+			classLogger.warn("検索条件が不正です: {}", e.getMessage());
+			ApiResponseDto<KeysetPageDto<StockView>> response = ApiResponseDto.clientError(e.getMessage());
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+		}
+	}
+
+	/**
+	 * センター別の在庫集計（JSON形式）
+	 * stock_info は走査せず、差分更新で維持している集計値を返す
+	 *
+	 * @param centerId センターID
+	 * @return 標準化されたJSON応答（ApiResponseDto、results はセンター別在庫集計）
+	 */
+	@GetMapping(value = UrlConsts.STOCK_LIST_SUMMARY, produces = "application/json")
+	@ResponseBody
+	public ResponseEntity<ApiResponseDto<StockSummaryView>> summary(@RequestParam("centerId") int centerId) {
+		Map<String, Long> categoryTotals = new LinkedHashMap<>();
+		stockAggregationService.getCategoryTotals(centerId)
+				.forEach((category, total) -> categoryTotals.put(category.getName(), total));
+
+		StockSummaryView view = StockSummaryView.builder()
+				.centerId(centerId)
+				.totalAmount(stockAggregationService.getCenterTotalAmount(centerId))
+				.stockCount(stockAggregationService.getCenterStockCount(centerId))
+				.categoryTotals(categoryTotals)
+				.build();
+		return ResponseEntity.ok(ApiResponseDto.success(view));
+	}
 }
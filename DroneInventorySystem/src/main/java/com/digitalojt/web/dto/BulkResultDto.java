@@ -0,0 +1,80 @@
+package com.digitalojt.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.digitalojt.web.consts.BulkRowStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括更新・一括削除の結果DTOクラス
+ * 行ごとの処理結果をリクエストの並び順で保持する
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@NoArgsConstructor
+public class BulkResultDto {
+
+    /**
+     * 処理できた件数
+     */
+    private int successCount;
+
+    /**
+     * 処理できなかった件数（排他エラー・対象なし・在庫あり・入力エラー）
+     */
+    private int failureCount;
+
+    /**
+     * 行ごとの処理結果
+     */
+    private List<RowResult> results = new ArrayList<>();
+
+    /**
+     * 行ごとの処理結果を追加
+     *
+     * @param row 処理結果
+     */
+    public void add(RowResult row) {
+        results.add(row);
+        if (row.getStatus().isSuccess()) {
+            successCount++;
+        } else {
+            failureCount++;
+        }
+    }
+
+    /**
+     * 行ごとの処理結果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+
+        /**
+         * センターID
+         */
+        private Integer centerId;
+
+        /**
+         * 処理結果
+         */
+        private BulkRowStatus status;
+
+        /**
+         * メッセージ
+         */
+        private String message;
+
+        /**
+         * 処理後のバージョン番号（更新した場合のみ。それ以外はリクエスト時点の値）
+         */
+        private Long version;
+    }
+}
@@ -0,0 +1,84 @@
+package com.digitalojt.web.dto;
+
+import java.time.LocalDateTime;
+
+import com.digitalojt.web.entity.CenterInfo;
+
+/**
+ * 在庫センター情報の不変な複製
+ *
+ * <pre>
+ * 検索結果キャッシュ・インメモリ索引のように、複数のリクエスト・スレッドで共有して保持する場合に使用する。
+ * 呼び出し元へはサービスの境界で toEntity() により都度新しいエンティティ（管理外）に変換して返すため、
+ * 返却したエンティティを変更しても共有している値には影響しない。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public record CenterInfoRow(
+		int centerId,
+		String centerName,
+		String postCode,
+		String address,
+		Integer regionCode,
+		String phoneNumber,
+		String managerName,
+		Integer operationalStatus,
+		Integer maxStorageCapacity,
+		Integer currentStorageCapacity,
+		String notes,
+		Integer deleteFlag,
+		LocalDateTime createDate,
+		LocalDateTime updateDate,
+		Long version) {
+
+	/**
+	 * エンティティの現在の値を複製
+	 *
+	 * @param entity 在庫センター情報エンティティ
+	 * @return 不変な複製
+	 */
+	public static CenterInfoRow from(CenterInfo entity) {
+		return new CenterInfoRow(
+				entity.getCenterId(),
+				entity.getCenterName(),
+				entity.getPostCode(),
+				entity.getAddress(),
+				entity.getRegionCode(),
+				entity.getPhoneNumber(),
+				entity.getManagerName(),
+				entity.getOperationalStatus(),
+				entity.getMaxStorageCapacity(),
+				entity.getCurrentStorageCapacity(),
+				entity.getNotes(),
+				entity.getDeleteFlag(),
+				entity.getCreateDate(),
+				entity.getUpdateDate(),
+				entity.getVersion());
+	}
+
+	/**
+	 * 新しいエンティティ（管理外）に変換
+	 *
+	 * @return 在庫センター情報エンティティ
+	 */
+	public CenterInfo toEntity() {
+		CenterInfo entity = new CenterInfo();
+		entity.setCenterId(centerId);
+		entity.setCenterName(centerName);
+		entity.setPostCode(postCode);
+		entity.setAddress(address);
+		entity.setRegionCode(regionCode);
+		entity.setPhoneNumber(phoneNumber);
+		entity.setManagerName(managerName);
+		entity.setOperationalStatus(operationalStatus);
+		entity.setMaxStorageCapacity(maxStorageCapacity);
+		entity.setCurrentStorageCapacity(currentStorageCapacity);
+		entity.setNotes(notes);
+		entity.setDeleteFlag(deleteFlag);
+		entity.setCreateDate(createDate);
+		entity.setUpdateDate(updateDate);
+		entity.setVersion(version);
+		return entity;
+	}
+}
@@ -0,0 +1,78 @@
+package com.digitalojt.web.dto;
+
+import com.digitalojt.web.entity.CenterInfo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在庫センター情報画面の表示用DTOクラス
+ * 一覧表示と更新・削除画面への受け渡しに必要な項目のみを保持する
+ * （作成日付・更新日付・削除フラグは画面で使用しないため持たない）
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CenterInfoView {
+
+    /** センターID */
+    private int centerId;
+
+    /** センター名 */
+    private String centerName;
+
+    /** 郵便番号 */
+    private String postCode;
+
+    /** 住所 */
+    private String address;
+
+    /** 電話番号 */
+    private String phoneNumber;
+
+    /** 管理者名 */
+    private String managerName;
+
+    /** 稼働状況ステータス (0:稼働中, 1:稼働停止) */
+    private Integer operationalStatus;
+
+    /** 最大容量 */
+    private Integer maxStorageCapacity;
+
+    /** 現在容量 */
+    private Integer currentStorageCapacity;
+
+    /** 備考 */
+    private String notes;
+
+    /** バージョン番号（楽観ロック用） */
+    private Long version;
+
+    /**
+     * エンティティから表示用DTOを作成する静的ファクトリーメソッド
+     *
+     * @param entity 在庫センター情報エンティティ
+     * @return 表示用DTO
+     */
+    public static CenterInfoView from(CenterInfo entity) {
+        return CenterInfoView.builder()
+                .centerId(entity.getCenterId())
+                .centerName(entity.getCenterName())
+                .postCode(entity.getPostCode())
+                .address(entity.getAddress())
+                .phoneNumber(entity.getPhoneNumber())
+                .managerName(entity.getManagerName())
+                .operationalStatus(entity.getOperationalStatus())
+                .maxStorageCapacity(entity.getMaxStorageCapacity())
+                .currentStorageCapacity(entity.getCurrentStorageCapacity())
+                .notes(entity.getNotes())
+                .version(entity.getVersion())
+                .build();
+    }
+}
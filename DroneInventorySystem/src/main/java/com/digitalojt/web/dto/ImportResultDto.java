@@ -0,0 +1,80 @@
+package com.digitalojt.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括取込の結果DTOクラス
+ * 行ごとのエラーは上限件数まで保持し、件数は全件を数える
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@NoArgsConstructor
+public class ImportResultDto {
+
+    /**
+     * 読み込んだデータ行数（ヘッダー行・空行を除く）
+     */
+    private long totalRows;
+
+    /**
+     * 登録した件数
+     */
+    private long importedCount;
+
+    /**
+     * エラーの行数
+     */
+    private long errorCount;
+
+    /**
+     * 行ごとのエラー（上限件数まで）
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * エラーが上限件数を超えて省略されたか
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * エラー行を追加
+     *
+     * @param rowNumber 行番号
+     * @param messages エラーメッセージ
+     * @param maxReportedErrors 保持するエラーの上限件数
+     */
+    public void addError(int rowNumber, List<String> messages, int maxReportedErrors) {
+        errorCount++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(rowNumber, messages));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    /**
+     * 行ごとのエラー
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 行番号（ヘッダー行を1行目とする）
+         */
+        private int rowNumber;
+
+        /**
+         * エラーメッセージ
+         */
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,153 @@
+package com.digitalojt.web.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * キーセットページングの応答DTOクラス
+ * OFFSET を使わず、前ページ最終行のキーから続きを取得するページ情報を保持する
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+
+    /**
+     * ページ内のデータ
+     */
+    private List<T> items;
+
+    /**
+     * ページサイズ
+     */
+    private int size;
+
+    /**
+     * 次ページが存在するか
+     */
+    private boolean hasNext;
+
+    /**
+     * 次ページ取得用カーソル（次ページが無い場合は null）
+     */
+    private String nextCursor;
+
+    /**
+     * 前ページが存在するか
+     */
+    private boolean hasPrevious;
+
+    /**
+     * 前ページ取得用カーソル（前ページが無い場合は null）
+     */
+    private String prevCursor;
+
+    /**
+     * ページ情報を作成する静的ファクトリーメソッド
+     *
+     * <pre>
+     * リポジトリからは pageSize + 1 件を取得しておき、
+     * 超過分の有無で次ページの存在を判定する（COUNT クエリは発行しない）
+     * </pre>
+     *
+     * @param <T> データ型
+     * @param fetched pageSize + 1 件を上限に取得したデータ
+     * @param pageSize ページサイズ
+     * @param cursorOf 行から次ページ用カーソルを生成する関数
+     * @return ページ応答DTO
+     */
+    public static <T> KeysetPageDto<T> of(List<T> fetched, int pageSize,
+            Function<T, String> cursorOf) {
+        return forward(fetched, pageSize, cursorOf, false);
+    }
+
+    /**
+     * 境界行より後ろ（表示順で次方向）を取得した結果からページ情報を作成する
+     *
+     * @param <T> データ型
+     * @param fetched 表示順に pageSize + 1 件を上限に取得したデータ
+     * @param pageSize ページサイズ
+     * @param cursorOf 行からカーソルを生成する関数
+     * @param hasPrevious 前ページが存在するか（カーソル指定で遷移してきた場合 true）
+     * @return ページ応答DTO
+     */
+    public static <T> KeysetPageDto<T> forward(List<T> fetched, int pageSize,
+            Function<T, String> cursorOf, boolean hasPrevious) {
+        boolean hasNext = fetched.size() > pageSize;
+        List<T> items = hasNext ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        boolean previous = hasPrevious && !items.isEmpty();
+        String prevCursor = previous ? cursorOf.apply(items.get(0)) : null;
+        return KeysetPageDto.<T>builder()
+                .items(items)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .hasPrevious(previous)
+                .prevCursor(prevCursor)
+                .build();
+    }
+
+    /**
+     * 境界行より前（表示順で前方向）を取得した結果からページ情報を作成する
+     *
+     * <pre>
+     * リポジトリからは表示順と逆順（境界行に近い順）に pageSize + 1 件を取得しておき、
+     * 超過分の有無で前ページの存在を判定したうえで、表示順に並べ替える。
+     * 境界行が存在するため、データがあれば次ページは常に存在する。
+     * </pre>
+     *
+     * @param <T> データ型
+     * @param fetched 表示順と逆順に pageSize + 1 件を上限に取得したデータ
+     * @param pageSize ページサイズ
+     * @param cursorOf 行からカーソルを生成する関数
+     * @return ページ応答DTO
+     */
+    public static <T> KeysetPageDto<T> backward(List<T> fetched, int pageSize,
+            Function<T, String> cursorOf) {
+        boolean hasPrevious = fetched.size() > pageSize;
+        List<T> items = new ArrayList<>(hasPrevious ? fetched.subList(0, pageSize) : fetched);
+        Collections.reverse(items);
+        boolean hasNext = !items.isEmpty();
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        String prevCursor = hasPrevious ? cursorOf.apply(items.get(0)) : null;
+        return KeysetPageDto.<T>builder()
+                .items(items)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .hasPrevious(hasPrevious)
+                .prevCursor(prevCursor)
+                .build();
+    }
+
+    /**
+     * ページ内のデータを別の型に変換したページ情報を作成する
+     *
+     * @param <R> 変換後のデータ型
+     * @param mapper 変換関数
+     * @return 変換後のページ応答DTO（カーソル情報は引き継ぐ）
+     */
+    public <R> KeysetPageDto<R> map(Function<T, R> mapper) {
+        return KeysetPageDto.<R>builder()
+                .items(items.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .hasPrevious(hasPrevious)
+                .prevCursor(prevCursor)
+                .build();
+    }
+}
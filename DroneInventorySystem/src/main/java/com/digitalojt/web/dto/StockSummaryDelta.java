@@ -0,0 +1,50 @@
+package com.digitalojt.web.dto;
+
+import com.digitalojt.web.consts.DeleteFlagConsts;
+import com.digitalojt.web.entity.Stock;
+
+/**
+ * 在庫集計への差分（センター・分類ごとの在庫数量・在庫件数の増減）
+ *
+ * @param centerId センターID
+ * @param categoryId 分類ID
+ * @param amount 在庫数量の増減
+ * @param count 在庫件数の増減
+ *
+ * @author dotlife
+ */
+public record StockSummaryDelta(Integer centerId, Integer categoryId, long amount, long count) {
+
+	/**
+	 * 在庫1件が集計に寄与する値を作成
+	 * 削除済み（削除フラグが未削除以外）の在庫は寄与しない
+	 *
+	 * @param stock 在庫
+	 * @return 在庫1件分の寄与（削除済みの場合は数量・件数とも 0）
+	 */
+	public static StockSummaryDelta of(Stock stock) {
+		if (stock.getDeleteFlag() == null || stock.getDeleteFlag() != DeleteFlagConsts.ACTIVE) {
+			return new StockSummaryDelta(stock.getCenterId(), stock.getCategoryId(), 0, 0);
+		}
+		long amount = (stock.getAmount() == null) ? 0 : stock.getAmount();
+		return new StockSummaryDelta(stock.getCenterId(), stock.getCategoryId(), amount, 1);
+	}
+
+	/**
+	 * 符号を反転した差分を作成（寄与の取り消し用）
+	 *
+	 * @return 符号を反転した差分
+	 */
+	public StockSummaryDelta negate() {
+		return new StockSummaryDelta(centerId, categoryId, -amount, -count);
+	}
+
+	/**
+	 * 集計に影響しない差分か
+	 *
+	 * @return 数量・件数とも 0 の場合 true
+	 */
+	public boolean isZero() {
+		return amount == 0 && count == 0;
+	}
+}
@@ -0,0 +1,33 @@
+package com.digitalojt.web.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * センター別在庫集計の表示用DTOクラス
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSummaryView {
+
+    /** センターID */
+    private int centerId;
+
+    /** 在庫数量の合計 */
+    private long totalAmount;
+
+    /** 在庫件数 */
+    private long stockCount;
+
+    /** 分類名 → 在庫数量の合計（分類の定義順） */
+    private Map<String, Long> categoryTotals;
+}
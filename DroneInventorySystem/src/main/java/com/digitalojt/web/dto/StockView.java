@@ -0,0 +1,67 @@
+package com.digitalojt.web.dto;
+
+import com.digitalojt.web.consts.Category;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在庫一覧画面の表示用DTOクラス
+ * 一覧表示に必要な項目のみを保持し、保管場所（在庫センター名）は検索時に結合して取得する
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@NoArgsConstructor
+public class StockView {
+
+    /** 在庫ID */
+    private Integer stockId;
+
+    /** 分類ID */
+    private Integer categoryId;
+
+    /** 分類名 */
+    private String categoryName;
+
+    /** 在庫名 */
+    private String name;
+
+    /** センターID */
+    private Integer centerId;
+
+    /** 保管場所（在庫センター名） */
+    private String centerName;
+
+    /** 在庫説明 */
+    private String description;
+
+    /** 在庫数量 */
+    private Integer amount;
+
+    /**
+     * コンストラクタ（JPQL のコンストラクタ式から使用）
+     * 分類名は分類IDから Enum で解決する
+     *
+     * @param stockId 在庫ID
+     * @param categoryId 分類ID
+     * @param name 在庫名
+     * @param centerId センターID
+     * @param centerName 在庫センター名
+     * @param description 在庫説明
+     * @param amount 在庫数量
+     */
+    public StockView(Integer stockId, Integer categoryId, String name, Integer centerId,
+            String centerName, String description, Integer amount) {
+        Category category = Category.fromCategoryId(categoryId);
+        this.stockId = stockId;
+        this.categoryId = categoryId;
+        this.categoryName = (category == null) ? null : category.getName();
+        this.name = name;
+        this.centerId = centerId;
+        this.centerName = centerName;
+        this.description = description;
+        this.amount = amount;
+    }
+}
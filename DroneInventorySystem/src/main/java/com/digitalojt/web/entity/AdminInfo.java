@@ -2,8 +2,11 @@ package com.digitalojt.web.entity;
 
 import java.time.LocalDateTime;
 
+import com.digitalojt.web.service.AdminInfoCacheListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -18,6 +21,7 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "admin_info")
+@EntityListeners(AdminInfoCacheListener.class)
 public class AdminInfo {
 
 	/**
@@ -4,11 +4,18 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.Comment;
 
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.service.CenterInfoIndexListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.Data;
@@ -26,10 +33,16 @@ import lombok.Setter;
  * 在庫センター情報エンティティ
  * 2025/05/29 変更:
  *   - 楽観ロック用フィールド version を追加（@Version）
+ * 2026/10/18 変更:
+ *   - インメモリ索引同期用のエンティティリスナーを追加
+ *   - 住所から導出する都道府県コード region_code と検索用複合インデックスを追加
  */
 @Data
 @Entity
-@Table(name = "center_info")
+@Table(name = "center_info", indexes = {
+		@Index(name = "idx_center_info_status_region_capacity",
+				columnList = "operational_status, region_code, current_storage_capacity") })
+@EntityListeners(CenterInfoIndexListener.class)
 @Getter
 @Setter
 public class CenterInfo {
@@ -90,6 +103,14 @@ public class CenterInfo {
     @Column(name = "current_storage_capacity", nullable = false)
 	private Integer currentStorageCapacity;
     
+    /**
+     * 都道府県コード（住所から導出、判定できない場合は null）
+     * 登録・更新時に {@link #applyRegionCode()} で設定するため、直接更新しないこと
+     */
+    @Column(name = "region_code", columnDefinition = "TINYINT")
+    @Comment("都道府県コード（JIS X 0401）")
+    private Integer regionCode;
+    
     /**
      * 備考
      */
@@ -128,4 +149,17 @@ public class CenterInfo {
     @Column(name = "version", nullable = false)
     @Comment("排他制御用バージョン番号")
     private Long version;
+
+    // ================================
+    // 2026/10/18 追加開始 - 都道府県コード
+    // ================================
+    /**
+     * 登録・更新前に住所から都道府県コードを設定
+     */
+    @PrePersist
+    @PreUpdate
+    void applyRegionCode() {
+        Region region = Region.fromAddress(address);
+        this.regionCode = (region == null) ? null : region.getCode();
+    }
 }
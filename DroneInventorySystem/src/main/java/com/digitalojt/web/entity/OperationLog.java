@@ -4,10 +4,13 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,13 +20,20 @@ import lombok.Data;
 
 /**
  * 操作履歴Entity
+ * 2026/10/18 変更:
+ *   - create_date による月次パーティション化に伴い、外部キー制約を作成しないように変更
+ *     （MySQL のパーティションテーブルは外部キーを持てないため）
+ *   - 操作時刻・操作種類・ステータスの複合インデックスを追加
+ *   - 操作履歴画面のキーセットページング用に、操作時刻・ログIDの複合インデックスを追加
  * 
  * @author dotlife
  *
  */
 @Data
 @Entity
-@Table(name = "operation_log")
+@Table(name = "operation_log", indexes = {
+		@Index(name = "idx_operation_log_date_type_status", columnList = "create_date, operate_type, status"),
+		@Index(name = "idx_operation_log_date_id", columnList = "create_date, log_id") })
 public class OperationLog {
 
 	/**
@@ -38,7 +48,7 @@ public class OperationLog {
 	 * 管理者ID
 	 */
 	@ManyToOne
-	@JoinColumn(name = "admin_id", nullable = false)
+	@JoinColumn(name = "admin_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
 	private AdminInfo adminInfo;
 
 	/**
@@ -2,15 +2,28 @@ package com.digitalojt.web.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.util.Date;
 
+import com.digitalojt.web.dto.StockSummaryDelta;
+import com.digitalojt.web.service.StockAggregationListener;
+
 /**
  * stock_infoテーブルのエンティティクラス
  * 
  * 新規作成
+ * 2026/10/18 性能改善:
+ *   - 在庫一覧検索用に、センターID・分類ID・削除フラグの複合インデックスを追加
+ *   - 分類を指定しない検索用に、センターID・削除フラグの複合インデックスを追加
+ *   （いずれも末尾に主キーを含むため、在庫ID順のキーセットページングをソートなしで処理できる）
+ *   - 在庫集計（stock_summary）へ差分を加算するエンティティリスナーを追加
  */
 @Entity
-@Table(name = "stock_info")
+@Table(name = "stock_info", indexes = {
+		@Index(name = "idx_stock_info_center_category_delete", columnList = "center_id, category_id, delete_flag"),
+		@Index(name = "idx_stock_info_center_delete", columnList = "center_id, delete_flag") })
+@EntityListeners(StockAggregationListener.class)
 @Data
 public class Stock {
 
@@ -53,4 +66,10 @@ public class Stock {
     @Column(name = "update_date")
     @Temporal(TemporalType.TIMESTAMP)
     private Date updateDate;
+
+    /** 在庫集計へ反映済みの寄与（読み込み時・書き込み時点の値、更新時の差分計算用） */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private StockSummaryDelta aggregatedContribution;
 }
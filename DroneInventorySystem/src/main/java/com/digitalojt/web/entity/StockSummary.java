@@ -0,0 +1,50 @@
+package com.digitalojt.web.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * 在庫集計Entity（stock_summary）
+ *
+ * <pre>
+ * センター・分類ごとの在庫数量合計と在庫件数を保持する。
+ * 在庫の登録・更新・削除時に差分のみを加算して更新する（StockAggregationService）。
+ * </pre>
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@Entity
+@Table(name = "stock_summary")
+public class StockSummary {
+
+	/**
+	 * センターID・分類ID
+	 */
+	@EmbeddedId
+	private StockSummaryId id;
+
+	/**
+	 * 在庫数量の合計（未削除の在庫のみ）
+	 */
+	@Column(name = "total_amount", nullable = false)
+	private long totalAmount;
+
+	/**
+	 * 在庫件数（未削除の在庫のみ）
+	 */
+	@Column(name = "stock_count", nullable = false)
+	private long stockCount;
+
+	/**
+	 * 更新日付
+	 */
+	@Column(name = "update_date", nullable = false)
+	private LocalDateTime updateDate;
+}
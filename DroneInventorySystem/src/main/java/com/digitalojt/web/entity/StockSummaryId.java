@@ -0,0 +1,32 @@
+package com.digitalojt.web.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 在庫集計テーブルの複合主キー（センターID・分類ID）
+ *
+ * @author dotlife
+ *
+ */
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSummaryId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** センターID */
+	@Column(name = "center_id", nullable = false)
+	private Integer centerId;
+
+	/** 分類ID */
+	@Column(name = "category_id", nullable = false)
+	private Integer categoryId;
+}
@@ -0,0 +1,18 @@
+package com.digitalojt.web.exception;
+
+import org.springframework.security.authentication.AccountStatusException;
+
+/**
+ * ログイン失敗の回数が上限を超えたため、認証を行わずに拒否したことを表す例外
+ * （AccountStatusException を継承し、親の AuthenticationManager で再試行されないようにする）
+ *
+ * @author dotlife
+ */
+public class LoginThrottledException extends AccountStatusException {
+
+	private static final long serialVersionUID = 1L;
+
+	public LoginThrottledException(String message) {
+		super(message);
+	}
+}
@@ -1,60 +1,282 @@
 package com.digitalojt.web.filter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.digitalojt.web.consts.LogMessage;
 
-import jakarta.servlet.Filter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.FilterConfig;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * ログ出力用の診断コンテキストを設定するFilterクラス.
- * 
+ *
+ * <pre>
+ * 2026/10/18 機能追加: リクエストのコンテキスト（RequestContext）を管理する
+ * - リクエストIDを採番し（X-Request-Id ヘッダーが妥当な場合はそれを引き継ぐ）、MDC と応答ヘッダーに設定する
+ * - 処理時間の内訳（フィルター・コントローラー・DB・画面描画）を Server-Timing ヘッダーで返す
+ *   （応答の確定時点の値。画面描画の途中で応答が確定した場合は、その時点までの時間になる）
+ * - リクエストの完了時に、処理時間の内訳を含むアクセスログを1行出力する（JSON 形式ではキーと値も出力）
+ * 認証より前に実行するため、ユーザーIDはコントローラーの開始時に認証済みのユーザーへ更新する。
+ * </pre>
+ *
  * @author dotlife
  */
-public class LogSettingFilter implements Filter {
+public class LogSettingFilter extends OncePerRequestFilter {
 
-	@Override
-	public void init(FilterConfig filterConfig) throws ServletException {
+	/** アクセスログ */
+	private static final Logger accessLogger = LoggerFactory.getLogger("com.digitalojt.web.access");
+
+	/** リクエストIDのヘッダー名 */
+	public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+	/** Server-Timing のヘッダー名 */
+	public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+	/** 引き継ぐリクエストIDの最大文字数 */
+	private static final int MAX_REQUEST_ID_LENGTH = 64;
 
+	/** Server-Timing ヘッダーの出力有無 */
+	private final boolean serverTimingEnabled;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param serverTimingEnabled Server-Timing ヘッダーの出力有無
+	 */
+	public LogSettingFilter(boolean serverTimingEnabled) {
+		this.serverTimingEnabled = serverTimingEnabled;
 	}
 
 	/**
 	 * 診断コンテキストを設定します.
-	 * @param servletRequest
-	 * @param servletResponse
+	 * @param request
+	 * @param response
 	 * @param filterChain
 	 * @throws IOException
 	 * @throws ServletException
 	 */
 	@Override
-	public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
-			throws IOException, ServletException {
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
 
-		try {
-			// IPアドレスを設定
-			MDC.put(LogMessage.IP_ADDRESS_KEY, servletRequest.getRemoteAddr());
+		RequestContext context = new RequestContext(resolveRequestId(request));
+		request.setAttribute(RequestContext.ATTRIBUTE, context);
+		RequestContext.bind(context);
+		response.setHeader(REQUEST_ID_HEADER, context.getRequestId());
 
-			// ユーザーIDを設定
-			String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-			MDC.put(LogMessage.USER_ID_KEY, userId);
-			filterChain.doFilter(servletRequest, servletResponse);
+		ServerTimingResponse timingResponse = serverTimingEnabled ? new ServerTimingResponse(response, context) : null;
+		try {
+			// リクエストID・IPアドレス・ユーザーIDを設定
+			MDC.put(LogMessage.REQUEST_ID_KEY, context.getRequestId());
+			MDC.put(LogMessage.IP_ADDRESS_KEY, request.getRemoteAddr());
+			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+			if (authentication != null) {
+				MDC.put(LogMessage.USER_ID_KEY, authentication.getName());
+			}
+			filterChain.doFilter(request, (timingResponse != null) ? timingResponse : response);
 		} finally {
+			if (timingResponse != null) {
+				timingResponse.writeServerTiming();
+			}
+			if (request.isAsyncStarted()) {
+				// 非同期処理（ストリーミング出力）は完了時に出力する
+				request.getAsyncContext().addListener(new AccessLogListener(request, response, context));
+			} else {
+				logAccess(request, response, context);
+			}
 			// MDCからキーを削除
+			MDC.remove(LogMessage.REQUEST_ID_KEY);
 			MDC.remove(LogMessage.IP_ADDRESS_KEY);
 			MDC.remove(LogMessage.USER_ID_KEY);
+			RequestContext.bind(null);
 		}
 	}
 
-	@Override
-	public void destroy() {
+	/**
+	 * リクエストIDを決定
+	 * 上流（ロードバランサーなど）から X-Request-Id を受け取った場合は引き継ぐ（英数字・「-」「_」「.」のみ、64文字以内）
+	 *
+	 * @param request リクエスト
+	 * @return リクエストID
+	 */
+	private static String resolveRequestId(HttpServletRequest request) {
+		String header = request.getHeader(REQUEST_ID_HEADER);
+		if (header != null && !header.isEmpty() && header.length() <= MAX_REQUEST_ID_LENGTH) {
+			boolean valid = true;
+			for (int i = 0; i < header.length() && valid; i++) {
+				char c = header.charAt(i);
+				valid = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+						|| c == '-' || c == '_' || c == '.';
+			}
+			if (valid) {
+				return header;
+			}
+		}
+		// 64bit の乱数（16進16桁）。UUID（SecureRandom）より軽量で、ログの突き合わせには十分
+		String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		return "0".repeat(16 - hex.length()) + hex;
+	}
+
+	/**
+	 * アクセスログを出力（リクエストごとに1行）
+	 *
+	 * @param request リクエスト
+	 * @param response レスポンス
+	 * @param context リクエストのコンテキスト
+	 */
+	private static void logAccess(HttpServletRequest request, HttpServletResponse response, RequestContext context) {
+		if (!accessLogger.isInfoEnabled()) {
+			return;
+		}
+		long now = System.nanoTime();
+		long total = toMillis(context.totalNanos(now));
+		long security = toMillis(context.securityNanos(now));
+		long controller = toMillis(context.controllerNanos(now));
+		long view = toMillis(context.viewNanos(now));
+		long db = toMillis(context.dbNanos());
+		long queries = context.queries();
+		accessLogger.atInfo()
+				.setMessage(LogMessage.ACCESS_LOG)
+				.addArgument(request.getMethod())
+				.addArgument(request.getRequestURI())
+				.addArgument(response.getStatus())
+				.addArgument(total)
+				.addArgument(security)
+				.addArgument(controller)
+				.addArgument(view)
+				.addArgument(db)
+				.addArgument(queries)
+				.addKeyValue(LogMessage.REQUEST_ID_KEY, context.getRequestId())
+				.addKeyValue("method", request.getMethod())
+				.addKeyValue("uri", request.getRequestURI())
+				.addKeyValue("status", response.getStatus())
+				.addKeyValue("totalMs", total)
+				.addKeyValue("securityMs", security)
+				.addKeyValue("controllerMs", controller)
+				.addKeyValue("viewMs", view)
+				.addKeyValue("dbMs", db)
+				.addKeyValue("queries", queries)
+				.log();
+	}
+
+	/**
+	 * ナノ秒をミリ秒に変換（未計測の -1 はそのまま）
+	 *
+	 * @param nanos ナノ秒
+	 * @return ミリ秒
+	 */
+	private static long toMillis(long nanos) {
+		return (nanos < 0) ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	/**
+	 * 非同期処理の完了時にアクセスログを出力するリスナー
+	 */
+	private static final class AccessLogListener implements AsyncListener {
 
+		private final HttpServletRequest request;
+
+		private final HttpServletResponse response;
+
+		private final RequestContext context;
+
+		AccessLogListener(HttpServletRequest request, HttpServletResponse response, RequestContext context) {
+			this.request = request;
+			this.response = response;
+			this.context = context;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			MDC.put(LogMessage.REQUEST_ID_KEY, context.getRequestId());
+			try {
+				logAccess(request, response, context);
+			} finally {
+				MDC.remove(LogMessage.REQUEST_ID_KEY);
+			}
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+
+	/**
+	 * 応答の確定時に Server-Timing ヘッダーを設定するレスポンス
+	 */
+	private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+		private final RequestContext context;
+
+		/** ヘッダー設定済みフラグ */
+		private boolean written;
+
+		ServerTimingResponse(HttpServletResponse response, RequestContext context) {
+			super(response);
+			this.context = context;
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			writeServerTiming();
+		}
+
+		/**
+		 * Server-Timing ヘッダーを設定（応答が確定済みの場合・設定済みの場合は何もしない）
+		 */
+		void writeServerTiming() {
+			if (written || isCommitted()) {
+				return;
+			}
+			written = true;
+			long now = System.nanoTime();
+			StringBuilder sb = new StringBuilder(96);
+			appendMetric(sb, "security", context.securityNanos(now));
+			appendMetric(sb, "controller", context.controllerNanos(now));
+			appendMetric(sb, "db", context.dbNanos());
+			appendMetric(sb, "view", context.viewNanos(now));
+			appendMetric(sb, "total", context.totalNanos(now));
+			setHeader(SERVER_TIMING_HEADER, sb.toString());
+		}
+
+		/**
+		 * 1項目を追加（例: controller;dur=12.3）
+		 *
+		 * @param sb 出力先
+		 * @param name 項目名
+		 * @param nanos 処理時間（ナノ秒。負の場合は出力しない）
+		 */
+		private static void appendMetric(StringBuilder sb, String name, long nanos) {
+			if (nanos < 0) {
+				return;
+			}
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			long tenthMillis = nanos / 100_000;
+			sb.append(name).append(";dur=").append(tenthMillis / 10).append('.').append(tenthMillis % 10);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package com.digitalojt.web.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.digitalojt.web.consts.LogMessage;
+import com.digitalojt.web.util.QueryCounter;
+
+import jakarta.servlet.ServletRequest;
+
+/**
+ * リクエストごとの処理時間の内訳とリクエストID
+ *
+ * <pre>
+ * LogSettingFilter がリクエストの開始時に生成し、リクエスト属性と処理中のスレッドに保持する。
+ * 各区間の境界は以下で記録する。
+ * - フィルター（認証・認可を含む）: リクエスト開始 ～ コントローラー開始（RequestTracingInterceptor#preHandle）
+ * - コントローラー               : コントローラー開始 ～ コントローラー終了（RequestTracingInterceptor#postHandle）
+ * - 画面描画                     : コントローラー終了 ～ 処理完了（RequestTracingInterceptor#afterCompletion）
+ * - DB                           : 接続取得・SQL 実行・結果セット読み込みの時間の合計（DbTimingDataSource。コントローラーの内数）
+ * 区間の時刻は System.nanoTime()（0 は未到達）。
+ * 非同期処理では記録するスレッド（非同期処理のスレッド・コンテナのスレッド）と参照するスレッドが異なるため、
+ * 区間の時刻は volatile、DB の処理時間は AtomicLong で保持する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public final class RequestContext {
+
+	/** リクエスト属性名 */
+	public static final String ATTRIBUTE = RequestContext.class.getName();
+
+	/** 処理中のスレッドのコンテキスト */
+	private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+	/** リクエストID */
+	private final String requestId;
+
+	/** 開始時刻 */
+	private final long startNanos;
+
+	/** 開始時の SQL の件数 */
+	private final long startQueries;
+
+	/** コントローラー開始時刻 */
+	private volatile long handlerStartNanos;
+
+	/** コントローラー終了時刻 */
+	private volatile long handlerEndNanos;
+
+	/** 処理完了時刻 */
+	private volatile long completedNanos;
+
+	/** DB の処理時間（ナノ秒。非同期処理のスレッドからも加算する） */
+	private final AtomicLong dbNanos = new AtomicLong();
+
+	RequestContext(String requestId) {
+		this.requestId = requestId;
+		this.startNanos = System.nanoTime();
+		this.startQueries = QueryCounter.current();
+	}
+
+	/**
+	 * 処理中のスレッドのコンテキストを取得
+	 *
+	 * @return コンテキスト（リクエスト処理中でない場合は null）
+	 */
+	public static RequestContext current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * リクエストのコンテキストを取得
+	 *
+	 * @param request リクエスト
+	 * @return コンテキスト（LogSettingFilter を通っていない場合は null）
+	 */
+	public static RequestContext of(ServletRequest request) {
+		return (request.getAttribute(ATTRIBUTE) instanceof RequestContext context) ? context : null;
+	}
+
+	/**
+	 * 処理中のスレッドに設定
+	 * LogSettingFilter のほか、非同期処理へ引き継ぐ TaskDecorator（LogConfig）から呼び出す
+	 *
+	 * @param context コンテキスト（null の場合は解除）
+	 */
+	public static void bind(RequestContext context) {
+		if (context == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(context);
+		}
+	}
+
+	/**
+	 * コントローラーの開始を記録し、ログのユーザーIDを認証済みのユーザーに更新
+	 */
+	public void handlerStarted() {
+		if (handlerStartNanos == 0) {
+			handlerStartNanos = System.nanoTime();
+		}
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null) {
+			MDC.put(LogMessage.USER_ID_KEY, authentication.getName());
+		}
+	}
+
+	/**
+	 * コントローラーの終了を記録
+	 */
+	public void handlerEnded() {
+		handlerEndNanos = System.nanoTime();
+	}
+
+	/**
+	 * 処理完了を記録
+	 */
+	public void completed() {
+		completedNanos = System.nanoTime();
+	}
+
+	/**
+	 * DB の処理時間を加算
+	 *
+	 * @param nanos 処理時間（ナノ秒）
+	 */
+	public void addDbTime(long nanos) {
+		dbNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * リクエストIDを取得
+	 *
+	 * @return リクエストID
+	 */
+	public String getRequestId() {
+		return requestId;
+	}
+
+	/**
+	 * 開始からの経過時間
+	 *
+	 * @param now 現在時刻
+	 * @return 経過時間（ナノ秒）
+	 */
+	long totalNanos(long now) {
+		return now - startNanos;
+	}
+
+	/**
+	 * フィルター（認証・認可を含む）の処理時間
+	 * コントローラーに到達しなかった場合（ログイン画面へのリダイレクトなど）は全体の時間
+	 *
+	 * @param now 現在時刻
+	 * @return 処理時間（ナノ秒）
+	 */
+	long securityNanos(long now) {
+		return ((handlerStartNanos != 0) ? handlerStartNanos : now) - startNanos;
+	}
+
+	/**
+	 * コントローラーの処理時間
+	 *
+	 * @param now 現在時刻
+	 * @return 処理時間（ナノ秒。コントローラーに到達しなかった場合は -1）
+	 */
+	long controllerNanos(long now) {
+		if (handlerStartNanos == 0) {
+			return -1;
+		}
+		return ((handlerEndNanos != 0) ? handlerEndNanos : (completedNanos != 0) ? completedNanos : now)
+				- handlerStartNanos;
+	}
+
+	/**
+	 * 画面描画の処理時間
+	 *
+	 * @param now 現在時刻
+	 * @return 処理時間（ナノ秒。コントローラーが正常終了しなかった場合は -1）
+	 */
+	long viewNanos(long now) {
+		if (handlerEndNanos == 0) {
+			return -1;
+		}
+		return ((completedNanos != 0) ? completedNanos : now) - handlerEndNanos;
+	}
+
+	/**
+	 * DB の処理時間
+	 *
+	 * @return 処理時間（ナノ秒）
+	 */
+	long dbNanos() {
+		return dbNanos.get();
+	}
+
+	/**
+	 * このリクエストで Hibernate が発行した SQL の件数
+	 *
+	 * @return 件数
+	 */
+	long queries() {
+		return QueryCounter.current() - startQueries;
+	}
+}
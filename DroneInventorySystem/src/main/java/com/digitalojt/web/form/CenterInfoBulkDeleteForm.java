@@ -0,0 +1,48 @@
+package com.digitalojt.web.form;
+
+import java.util.List;
+
+import com.digitalojt.web.consts.ModelAttributeContents;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 在庫センター情報 一括削除のフォームクラス
+ * 
+ * @author dotlife
+ *
+ */
+@Data
+public class CenterInfoBulkDeleteForm {
+
+	/**
+	 * 削除対象（センターID・画面で取得したバージョン番号）
+	 */
+	@NotEmpty(message = "{bulk.items.size}")
+	@Size(max = ModelAttributeContents.MAX_BULK_ITEMS, message = "{bulk.items.size}")
+	private List<@Valid @NotNull Item> items;
+
+	/**
+	 * プレビュー（true の場合は削除せず、削除可否のみ返す）
+	 */
+	private boolean preview;
+
+	/**
+	 * 1件分の削除対象
+	 */
+	@Data
+	public static class Item {
+
+		/** センターID */
+		@NotNull(message = "{centerId.required}")
+		private Integer centerId;
+
+		/** バージョン番号（楽観ロック用） */
+		@NotNull(message = "{version.required}")
+		private Long version;
+	}
+}
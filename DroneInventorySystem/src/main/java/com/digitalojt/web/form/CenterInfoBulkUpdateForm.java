@@ -0,0 +1,68 @@
+package com.digitalojt.web.form;
+
+import java.util.List;
+
+import com.digitalojt.web.consts.ModelAttributeContents;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 在庫センター情報 一括更新のフォームクラス
+ * 
+ * @author dotlife
+ *
+ */
+@Data
+public class CenterInfoBulkUpdateForm {
+
+	/**
+	 * 更新対象（センターID・画面で取得したバージョン番号・変更内容）
+	 */
+	@NotEmpty(message = "{bulk.items.size}")
+	@Size(max = ModelAttributeContents.MAX_BULK_ITEMS, message = "{bulk.items.size}")
+	private List<@Valid @NotNull Item> items;
+
+	/**
+	 * 1件分の更新内容
+	 * 値が null の項目は変更しない
+	 */
+	@Data
+	public static class Item {
+
+		/** センターID */
+		@NotNull(message = "{centerId.required}")
+		private Integer centerId;
+
+		/** バージョン番号（楽観ロック用） */
+		@NotNull(message = "{version.required}")
+		private Long version;
+
+		/** 最大容量 */
+		@PositiveOrZero(message = "{maxStorageCapacity.positive}")
+		private Integer maxStorageCapacity;
+
+		/** 現在容量 */
+		@PositiveOrZero(message = "{currentStorageCapacity.positive}")
+		private Integer currentStorageCapacity;
+
+		/** 稼働状況ステータス (0:稼働中, 1:稼働停止) */
+		@Min(value = 0, message = "{operationalStatus.range}")
+		@Max(value = 1, message = "{operationalStatus.range}")
+		private Integer operationalStatus;
+
+		/** 管理者名 */
+		@Size(max = 40, message = "{managerName.length}")
+		private String managerName;
+
+		/** 備考 */
+		@Size(max = 200, message = "{notes.length}")
+		private String notes;
+	}
+}
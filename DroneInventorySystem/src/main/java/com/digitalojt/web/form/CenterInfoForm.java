@@ -5,6 +5,8 @@ import com.digitalojt.web.validation.CenterInfoFormValidator;
 import com.digitalojt.web.validation.ValidationGroups.Insert;
 import com.digitalojt.web.validation.ValidationGroups.Update;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -39,6 +41,20 @@ public class CenterInfoForm {
 	 */
 	private Integer storageCapacityTo;
 
+	/* ---------- 2026/10/18 追加：キーセットページング用 ---------- */
+
+	/**
+	 * 次ページ取得用カーソル（前回応答の nextCursor。先頭ページは未指定）
+	 */
+	private String cursor;
+
+	/**
+	 * 1ページあたりの取得件数（未指定の場合は既定件数）
+	 */
+	@Min(value = 1, message = "{pageSize.range}")
+	@Max(value = ModelAttributeContents.MAX_PAGE_SIZE, message = "{pageSize.range}")
+	private Integer pageSize;
+
 	/**
 	 * 容量(From)のデフォルト値を設定
 	 * @return
@@ -2,12 +2,15 @@ package com.digitalojt.web.form;
 
 import java.time.LocalDateTime;
 
+import org.springframework.data.domain.Sort;
+
 import com.digitalojt.web.validation.OperationLogFormValidator;
 
 import lombok.Data;
 
 /**
  * 操作履歴画面のフォームクラス
+ * 2026/10/18 機能追加: キーセットページング用に並び順・カーソル・表示件数を追加
  * 
  * @author dotlife
  *
@@ -41,5 +44,24 @@ public class OperationLogForm {
      */
     private LocalDateTime updateDate;
 
+    /**
+     * 並び順（操作時刻の昇順・降順、未指定時は画面ごとの既定値）
+     */
+    private Sort.Direction sortOrder;
+
+    /**
+     * 次ページ取得用カーソル（このカーソルの行より後ろを表示）
+     */
+    private String after;
+
+    /**
+     * 前ページ取得用カーソル（このカーソルの行より前を表示）
+     */
+    private String before;
+
+    /**
+     * 1ページの表示件数
+     */
+    private Integer pageSize;
 
 }
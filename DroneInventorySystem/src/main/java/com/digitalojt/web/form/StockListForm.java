@@ -0,0 +1,47 @@
+package com.digitalojt.web.form;
+
+import com.digitalojt.web.consts.Category;
+import com.digitalojt.web.consts.ModelAttributeContents;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 在庫一覧画面のフォームクラス
+ * 
+ * @author dotlife
+ *
+ */
+@Data
+public class StockListForm {
+
+	/**
+	 * 分類（未指定の場合は条件なし）
+	 */
+	private Category category;
+
+	/**
+	 * 保管場所のセンターID（未指定の場合は条件なし）
+	 */
+	private Integer centerId;
+
+	/**
+	 * 在庫名（部分一致）
+	 */
+	@Size(max = ModelAttributeContents.MAX_STOCK_NAME_LENGTH, message = "{stockName.length.wrongInput}")
+	private String name;
+
+	/**
+	 * 次ページ取得用カーソル（前回応答の nextCursor。先頭ページは未指定）
+	 */
+	private String cursor;
+
+	/**
+	 * 1ページあたりの取得件数（未指定の場合は既定件数）
+	 */
+	@Min(value = 1, message = "{pageSize.range}")
+	@Max(value = ModelAttributeContents.MAX_PAGE_SIZE, message = "{pageSize.range}")
+	private Integer pageSize;
+}
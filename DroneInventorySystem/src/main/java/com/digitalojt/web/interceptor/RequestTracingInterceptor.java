@@ -0,0 +1,185 @@
+package com.digitalojt.web.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.ModelAndView;
+
+import com.digitalojt.web.consts.LogMessage;
+import com.digitalojt.web.filter.RequestContext;
+import com.digitalojt.web.util.QueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter.MeterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * コントローラーの処理開始・終了を記録するインターセプター
+ *
+ * <pre>
+ * 処理対象の関数名は HandlerMethod から取得し、スタックの走査は行わない。
+ * - 開始時にアプリケーションログ（開始）を出力し、開始時刻（ナノ秒）をリクエスト属性に保持する
+ * - 完了時にアプリケーションログ（終了）を処理時間・ステータスとともに出力する
+ * - コントローラーの開始・終了、処理完了を RequestContext に記録する（アクセスログ・Server-Timing の内訳。2026/10/18 機能追加）
+ * - 処理時間はエンドポイント（コントローラー・関数）ごとに Micrometer（controller.requests）へ記録する
+ * - Hibernate が発行した SQL の件数をエンドポイントごとに記録する（controller.queries）
+ * ログはプレースホルダ形式で、出力レベルが無効な場合は文字列を組み立てない。
+ * 非同期処理（ストリーミング出力）の再ディスパッチでは開始を重複して記録せず、最初の開始時刻から計測する。
+ * （SQL の件数はスレッドごとに数えるため、非同期処理に切り替わったリクエストでは記録しない）
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class RequestTracingInterceptor implements AsyncHandlerInterceptor {
+
+	/** アプリケーションログ */
+	private static final Logger appLogger = LoggerFactory.getLogger("com.digitalojt.web.app");
+
+	/** メトリクス名（処理時間） */
+	public static final String METRIC_NAME = "controller.requests";
+
+	/** メトリクス名（SQL の件数） */
+	public static final String QUERIES_METRIC_NAME = "controller.queries";
+
+	/** 開始時刻（ナノ秒）を保持するリクエスト属性 */
+	private static final String START_ATTRIBUTE = RequestTracingInterceptor.class.getName() + ".START";
+
+	/** 開始時の SQL の件数を保持するリクエスト属性 */
+	private static final String QUERIES_ATTRIBUTE = RequestTracingInterceptor.class.getName() + ".QUERIES";
+
+	/** 例外なしを表すタグの値 */
+	private static final String NO_EXCEPTION = "none";
+
+	/** メトリクス */
+	private final MeterRegistry meterRegistry;
+
+	/** 関数ごとのメトリクス（controller・method タグを設定済み） */
+	private final Map<Method, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param meterRegistry メトリクス
+	 */
+	public RequestTracingInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * 処理開始を記録
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(START_ATTRIBUTE) != null) {
+			return true;
+		}
+		request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+		request.setAttribute(QUERIES_ATTRIBUTE, QueryCounter.current());
+		RequestContext context = RequestContext.of(request);
+		if (context != null) {
+			context.handlerStarted();
+		}
+		if (appLogger.isInfoEnabled()) {
+			appLogger.info(LogMessage.APP_LOG, request.getMethod(), handlerMethod.getMethod().getName(),
+					LogMessage.PROCESS_START);
+		}
+		return true;
+	}
+
+	/**
+	 * コントローラーの終了を記録（以降は画面描画）
+	 */
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+		RequestContext context = RequestContext.of(request);
+		if (context != null) {
+			context.handlerEnded();
+		}
+	}
+
+	/**
+	 * 処理終了を記録
+	 */
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		RequestContext context = RequestContext.of(request);
+		if (context != null) {
+			context.completed();
+		}
+		if (!(handler instanceof HandlerMethod handlerMethod)
+				|| !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+			return;
+		}
+		long elapsed = System.nanoTime() - start;
+		int status = response.getStatus();
+		Throwable error = (ex != null) ? ex : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+
+		HandlerMeters handlerMeters = meters.computeIfAbsent(handlerMethod.getMethod(),
+				method -> newHandlerMeters(handlerMethod.getBeanType().getSimpleName(), method.getName()));
+		handlerMeters.timer()
+				.withTags("http.method", request.getMethod(),
+						"status", Integer.toString(status),
+						"exception", (error != null) ? error.getClass().getSimpleName() : NO_EXCEPTION)
+				.record(elapsed, TimeUnit.NANOSECONDS);
+		if (request.getAttribute(QUERIES_ATTRIBUTE) instanceof Long queries) {
+			handlerMeters.queries().record(QueryCounter.current() - queries);
+		}
+
+		if (appLogger.isInfoEnabled()) {
+			appLogger.info(LogMessage.APP_END_LOG, request.getMethod(), handlerMethod.getMethod().getName(),
+					LogMessage.PROCESS_END, TimeUnit.NANOSECONDS.toMillis(elapsed), status);
+		}
+	}
+
+	/**
+	 * 非同期処理への切り替え
+	 * 以降の処理は別スレッドで行われるため、SQL の件数は記録しない
+	 */
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+			Object handler) {
+		request.removeAttribute(QUERIES_ATTRIBUTE);
+	}
+
+	/**
+	 * 関数ごとのメトリクス
+	 *
+	 * @param timer 処理時間（http.method・status・exception タグは記録時に設定）
+	 * @param queries SQL の件数
+	 */
+	private record HandlerMeters(MeterProvider<Timer> timer, DistributionSummary queries) {
+	}
+
+	/**
+	 * 関数ごとのメトリクスを生成
+	 *
+	 * @param controller コントローラー名
+	 * @param method 関数名
+	 * @return メトリクス
+	 */
+	private HandlerMeters newHandlerMeters(String controller, String method) {
+		return new HandlerMeters(
+				Timer.builder(METRIC_NAME)
+						.description("コントローラーの処理時間")
+						.tag("controller", controller)
+						.tag("method", method)
+						.withRegistry(meterRegistry),
+				DistributionSummary.builder(QUERIES_METRIC_NAME)
+						.description("リクエストごとに Hibernate が発行した SQL の件数")
+						.tag("controller", controller)
+						.tag("method", method)
+						.register(meterRegistry));
+	}
+}
@@ -2,13 +2,19 @@ package com.digitalojt.web.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.digitalojt.web.entity.CenterInfo;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * センター情報テーブルリポジトリー
  *
@@ -24,25 +30,87 @@ public interface CenterInfoRepository extends JpaRepository<CenterInfo, Integer>
 	 * 2025/05/23 不具合修正 住所ではなく都道府県名で検索するように修正
 	 * 2025/05/23 不具合修正 LIKEの前後に%を配置し、部分一致検索を正確に行う
 	 * 2025/05/26 不具合修正 パラメータが空の場合はWHERE条件に含めないように修正
+	 * 2026/10/18 性能改善 住所の LIKE 検索をやめ、都道府県コードの一致で検索するように修正
 	 * 
 	 * @param centerName センター名（部分一致検索）
-	 * @param region 都道府県名（部分一致検索）
+	 * @param regionCode 都道府県コード（null の場合は条件なし）
 	 * @param storageCapacityFrom 容量範囲（最小）
 	 * @param storageCapacityTo 容量範囲（最大）
 	 * @return paramで検索した結果
 	 */
 	@Query("SELECT s FROM CenterInfo s WHERE " +
 			"(:centerName IS NULL OR :centerName = '' OR UPPER(s.centerName) LIKE CONCAT('%', UPPER(:centerName), '%')) AND " +
-			"(:region IS NULL OR :region = '' OR s.address LIKE CONCAT('%', :region, '%')) AND " +
+			"(:regionCode IS NULL OR s.regionCode = :regionCode) AND " +
 			"(s.currentStorageCapacity >= :storageCapacityFrom) AND " +
 			"(s.currentStorageCapacity <= :storageCapacityTo) AND " +
 			"(s.operationalStatus = 0)")
 	List<CenterInfo> findActiveCenters(
 			@Param("centerName") String centerName,
-			@Param("region") String region,
+			@Param("regionCode") Integer regionCode,
 			@Param("storageCapacityFrom") Integer storageCapacityFrom,
 			@Param("storageCapacityTo") Integer storageCapacityTo);
 	
+	/**
+	 * 引数に合致する在庫センター情報をキーセット方式で1ページ分取得
+	 * 2026/10/18 機能追加 全件返却をやめ、center_id をキーにしたシーク方式のページングを追加
+	 * 
+	 * <pre>
+	 * OFFSET を使わず center_id &gt; 前ページ最終ID で主キー索引を範囲走査するため、
+	 * 何ページ目でも応答時間が一定になる。
+	 * 戻り値を List にしているため COUNT クエリは発行されない。
+	 * 2026/10/18 性能改善 住所の LIKE 検索をやめ、都道府県コードの一致で検索するように修正
+	 * </pre>
+	 * 
+	 * @param centerName センター名（部分一致検索）
+	 * @param regionCode 都道府県コード（null の場合は条件なし）
+	 * @param storageCapacityFrom 容量範囲（最小）
+	 * @param storageCapacityTo 容量範囲（最大）
+	 * @param lastCenterId 前ページ最終行のセンターID（先頭ページは 0）
+	 * @param pageable 取得件数（先頭から pageSize + 1 件）
+	 * @return center_id 昇順の検索結果
+	 */
+	@Query("SELECT s FROM CenterInfo s WHERE " +
+			"(s.centerId > :lastCenterId) AND " +
+			"(:centerName IS NULL OR :centerName = '' OR UPPER(s.centerName) LIKE CONCAT('%', UPPER(:centerName), '%')) AND " +
+			"(:regionCode IS NULL OR s.regionCode = :regionCode) AND " +
+			"(s.currentStorageCapacity >= :storageCapacityFrom) AND " +
+			"(s.currentStorageCapacity <= :storageCapacityTo) AND " +
+			"(s.operationalStatus = 0) " +
+			"ORDER BY s.centerId ASC")
+	List<CenterInfo> findActiveCentersAfter(
+			@Param("centerName") String centerName,
+			@Param("regionCode") Integer regionCode,
+			@Param("storageCapacityFrom") Integer storageCapacityFrom,
+			@Param("storageCapacityTo") Integer storageCapacityTo,
+			@Param("lastCenterId") int lastCenterId,
+			Pageable pageable);
+	
+	/**
+	 * 全在庫センター情報を前方向カーソルで逐次取得（エクスポート用）
+	 * 2026/10/18 機能追加
+	 * 
+	 * <pre>
+	 * 結果を List に展開せず、フェッチサイズ単位でDBから読み進める。
+	 * 読み取り専用トランザクション内で呼び出し、使用後は必ず close すること。
+	 * </pre>
+	 * 
+	 * @return center_id 昇順のストリーム
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+	@Query("SELECT s FROM CenterInfo s ORDER BY s.centerId ASC")
+	Stream<CenterInfo> streamAll();
+	
+	/**
+	 * 稼働状況ステータスに合致する在庫センター情報を取得（インメモリ索引の構築用）
+	 * 
+	 * @param operationalStatus 稼働状況ステータス
+	 * @return 在庫センター情報のリスト
+	 */
+	List<CenterInfo> findByOperationalStatus(Integer operationalStatus);
+	
 	/** ID と version が一致するレコードを取得 */
 	Optional<CenterInfo> findByCenterIdAndVersion(int centerId, long version);
 
@@ -3,6 +3,7 @@ package com.digitalojt.web.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,43 +21,76 @@ import com.digitalojt.web.entity.OperationLog;
 public interface OperationLogRepository extends JpaRepository<OperationLog, Integer> {
 
 	/**
-	 * 検索条件：管理者名・操作・ステータス・操作時刻に基づき、操作履歴情報を取得（昇順）
-	 * 
+	 * 検索条件：管理者名・操作・ステータス・操作時刻に基づき、
+	 * 指定したキー（操作時刻, ログID）より後ろの操作履歴情報を昇順で取得
+	 * 2026/10/18 性能改善: 全件取得をやめ、(create_date, log_id) のキーセットページングに変更
+	 *
+	 * <pre>
+	 * 件数は pageable の取得件数で制限する（COUNT クエリは発行しない）。
+	 * 管理者情報は多対一のため、JOIN FETCH しても LIMIT は SQL 側で適用される。
+	 * </pre>
+	 *
 	 * @param userId 管理者名（部分一致）
 	 * @param operateType 操作の種類
 	 * @param status 操作ステータス
 	 * @param createDate 操作時刻 開始日
 	 * @param updateDate 操作時刻 終了日
-	 * @return 条件に一致する操作履歴情報のリスト
+	 * @param lastDate 前ページ境界行の操作時刻（先頭ページは null）
+	 * @param lastId 前ページ境界行のログID
+	 * @param pageable 取得件数
+	 * @return 条件に一致する操作履歴情報のリスト（操作時刻・ログIDの昇順）
 	 */
 	@Query("SELECT o FROM OperationLog o JOIN FETCH o.adminInfo "
 		     + "WHERE (:userId IS NULL OR o.adminInfo.adminName LIKE %:userId%) "
 		     + "AND (:operateType IS NULL OR o.operateType = :operateType) "
 		     + "AND (:status IS NULL OR o.status = :status) "
-		     + "AND ((:createDate IS NULL OR :updateDate IS NULL) OR o.createDate BETWEEN :createDate AND :updateDate)"
-		     + "ORDER BY o.createDate ASC")
-	List<OperationLog> findOperationLogs(
+		     + "AND ((:createDate IS NULL OR :updateDate IS NULL) OR o.createDate BETWEEN :createDate AND :updateDate) "
+		     + "AND (:lastDate IS NULL OR o.createDate > :lastDate "
+		     + "     OR (o.createDate = :lastDate AND o.logId > :lastId)) "
+		     + "ORDER BY o.createDate ASC, o.logId ASC")
+	List<OperationLog> findOperationLogsAfter(
 			@Param("userId") String userId,
 			@Param("operateType") Integer operateType,
 		    @Param("status") Integer status,
 		    @Param("createDate") LocalDateTime createDate,
-		    @Param("updateDate") LocalDateTime updateDate
+		    @Param("updateDate") LocalDateTime updateDate,
+		    @Param("lastDate") LocalDateTime lastDate,
+		    @Param("lastId") int lastId,
+		    Pageable pageable
 		    );
-	
-	
+
 	/**
-	 * 初期表示用：直近1ヶ月分の操作履歴情報を取得（降順）
+	 * 検索条件：管理者名・操作・ステータス・操作時刻に基づき、
+	 * 指定したキー（操作時刻, ログID）より前の操作履歴情報を降順で取得
+	 * 2026/10/18 性能改善: 全件取得をやめ、(create_date, log_id) のキーセットページングに変更
 	 *
-	 * @param createDate 1ヶ月前の日付（開始）
-	 * @param updateDate 現在日時（終了）
-	 * @return 操作履歴情報リスト
+	 * @param userId 管理者名（部分一致）
+	 * @param operateType 操作の種類
+	 * @param status 操作ステータス
+	 * @param createDate 操作時刻 開始日
+	 * @param updateDate 操作時刻 終了日
+	 * @param lastDate 前ページ境界行の操作時刻（先頭ページは null）
+	 * @param lastId 前ページ境界行のログID
+	 * @param pageable 取得件数
+	 * @return 条件に一致する操作履歴情報のリスト（操作時刻・ログIDの降順）
 	 */
-	@Query("SELECT o FROM OperationLog o JOIN FETCH o.adminInfo a "
-	     + "WHERE o.createDate BETWEEN :createDate AND :updateDate "
-	     + "ORDER BY o.createDate DESC")
-	List<OperationLog> findOperationLogsForOneMonth(
-	    @Param("createDate") LocalDateTime createDate,
-	    @Param("updateDate") LocalDateTime updateDate
-	);
+	@Query("SELECT o FROM OperationLog o JOIN FETCH o.adminInfo "
+		     + "WHERE (:userId IS NULL OR o.adminInfo.adminName LIKE %:userId%) "
+		     + "AND (:operateType IS NULL OR o.operateType = :operateType) "
+		     + "AND (:status IS NULL OR o.status = :status) "
+		     + "AND ((:createDate IS NULL OR :updateDate IS NULL) OR o.createDate BETWEEN :createDate AND :updateDate) "
+		     + "AND (:lastDate IS NULL OR o.createDate < :lastDate "
+		     + "     OR (o.createDate = :lastDate AND o.logId < :lastId)) "
+		     + "ORDER BY o.createDate DESC, o.logId DESC")
+	List<OperationLog> findOperationLogsBefore(
+			@Param("userId") String userId,
+			@Param("operateType") Integer operateType,
+		    @Param("status") Integer status,
+		    @Param("createDate") LocalDateTime createDate,
+		    @Param("updateDate") LocalDateTime updateDate,
+		    @Param("lastDate") LocalDateTime lastDate,
+		    @Param("lastId") int lastId,
+		    Pageable pageable
+		    );
 
 }
@@ -1,7 +1,14 @@
 package com.digitalojt.web.repository;
 
 import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.digitalojt.web.consts.DeleteFlagConsts;
+import com.digitalojt.web.dto.StockView;
 import com.digitalojt.web.entity.Stock;
 
 /**
@@ -19,9 +26,50 @@ public interface StockRepository extends JpaRepository<Stock, Integer> {
     List<Stock> findByCenterId(Integer centerId);
 
     /**
-     * 指定したセンターIDに紐づく在庫データの件数を取得
+     * 指定したセンターIDに紐づく在庫データが存在するか
+     * 2026/10/18 性能改善: 件数取得（countByCenterId）から存在確認に変更
+     * 
+     * <pre>
+     * LIMIT 1 で発行されるため、センター・削除フラグの索引を1行読んだ時点で終了し、在庫件数に依存しない。
+     * </pre>
+     * 
      * @param centerId センターID
-     * @return 件数
+     * @return 1件以上存在する場合 true
+     */
+    boolean existsByCenterId(Integer centerId);
+
+    /**
+     * 引数に合致する未削除の在庫情報をキーセット方式で1ページ分取得（在庫一覧画面用）
+     * 2026/10/18 機能追加
+     * 
+     * <pre>
+     * OFFSET を使わず stock_id &gt; 前ページ最終ID で読み進めるため、何ページ目でも応答時間が一定になる。
+     * センター・分類を指定した場合は (center_id, category_id, delete_flag) の索引を
+     * stock_id 順に範囲走査し、pageSize + 1 件を読んだ時点で打ち切る。
+     * エンティティではなく表示用DTOを直接生成し、保管場所（センター名）は同じSQLで結合して取得する。
+     * 戻り値を List にしているため COUNT クエリは発行されない。
+     * </pre>
+     * 
+     * @param centerId センターID（null の場合は条件なし）
+     * @param categoryId 分類ID（null の場合は条件なし）
+     * @param name 在庫名（部分一致検索、空文字の場合は条件なし）
+     * @param lastStockId 前ページ最終行の在庫ID（先頭ページは 0）
+     * @param pageable 取得件数（先頭から pageSize + 1 件）
+     * @return stock_id 昇順の検索結果
      */
-    long countByCenterId(Integer centerId);
+    @Query("SELECT new com.digitalojt.web.dto.StockView("
+            + "s.stockId, s.categoryId, s.name, s.centerId, c.centerName, s.description, s.amount) "
+            + "FROM Stock s LEFT JOIN CenterInfo c ON c.centerId = s.centerId "
+            + "WHERE (s.stockId > :lastStockId) "
+            + "AND (:centerId IS NULL OR s.centerId = :centerId) "
+            + "AND (:categoryId IS NULL OR s.categoryId = :categoryId) "
+            + "AND (s.deleteFlag = " + DeleteFlagConsts.ACTIVE + ") "
+            + "AND (:name = '' OR s.name LIKE CONCAT('%', :name, '%')) "
+            + "ORDER BY s.stockId ASC")
+    List<StockView> findActiveStocksAfter(
+            @Param("centerId") Integer centerId,
+            @Param("categoryId") Integer categoryId,
+            @Param("name") String name,
+            @Param("lastStockId") int lastStockId,
+            Pageable pageable);
 }
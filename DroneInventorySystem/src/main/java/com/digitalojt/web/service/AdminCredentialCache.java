@@ -0,0 +1,132 @@
+package com.digitalojt.web.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 管理者の認証情報キャッシュ
+ *
+ * <pre>
+ * ログインのたびに admin_info を主キー検索しないよう、管理者IDとパスワードハッシュを保持する。
+ * - 件数上限と有効期限（TTL）を持つ。アプリ外（SQL 直接実行など）の変更は TTL 経過後に反映される
+ * - 管理者情報の登録・更新・削除のコミット後に、該当する管理者のキーを破棄する（AdminInfoCacheListener）
+ * - 存在しない管理者IDは保持しない
+ * - UserDetails はログイン後に資格情報が消去されるため保持せず、取得のたびに生成する
+ * - ヒット・ミス件数は Micrometer（cache.gets）で参照できる
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class AdminCredentialCache {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(AdminCredentialCache.class);
+
+	/** メトリクス上のキャッシュ名 */
+	private static final String CACHE_NAME = "adminCredential";
+
+	/** キャッシュ有効フラグ */
+	private final boolean enabled;
+
+	/** 管理者ID → 認証情報 */
+	private final Cache<String, Credential> cache;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled キャッシュ有効フラグ
+	 * @param maximumSize 最大件数
+	 * @param ttl 有効期限
+	 * @param meterRegistry メトリクス登録先
+	 */
+	public AdminCredentialCache(
+			@Value("${app.security.admin-cache.enabled:true}") boolean enabled,
+			@Value("${app.security.admin-cache.maximum-size:1000}") long maximumSize,
+			@Value("${app.security.admin-cache.ttl:5m}") Duration ttl,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		logger.info("認証情報キャッシュ設定: enabled={}, maximumSize={}, ttl={}", enabled, maximumSize, ttl);
+	}
+
+	/**
+	 * キャッシュから認証情報を取得し、存在しない場合は読み込んで格納する
+	 *
+	 * @param adminId 管理者ID
+	 * @param loader DB検索処理
+	 * @return 認証情報（管理者が存在しない場合は空）
+	 */
+	public Optional<Credential> get(String adminId, Function<String, Optional<Credential>> loader) {
+		if (!enabled) {
+			return loader.apply(adminId);
+		}
+		Credential cached = cache.getIfPresent(adminId);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		Optional<Credential> loaded = loader.apply(adminId);
+		loaded.ifPresent(credential -> cache.put(adminId, credential));
+		return loaded;
+	}
+
+	/**
+	 * コミット後に、管理者の認証情報を破棄する
+	 * トランザクション外で呼ばれた場合は即時に破棄する
+	 *
+	 * @param adminId 管理者ID
+	 */
+	public void invalidateAfterCommit(String adminId) {
+		if (!enabled || adminId == null) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate(adminId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidate(adminId);
+			}
+		});
+	}
+
+	/**
+	 * 管理者の認証情報を破棄
+	 *
+	 * @param adminId 管理者ID
+	 */
+	private void invalidate(String adminId) {
+		cache.invalidate(adminId);
+		logger.debug("認証情報キャッシュを破棄: {}", adminId);
+	}
+
+	/**
+	 * 認証情報
+	 *
+	 * @param adminId 管理者ID
+	 * @param password パスワード（ハッシュ）
+	 */
+	public record Credential(String adminId, String password) {
+	}
+}
@@ -0,0 +1,42 @@
+package com.digitalojt.web.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.digitalojt.web.entity.AdminInfo;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * 管理者情報エンティティのライフサイクルイベントを受け、認証情報キャッシュを破棄するリスナー
+ * （Hibernate が Spring のBeanとして生成する）
+ *
+ * @author dotlife
+ */
+public class AdminInfoCacheListener {
+
+	/** 認証情報キャッシュ（EntityManagerFactory 初期化時の循環参照を避けるため遅延取得） */
+	private final ObjectProvider<AdminCredentialCache> cache;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param cache 認証情報キャッシュ
+	 */
+	public AdminInfoCacheListener(ObjectProvider<AdminCredentialCache> cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * 登録・更新・削除後（コミット後にキャッシュを破棄）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void afterChange(AdminInfo entity) {
+		cache.ifAvailable(c -> c.invalidateAfterCommit(entity.getAdminId()));
+	}
+}
@@ -0,0 +1,445 @@
+package com.digitalojt.web.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.digitalojt.web.consts.BulkRowStatus;
+import com.digitalojt.web.consts.OperationType;
+import com.digitalojt.web.consts.ScreenTitle;
+import com.digitalojt.web.dto.BulkResultDto;
+import com.digitalojt.web.dto.BulkResultDto.RowResult;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.form.CenterInfoBulkDeleteForm;
+import com.digitalojt.web.form.CenterInfoBulkUpdateForm;
+import com.digitalojt.web.repository.CenterInfoRepository;
+
+/**
+ * 在庫センター情報 一括更新・一括削除のサービスクラス
+ *
+ * <pre>
+ * 1リクエスト分を1トランザクションで処理し、1件ずつの UPDATE / DELETE ではなく
+ * batch-size 件ごとに集合指定の SQL を1回発行する。
+ * 1. 対象行を SELECT ... FOR UPDATE でロックし、存在・バージョン番号・容量の整合性を判定
+ * 2. 判定を通った行を「センターID + バージョン番号」の派生表と結合した UPDATE / DELETE で処理
+ *    （WHERE 句にバージョン番号を含めるため、楽観ロックの条件は単票の更新・削除と同じ）
+ * 排他エラー・対象なし・在庫あり等の行はリクエスト全体をエラーにせず、行ごとの結果として返す。
+ * JPA を経由しないため、エンティティリスナー相当の処理（インメモリ索引への反映）はこのクラスで行う。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Service
+public class CenterInfoBulkService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(CenterInfoBulkService.class);
+
+	/** 操作履歴に記録するセンターIDの最大件数 */
+	private static final int MAX_LOGGED_IDS = 20;
+
+	/** JDBCテンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** センター情報 リポジトリ */
+	private final CenterInfoRepository repository;
+
+	/** 検索結果キャッシュ */
+	private final CenterInfoSearchCache searchCache;
+
+	/** 稼働中センターのインメモリ索引 */
+	private final CenterInfoIndex centerInfoIndex;
+
+	/** 在庫有無ビットマップ */
+	private final StockPresenceIndex stockPresenceIndex;
+
+	/** 操作履歴の記録 */
+	private final OperationLogRecorder operationLogRecorder;
+
+	/** 1回の SQL で処理する件数 */
+	private final int batchSize;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param jdbcTemplate JDBCテンプレート
+	 * @param repository センター情報リポジトリ
+	 * @param searchCache 検索結果キャッシュ
+	 * @param centerInfoIndex 稼働中センターのインメモリ索引
+	 * @param stockPresenceIndex 在庫有無ビットマップ
+	 * @param operationLogRecorder 操作履歴の記録
+	 * @param batchSize 1回の SQL で処理する件数
+	 */
+	public CenterInfoBulkService(JdbcTemplate jdbcTemplate,
+			CenterInfoRepository repository,
+			CenterInfoSearchCache searchCache,
+			CenterInfoIndex centerInfoIndex,
+			StockPresenceIndex stockPresenceIndex,
+			OperationLogRecorder operationLogRecorder,
+			@Value("${app.center-info.bulk.batch-size:${spring.jpa.properties.hibernate.jdbc.batch_size:500}}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.repository = repository;
+		this.searchCache = searchCache;
+		this.centerInfoIndex = centerInfoIndex;
+		this.stockPresenceIndex = stockPresenceIndex;
+		this.operationLogRecorder = operationLogRecorder;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * 在庫センター情報を一括更新する
+	 *
+	 * <pre>
+	 * 値が null の項目は変更しない。変更後の現在容量が最大容量を超える行は入力エラーとする。
+	 * 同じセンターIDが複数回指定された場合、2件目以降は重複エラーとする。
+	 * </pre>
+	 *
+	 * @param form 更新対象
+	 * @return 行ごとの処理結果（リクエストの並び順）
+	 */
+	@Transactional
+	public BulkResultDto bulkUpdate(CenterInfoBulkUpdateForm form) {
+		List<CenterInfoBulkUpdateForm.Item> items = form.getItems();
+		logger.info("一括更新開始: {}件", items.size());
+		long start = System.nanoTime();
+
+		RowResult[] results = new RowResult[items.size()];
+		Set<Integer> seen = new HashSet<>();
+		List<Integer> updatedIds = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+
+		for (int from = 0; from < items.size(); from += batchSize) {
+			int to = Math.min(from + batchSize, items.size());
+			Map<Integer, LockedRow> locked = lock(items.subList(from, to).stream()
+					.map(CenterInfoBulkUpdateForm.Item::getCenterId).toList(), true);
+
+			List<Integer> targets = new ArrayList<>();
+			for (int i = from; i < to; i++) {
+				CenterInfoBulkUpdateForm.Item item = items.get(i);
+				BulkRowStatus status = classify(item.getCenterId(), item.getVersion(), seen, locked);
+				if (status == null) {
+					LockedRow row = locked.get(item.getCenterId());
+					int max = (item.getMaxStorageCapacity() != null) ? item.getMaxStorageCapacity() : row.maxStorageCapacity();
+					int current = (item.getCurrentStorageCapacity() != null) ? item.getCurrentStorageCapacity() : row.currentStorageCapacity();
+					if (current > max) {
+						results[i] = new RowResult(item.getCenterId(), BulkRowStatus.INVALID,
+								"現在容量は最大容量以下である必要があります。", item.getVersion());
+						continue;
+					}
+					targets.add(i);
+				} else {
+					results[i] = new RowResult(item.getCenterId(), status, status.getMessage(), item.getVersion());
+				}
+			}
+			if (targets.isEmpty()) {
+				continue;
+			}
+
+			// 集合指定の UPDATE（行ロック済みのため、ここでの排他エラーは発生しない）
+			updateAll(items, targets, now);
+			for (int i : targets) {
+				CenterInfoBulkUpdateForm.Item item = items.get(i);
+				results[i] = new RowResult(item.getCenterId(), BulkRowStatus.UPDATED,
+						BulkRowStatus.UPDATED.getMessage(), item.getVersion() + 1);
+				updatedIds.add(item.getCenterId());
+			}
+		}
+
+		if (!updatedIds.isEmpty()) {
+			// 稼働状況・容量の変更をコミット後に索引へ反映（更新後の行を読み直す）
+			for (CenterInfo entity : repository.findAllById(updatedIds)) {
+				centerInfoIndex.applyAfterCommit(entity, false);
+			}
+			searchCache.invalidateAllAfterCommit();
+			operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.UPDATE,
+					"一括更新: " + updatedIds.size() + "件, " + describeIds(updatedIds));
+		}
+
+		BulkResultDto result = toResult(results);
+		logger.info("一括更新完了: 更新={}件, エラー={}件, {}ms",
+				result.getSuccessCount(), result.getFailureCount(), (System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	/**
+	 * 在庫センター情報を一括削除する
+	 *
+	 * <pre>
+	 * 在庫が存在するセンターは削除しない（単票の削除と同じ）。
+	 * プレビューの場合は行ロック・削除を行わず、削除可否のみを返す。
+	 * 在庫有無はビットマップで判定し、ビットが立っていないセンターのみ DB の在庫情報を1回の SQL で確認する
+	 * （プレビューでビットマップがロード済みの場合は DB を確認しない）。
+	 * </pre>
+	 *
+	 * @param form 削除対象
+	 * @return 行ごとの処理結果（リクエストの並び順）
+	 */
+	@Transactional
+	public BulkResultDto bulkDelete(CenterInfoBulkDeleteForm form) {
+		List<CenterInfoBulkDeleteForm.Item> items = form.getItems();
+		boolean preview = form.isPreview();
+		logger.info("一括削除開始: {}件, preview={}", items.size(), preview);
+		long start = System.nanoTime();
+
+		RowResult[] results = new RowResult[items.size()];
+		Set<Integer> seen = new HashSet<>();
+		List<Integer> deletedIds = new ArrayList<>();
+		BulkRowStatus success = preview ? BulkRowStatus.DELETABLE : BulkRowStatus.DELETED;
+
+		for (int from = 0; from < items.size(); from += batchSize) {
+			int to = Math.min(from + batchSize, items.size());
+			Map<Integer, LockedRow> locked = lock(items.subList(from, to).stream()
+					.map(CenterInfoBulkDeleteForm.Item::getCenterId).toList(), !preview);
+
+			List<Integer> candidates = new ArrayList<>();
+			for (int i = from; i < to; i++) {
+				CenterInfoBulkDeleteForm.Item item = items.get(i);
+				BulkRowStatus status = classify(item.getCenterId(), item.getVersion(), seen, locked);
+				if (status == null) {
+					candidates.add(i);
+				} else {
+					results[i] = new RowResult(item.getCenterId(), status, status.getMessage(), item.getVersion());
+				}
+			}
+			if (candidates.isEmpty()) {
+				continue;
+			}
+
+			Set<Integer> withStock = findWithStock(
+					candidates.stream().map(i -> items.get(i).getCenterId()).toList(), preview);
+			List<Integer> targets = new ArrayList<>();
+			for (int i : candidates) {
+				CenterInfoBulkDeleteForm.Item item = items.get(i);
+				BulkRowStatus status = withStock.contains(item.getCenterId()) ? BulkRowStatus.HAS_STOCK : success;
+				results[i] = new RowResult(item.getCenterId(), status, status.getMessage(), item.getVersion());
+				if (status == BulkRowStatus.DELETED) {
+					targets.add(i);
+				}
+			}
+			if (!targets.isEmpty()) {
+				deleteAll(items, targets);
+				targets.forEach(i -> deletedIds.add(items.get(i).getCenterId()));
+			}
+		}
+
+		if (!deletedIds.isEmpty()) {
+			for (Integer centerId : deletedIds) {
+				CenterInfo removed = new CenterInfo();
+				removed.setCenterId(centerId);
+				centerInfoIndex.applyAfterCommit(removed, true);
+			}
+			searchCache.invalidateAllAfterCommit();
+			operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.DELETE,
+					"一括削除: " + deletedIds.size() + "件, " + describeIds(deletedIds));
+		}
+
+		BulkResultDto result = toResult(results);
+		logger.info("一括削除完了: {}={}件, エラー={}件, {}ms", success,
+				result.getSuccessCount(), result.getFailureCount(), (System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	/**
+	 * 対象行の現在の値を取得する
+	 *
+	 * @param centerIds センターID
+	 * @param forUpdate 行ロックを取得する場合 true
+	 * @return センターID → 現在の値（存在しない行は含まない）
+	 */
+	private Map<Integer, LockedRow> lock(List<Integer> centerIds, boolean forUpdate) {
+		Map<Integer, LockedRow> rows = new HashMap<>();
+		jdbcTemplate.query("SELECT center_id, version, max_storage_capacity, current_storage_capacity "
+				+ "FROM center_info WHERE center_id IN (" + placeholders(centerIds.size(), "?") + ")"
+				+ (forUpdate ? " FOR UPDATE" : ""),
+				rs -> {
+					rows.put(rs.getInt(1), new LockedRow(rs.getLong(2), rs.getInt(3), rs.getInt(4)));
+				}, centerIds.toArray());
+		return rows;
+	}
+
+	/**
+	 * 存在・バージョン番号・重複指定を判定する
+	 *
+	 * @param centerId センターID
+	 * @param version 画面で取得したバージョン番号
+	 * @param seen 処理済みのセンターID
+	 * @param locked 現在の値
+	 * @return エラーの場合はその処理結果、処理できる場合は null
+	 */
+	private static BulkRowStatus classify(Integer centerId, Long version, Set<Integer> seen,
+			Map<Integer, LockedRow> locked) {
+		if (!seen.add(centerId)) {
+			return BulkRowStatus.DUPLICATE;
+		}
+		LockedRow row = locked.get(centerId);
+		if (row == null) {
+			return BulkRowStatus.NOT_FOUND;
+		}
+		if (!Objects.equals(row.version(), version)) {
+			return BulkRowStatus.CONFLICT;
+		}
+		return null;
+	}
+
+	/**
+	 * 判定を通った行を1回の UPDATE で更新する
+	 *
+	 * @param items 更新対象
+	 * @param targets 更新する行の位置
+	 * @param now 更新日時
+	 */
+	private void updateAll(List<CenterInfoBulkUpdateForm.Item> items, List<Integer> targets, LocalDateTime now) {
+		List<Object> args = new ArrayList<>(targets.size() * 7 + 1);
+		for (int i : targets) {
+			CenterInfoBulkUpdateForm.Item item = items.get(i);
+			args.add(item.getCenterId());
+			args.add(item.getVersion());
+			args.add(item.getMaxStorageCapacity());
+			args.add(item.getCurrentStorageCapacity());
+			args.add(item.getOperationalStatus());
+			args.add(item.getManagerName());
+			args.add(item.getNotes());
+		}
+		args.add(Timestamp.valueOf(now));
+		int updated = jdbcTemplate.update("UPDATE center_info c JOIN ("
+				+ placeholders(targets.size(), "SELECT ? AS center_id, ? AS version, ? AS max_storage_capacity, "
+						+ "? AS current_storage_capacity, ? AS operational_status, ? AS manager_name, ? AS notes",
+						" UNION ALL ")
+				+ ") v ON c.center_id = v.center_id AND c.version = v.version "
+				+ "SET c.max_storage_capacity = COALESCE(v.max_storage_capacity, c.max_storage_capacity), "
+				+ "c.current_storage_capacity = COALESCE(v.current_storage_capacity, c.current_storage_capacity), "
+				+ "c.operational_status = COALESCE(v.operational_status, c.operational_status), "
+				+ "c.manager_name = COALESCE(v.manager_name, c.manager_name), "
+				+ "c.notes = COALESCE(v.notes, c.notes), "
+				+ "c.version = c.version + 1, c.update_date = ?",
+				args.toArray());
+		logger.debug("一括更新 SQL: 対象={}件, 更新={}件", targets.size(), updated);
+	}
+
+	/**
+	 * 判定を通った行を1回の DELETE で削除する
+	 *
+	 * @param items 削除対象
+	 * @param targets 削除する行の位置
+	 */
+	private void deleteAll(List<CenterInfoBulkDeleteForm.Item> items, List<Integer> targets) {
+		List<Object> args = new ArrayList<>(targets.size() * 2);
+		for (int i : targets) {
+			args.add(items.get(i).getCenterId());
+			args.add(items.get(i).getVersion());
+		}
+		int deleted = jdbcTemplate.update("DELETE c FROM center_info c JOIN ("
+				+ placeholders(targets.size(), "SELECT ? AS center_id, ? AS version", " UNION ALL ")
+				+ ") v ON c.center_id = v.center_id AND c.version = v.version",
+				args.toArray());
+		logger.debug("一括削除 SQL: 対象={}件, 削除={}件", targets.size(), deleted);
+	}
+
+	/**
+	 * 在庫が存在するセンターを抽出する
+	 *
+	 * @param centerIds センターID
+	 * @param preview プレビューの場合 true（ビットマップがロード済みなら DB を確認しない）
+	 * @return 在庫が存在するセンターID
+	 */
+	private Set<Integer> findWithStock(List<Integer> centerIds, boolean preview) {
+		if (!stockPresenceIndex.isReady()) {
+			return queryWithStock(centerIds);
+		}
+		Set<Integer> withStock = stockPresenceIndex.filterWithStock(centerIds);
+		if (preview) {
+			return withStock;
+		}
+		// ビットが立っていない（他サーバーで登録直後を含む）センターは削除が取り消せないため DB で確定させる
+		List<Integer> unknown = centerIds.stream().filter(id -> !withStock.contains(id)).toList();
+		if (!unknown.isEmpty()) {
+			withStock.addAll(queryWithStock(unknown));
+		}
+		return withStock;
+	}
+
+	/**
+	 * 在庫情報から在庫が存在するセンターを1回の SQL で取得する
+	 *
+	 * @param centerIds センターID
+	 * @return 在庫が存在するセンターID
+	 */
+	private Set<Integer> queryWithStock(List<Integer> centerIds) {
+		return new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT DISTINCT center_id FROM stock_info WHERE center_id IN ("
+						+ placeholders(centerIds.size(), "?") + ")",
+				Integer.class, centerIds.toArray()));
+	}
+
+	/**
+	 * 行ごとの処理結果をリクエストの並び順で集計する
+	 *
+	 * @param results 行ごとの処理結果
+	 * @return 処理結果
+	 */
+	private static BulkResultDto toResult(RowResult[] results) {
+		BulkResultDto result = new BulkResultDto();
+		for (RowResult row : results) {
+			result.add(row);
+		}
+		return result;
+	}
+
+	/**
+	 * 操作履歴に記録するセンターIDの一覧
+	 *
+	 * @param centerIds センターID
+	 * @return 操作内容
+	 */
+	private static String describeIds(List<Integer> centerIds) {
+		List<Integer> shown = centerIds.subList(0, Math.min(centerIds.size(), MAX_LOGGED_IDS));
+		return "センターID=" + shown + (centerIds.size() > shown.size() ? " 他" + (centerIds.size() - shown.size()) + "件" : "");
+	}
+
+	/**
+	 * 繰り返しの SQL 断片を連結する
+	 *
+	 * @param count 繰り返し回数
+	 * @param fragment SQL 断片
+	 * @return 連結した SQL
+	 */
+	private static String placeholders(int count, String fragment) {
+		return placeholders(count, fragment, ", ");
+	}
+
+	/**
+	 * 繰り返しの SQL 断片を区切り文字で連結する
+	 *
+	 * @param count 繰り返し回数
+	 * @param fragment SQL 断片
+	 * @param delimiter 区切り文字
+	 * @return 連結した SQL
+	 */
+	private static String placeholders(int count, String fragment, String delimiter) {
+		return String.join(delimiter, Collections.nCopies(count, fragment));
+	}
+
+	/**
+	 * ロックした行の現在の値
+	 *
+	 * @param version バージョン番号
+	 * @param maxStorageCapacity 最大容量
+	 * @param currentStorageCapacity 現在容量
+	 */
+	private record LockedRow(long version, int maxStorageCapacity, int currentStorageCapacity) {
+	}
+}
@@ -0,0 +1,211 @@
+package com.digitalojt.web.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.digitalojt.web.consts.ExportFormat;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.repository.CenterInfoRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 在庫センター情報エクスポートのサービスクラス
+ *
+ * <pre>
+ * center_info を全件 List に展開せず、DBカーソルから1行ずつ読み出して
+ * レスポンスの OutputStream へ直接書き込む。
+ * 書き込み済みのエンティティは永続化コンテキストから切り離すため、
+ * 件数に関係なくヒープ使用量は一定となる。
+ * </pre>
+ *
+ * @author dotlife
+ *
+ */
+@Service
+@RequiredArgsConstructor
+public class CenterInfoExportService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(CenterInfoExportService.class);
+
+	/** 出力バッファをフラッシュする行間隔 */
+	private static final int FLUSH_INTERVAL = 1000;
+
+	/** CSVヘッダー */
+	private static final String CSV_HEADER = "center_id,center_name,post_code,address,phone_number,manager_name,"
+			+ "operational_status,max_storage_capacity,current_storage_capacity,notes,delete_flag,"
+			+ "create_date,update_date,version";
+
+	/** センター情報テーブル リポジトリー */
+	private final CenterInfoRepository repository;
+
+	/** エンティティマネージャー（書き込み済みエンティティの切り離し用） */
+	private final EntityManager entityManager;
+
+	/** JSON変換用 ObjectMapper */
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * 在庫センター情報を全件エクスポートする
+	 *
+	 * @param format 出力形式
+	 * @param out 出力先（呼び出し元でクローズする）
+	 * @return 出力件数
+	 * @throws IOException 出力先への書き込みに失敗した場合
+	 */
+	@Transactional(readOnly = true)
+	public long export(ExportFormat format, OutputStream out) throws IOException {
+		logger.info("在庫センター情報のエクスポート開始: format={}", format);
+
+		long count;
+		try (Stream<CenterInfo> stream = repository.streamAll()) {
+			if (format == ExportFormat.CSV) {
+				count = writeCsv(stream.iterator(), out);
+			} else {
+				count = writeNdjson(stream.iterator(), out);
+			}
+		}
+
+		logger.info("在庫センター情報のエクスポート終了: {}件", count);
+		return count;
+	}
+
+	/**
+	 * NDJSON形式（1行1レコード）で出力
+	 *
+	 * @param rows 出力対象
+	 * @param out 出力先
+	 * @return 出力件数
+	 * @throws IOException 書き込み失敗時
+	 */
+	private long writeNdjson(Iterator<CenterInfo> rows, OutputStream out) throws IOException {
+		long count = 0;
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+			// 出力先のクローズは呼び出し元に任せる
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// ルート値間の区切りは改行のみとする
+			generator.setRootValueSeparator(null);
+
+			while (rows.hasNext()) {
+				CenterInfo centerInfo = rows.next();
+				generator.writeObject(centerInfo);
+				generator.writeRaw('\n');
+				entityManager.detach(centerInfo);
+
+				if (++count % FLUSH_INTERVAL == 0) {
+					generator.flush();
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * CSV形式（ヘッダー付き、UTF-8 BOM付き）で出力
+	 *
+	 * @param rows 出力対象
+	 * @param out 出力先
+	 * @return 出力件数
+	 * @throws IOException 書き込み失敗時
+	 */
+	private long writeCsv(Iterator<CenterInfo> rows, OutputStream out) throws IOException {
+		long count = 0;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+		// Excel で文字化けしないよう BOM を付与
+		writer.write('\uFEFF');
+		writer.write(CSV_HEADER);
+		writer.write("\r\n");
+
+		while (rows.hasNext()) {
+			CenterInfo c = rows.next();
+			writer.write(String.valueOf(c.getCenterId()));
+			writeCsvText(writer, c.getCenterName());
+			writeCsvText(writer, c.getPostCode());
+			writeCsvText(writer, c.getAddress());
+			writeCsvText(writer, c.getPhoneNumber());
+			writeCsvText(writer, c.getManagerName());
+			writeCsvField(writer, c.getOperationalStatus());
+			writeCsvField(writer, c.getMaxStorageCapacity());
+			writeCsvField(writer, c.getCurrentStorageCapacity());
+			writeCsvText(writer, c.getNotes());
+			writeCsvField(writer, c.getDeleteFlag());
+			writeCsvField(writer, c.getCreateDate());
+			writeCsvField(writer, c.getUpdateDate());
+			writeCsvField(writer, c.getVersion());
+			writer.write("\r\n");
+			entityManager.detach(c);
+
+			if (++count % FLUSH_INTERVAL == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return count;
+	}
+
+	/**
+	 * CSVの文字列項目を区切り文字付きで出力
+	 * Excel で数式として実行されないよう、先頭が「=」「+」「-」「@」・タブ・CR の値は先頭に「'」を付与する
+	 * （OWASP の CSV インジェクション対策。数値・日時の項目には適用しない）
+	 *
+	 * @param writer 出力先
+	 * @param value 項目値（null の場合は空欄）
+	 * @throws IOException 書き込み失敗時
+	 */
+	private static void writeCsvText(Writer writer, String value) throws IOException {
+		if (value != null && !value.isEmpty()) {
+			char first = value.charAt(0);
+			if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+				value = "'" + value;
+			}
+		}
+		writeCsvField(writer, value);
+	}
+
+	/**
+	 * CSVの1項目を区切り文字付きで出力（RFC 4180 のエスケープ規則に従う）
+	 *
+	 * @param writer 出力先
+	 * @param value 項目値（null の場合は空欄）
+	 * @throws IOException 書き込み失敗時
+	 */
+	private static void writeCsvField(Writer writer, Object value) throws IOException {
+		writer.write(',');
+		if (value == null) {
+			return;
+		}
+		String text = value.toString();
+		boolean needsQuote = false;
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			if (ch == ',' || ch == '"' || ch == '\r' || ch == '\n') {
+				needsQuote = true;
+				break;
+			}
+		}
+		if (!needsQuote) {
+			writer.write(text);
+			return;
+		}
+		writer.write('"');
+		writer.write(text.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
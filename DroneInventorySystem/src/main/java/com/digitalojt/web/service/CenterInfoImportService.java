@@ -0,0 +1,464 @@
+package com.digitalojt.web.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.digitalojt.web.consts.ImportFormat;
+import com.digitalojt.web.consts.OperationType;
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.consts.ScreenTitle;
+import com.digitalojt.web.dto.ImportResultDto;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.exception.BusinessLogicException;
+import com.digitalojt.web.form.CenterInfoForm;
+import com.digitalojt.web.util.CsvRowReader;
+import com.digitalojt.web.util.RowReader;
+import com.digitalojt.web.util.XlsxRowReader;
+import com.digitalojt.web.validation.ValidationGroups.Insert;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+
+/**
+ * 在庫センター情報一括取込のサービスクラス
+ *
+ * <pre>
+ * アップロードされた CSV / xlsx を1行ずつ読み込み、新規登録APIと同じ入力チェック
+ * （CenterInfoForm の制約・CenterInfoFormValidatorImpl・現在容量 &lt;= 最大容量）を行った上で、
+ * 正常な行を batch-size 件ずつ JDBC バッチで登録する。
+ * - 保持するのは1バッチ分の行と上限件数までのエラーのみで、ファイル全体はメモリに展開しない
+ * - バッチごとにコミットするため、途中で失敗しても登録済みのバッチは残る
+ * - バッチが DB エラーで失敗した場合は、そのバッチを1行ずつ登録し直してエラー行を特定する
+ * 主キーは AUTO_INCREMENT のまま、rewriteBatchedStatements による複数行 INSERT で採番させる
+ * （JPA の IDENTITY 採番では Hibernate が INSERT をバッチ化しないため、JPA を経由しない）。
+ * JPA を経由しないため、エンティティリスナー・@PrePersist の処理（インメモリ索引への反映・都道府県コード）は
+ * このクラスで行う。
+ * 列はヘッダー行の列名（エクスポートCSVと同じ）で対応付け、未知の列（center_id 等）は無視する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Service
+public class CenterInfoImportService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(CenterInfoImportService.class);
+
+	/** 登録SQL */
+	private static final String INSERT_SQL = "INSERT INTO center_info "
+			+ "(center_name, post_code, address, phone_number, manager_name, operational_status, "
+			+ "max_storage_capacity, current_storage_capacity, region_code, notes, delete_flag, "
+			+ "create_date, update_date, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 0)";
+
+	/** 列名：センター名 */
+	private static final String COL_CENTER_NAME = "center_name";
+
+	/** 列名：郵便番号 */
+	private static final String COL_POST_CODE = "post_code";
+
+	/** 列名：住所 */
+	private static final String COL_ADDRESS = "address";
+
+	/** 列名：電話番号 */
+	private static final String COL_PHONE_NUMBER = "phone_number";
+
+	/** 列名：管理者名 */
+	private static final String COL_MANAGER_NAME = "manager_name";
+
+	/** 列名：稼働状況ステータス（省略時は稼働中） */
+	private static final String COL_OPERATIONAL_STATUS = "operational_status";
+
+	/** 列名：最大容量 */
+	private static final String COL_MAX_STORAGE_CAPACITY = "max_storage_capacity";
+
+	/** 列名：現在容量 */
+	private static final String COL_CURRENT_STORAGE_CAPACITY = "current_storage_capacity";
+
+	/** 列名：備考 */
+	private static final String COL_NOTES = "notes";
+
+	/** 必須の列 */
+	private static final List<String> REQUIRED_COLUMNS = List.of(
+			COL_ADDRESS, COL_MAX_STORAGE_CAPACITY, COL_CURRENT_STORAGE_CAPACITY);
+
+	/** JDBCテンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** トランザクション（バッチごとにコミット） */
+	private final TransactionTemplate transactionTemplate;
+
+	/** 入力チェック */
+	private final Validator validator;
+
+	/** 検索結果キャッシュ */
+	private final CenterInfoSearchCache searchCache;
+
+	/** 稼働中センターのインメモリ索引 */
+	private final CenterInfoIndex centerInfoIndex;
+
+	/** 操作履歴の記録 */
+	private final OperationLogRecorder operationLogRecorder;
+
+	/** 1回のバッチで登録する件数 */
+	private final int batchSize;
+
+	/** 応答に含める行エラーの上限件数 */
+	private final int maxReportedErrors;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param jdbcTemplate JDBCテンプレート
+	 * @param transactionTemplate トランザクション
+	 * @param validator 入力チェック
+	 * @param searchCache 検索結果キャッシュ
+	 * @param centerInfoIndex 稼働中センターのインメモリ索引
+	 * @param operationLogRecorder 操作履歴の記録
+	 * @param batchSize 1回のバッチで登録する件数
+	 * @param maxReportedErrors 応答に含める行エラーの上限件数
+	 */
+	public CenterInfoImportService(JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate,
+			Validator validator,
+			CenterInfoSearchCache searchCache,
+			CenterInfoIndex centerInfoIndex,
+			OperationLogRecorder operationLogRecorder,
+			@Value("${app.center-info.import.batch-size:${spring.jpa.properties.hibernate.jdbc.batch_size:500}}") int batchSize,
+			@Value("${app.center-info.import.max-reported-errors:1000}") int maxReportedErrors) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.validator = validator;
+		this.searchCache = searchCache;
+		this.centerInfoIndex = centerInfoIndex;
+		this.operationLogRecorder = operationLogRecorder;
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = Math.max(0, maxReportedErrors);
+	}
+
+	/**
+	 * アップロードされたファイルから在庫センター情報を一括登録する
+	 *
+	 * @param format 取込形式
+	 * @param file アップロードされたファイル
+	 * @return 取込結果（登録件数・行ごとのエラー）
+	 * @throws IOException ファイルの読み込みに失敗した場合・形式が不正な場合
+	 * @throws BusinessLogicException ヘッダー行がない・必須の列がない場合
+	 */
+	public ImportResultDto importCenters(ImportFormat format, MultipartFile file) throws IOException {
+		logger.info("在庫センター情報の一括取込開始: format={}, file={}, size={}",
+				format, file.getOriginalFilename(), file.getSize());
+		long start = System.nanoTime();
+
+		if (format == ImportFormat.CSV) {
+			try (RowReader reader = new CsvRowReader(file.getInputStream())) {
+				return importRows(reader, start);
+			}
+		}
+
+		// xlsx は ZIP の目次を参照するため、一時ファイルに保存してから読み込む
+		Path temp = Files.createTempFile("center_info_import_", ImportFormat.XLSX.getExtension());
+		try {
+			file.transferTo(temp);
+			try (RowReader reader = new XlsxRowReader(temp)) {
+				return importRows(reader, start);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * 行を読み込み、入力チェックとバッチ登録を行う
+	 *
+	 * @param reader 行読み込み
+	 * @param start 開始時刻（ナノ秒）
+	 * @return 取込結果
+	 * @throws IOException ファイルの読み込みに失敗した場合
+	 */
+	private ImportResultDto importRows(RowReader reader, long start) throws IOException {
+		Map<String, Integer> columns = readHeader(reader);
+
+		ImportResultDto result = new ImportResultDto();
+		List<PendingRow> batch = new ArrayList<>(batchSize);
+		List<String> row;
+		while ((row = reader.next()) != null) {
+			if (isBlank(row)) {
+				continue;
+			}
+			result.setTotalRows(result.getTotalRows() + 1);
+
+			List<String> errors = new ArrayList<>();
+			CenterInfo entity = toEntity(row, columns, errors);
+			if (!errors.isEmpty()) {
+				result.addError(reader.getRowNumber(), errors, maxReportedErrors);
+				continue;
+			}
+			batch.add(new PendingRow(reader.getRowNumber(), entity));
+			if (batch.size() >= batchSize) {
+				flush(batch, result);
+				batch.clear();
+			}
+		}
+		flush(batch, result);
+
+		logger.info("在庫センター情報の一括取込完了: 読込={}件, 登録={}件, エラー={}件, {}ms",
+				result.getTotalRows(), result.getImportedCount(), result.getErrorCount(),
+				(System.nanoTime() - start) / 1_000_000);
+		return result;
+	}
+
+	/**
+	 * ヘッダー行を読み込み、列名 → 列番号の対応を作成
+	 *
+	 * @param reader 行読み込み
+	 * @return 列名（小文字）→ 列番号
+	 * @throws IOException ファイルの読み込みに失敗した場合
+	 * @throws BusinessLogicException ヘッダー行がない・必須の列がない場合
+	 */
+	private Map<String, Integer> readHeader(RowReader reader) throws IOException {
+		List<String> header = reader.next();
+		if (header == null) {
+			throw new BusinessLogicException("ファイルにヘッダー行がありません。");
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+		}
+		List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+		if (!missing.isEmpty()) {
+			throw new BusinessLogicException("必須の列がありません: " + String.join(", ", missing));
+		}
+		return columns;
+	}
+
+	/**
+	 * 1行を入力チェックし、登録用のエンティティに変換
+	 *
+	 * @param row 列の値
+	 * @param columns 列名 → 列番号
+	 * @param errors エラーメッセージの追加先
+	 * @return 登録用のエンティティ（エラーがある場合は null）
+	 */
+	private CenterInfo toEntity(List<String> row, Map<String, Integer> columns, List<String> errors) {
+		CenterInfoForm form = new CenterInfoForm();
+		form.setCenterName(text(row, columns, COL_CENTER_NAME));
+		form.setPostCode(text(row, columns, COL_POST_CODE));
+		form.setAddress(text(row, columns, COL_ADDRESS));
+		form.setPhoneNumber(text(row, columns, COL_PHONE_NUMBER));
+		form.setManagerName(text(row, columns, COL_MANAGER_NAME));
+		form.setMaxStorageCapacity(integer(row, columns, COL_MAX_STORAGE_CAPACITY, errors));
+		form.setCurrentStorageCapacity(integer(row, columns, COL_CURRENT_STORAGE_CAPACITY, errors));
+		form.setNotes(text(row, columns, COL_NOTES));
+		Integer operationalStatus = integer(row, columns, COL_OPERATIONAL_STATUS, errors);
+		if (operationalStatus != null && operationalStatus != 0 && operationalStatus != 1) {
+			errors.add(COL_OPERATIONAL_STATUS + ": 0（稼働中）または 1（稼働停止）を指定してください。");
+		}
+		if (!errors.isEmpty()) {
+			return null;
+		}
+
+		// 新規登録APIと同じ入力チェック（項目の制約・CenterInfoFormValidatorImpl）
+		for (ConstraintViolation<CenterInfoForm> violation : validator.validate(form, Default.class, Insert.class)) {
+			String field = violation.getPropertyPath().toString();
+			errors.add(field.isEmpty() ? violation.getMessage() : field + ": " + violation.getMessage());
+		}
+		// 業務チェック（CenterInfoService#insertCenterInfo と同じ）
+		if (form.getCurrentStorageCapacity() != null && form.getMaxStorageCapacity() != null
+				&& form.getCurrentStorageCapacity() > form.getMaxStorageCapacity()) {
+			errors.add("現在容量は最大容量以下である必要があります。");
+		}
+		if (!errors.isEmpty()) {
+			return null;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		Region region = Region.fromAddress(form.getAddress());
+		CenterInfo entity = new CenterInfo();
+		entity.setCenterName(form.getCenterName());
+		entity.setPostCode(form.getPostCode());
+		entity.setAddress(form.getAddress());
+		entity.setPhoneNumber(form.getPhoneNumber());
+		entity.setManagerName(form.getManagerName());
+		entity.setOperationalStatus(operationalStatus == null ? 0 : operationalStatus);
+		entity.setMaxStorageCapacity(form.getMaxStorageCapacity());
+		entity.setCurrentStorageCapacity(form.getCurrentStorageCapacity());
+		entity.setRegionCode(region == null ? null : region.getCode());
+		entity.setNotes(form.getNotes());
+		entity.setDeleteFlag(0);
+		entity.setCreateDate(now);
+		entity.setUpdateDate(now);
+		entity.setVersion(0L);
+		return entity;
+	}
+
+	/**
+	 * バッチを登録する（失敗した場合は1行ずつ登録し直してエラー行を特定）
+	 *
+	 * @param batch 登録する行
+	 * @param result 取込結果
+	 */
+	private void flush(List<PendingRow> batch, ImportResultDto result) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> insert(batch));
+			result.setImportedCount(result.getImportedCount() + batch.size());
+			return;
+		} catch (DataAccessException e) {
+			logger.warn("バッチ登録に失敗したため1行ずつ登録します: {}行目～{}行目: {}",
+					batch.get(0).rowNumber(), batch.get(batch.size() - 1).rowNumber(), rootMessage(e));
+		}
+		for (PendingRow row : batch) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+				result.setImportedCount(result.getImportedCount() + 1);
+			} catch (DataAccessException e) {
+				result.addError(row.rowNumber(), List.of("登録に失敗しました: " + rootMessage(e)), maxReportedErrors);
+			}
+		}
+	}
+
+	/**
+	 * JDBC バッチで登録し、採番されたセンターIDを受け取る
+	 * コミット後に検索結果キャッシュの破棄・インメモリ索引への反映・操作履歴の記録を行う
+	 *
+	 * @param rows 登録する行
+	 */
+	private void insert(List<PendingRow> rows) {
+		jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+			try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+				for (PendingRow row : rows) {
+					CenterInfo e = row.entity();
+					ps.setString(1, e.getCenterName());
+					ps.setString(2, e.getPostCode());
+					ps.setString(3, e.getAddress());
+					ps.setString(4, e.getPhoneNumber());
+					ps.setString(5, e.getManagerName());
+					ps.setInt(6, e.getOperationalStatus());
+					ps.setInt(7, e.getMaxStorageCapacity());
+					ps.setInt(8, e.getCurrentStorageCapacity());
+					if (e.getRegionCode() == null) {
+						ps.setNull(9, Types.TINYINT);
+					} else {
+						ps.setInt(9, e.getRegionCode());
+					}
+					ps.setString(10, e.getNotes());
+					ps.setTimestamp(11, Timestamp.valueOf(e.getCreateDate()));
+					ps.setTimestamp(12, Timestamp.valueOf(e.getUpdateDate()));
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				try (ResultSet keys = ps.getGeneratedKeys()) {
+					for (int i = 0; keys.next() && i < rows.size(); i++) {
+						rows.get(i).entity().setCenterId(keys.getInt(1));
+					}
+				}
+			}
+			return null;
+		});
+
+		for (PendingRow row : rows) {
+			centerInfoIndex.applyAfterCommit(row.entity(), false);
+		}
+		searchCache.invalidateAllAfterCommit();
+		operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.CREATE,
+				"一括登録: " + rows.size() + "件, センターID=" + rows.get(0).entity().getCenterId()
+						+ "～" + rows.get(rows.size() - 1).entity().getCenterId());
+	}
+
+	/**
+	 * 文字列の列の値を取得
+	 *
+	 * @param row 列の値
+	 * @param columns 列名 → 列番号
+	 * @param column 列名
+	 * @return 値（列がない・空欄の場合は null、前後の空白は除去）
+	 */
+	private static String text(List<String> row, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= row.size()) {
+			return null;
+		}
+		String value = row.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * 整数の列の値を取得（Excel の "100.0" のような整数値も許容）
+	 *
+	 * @param row 列の値
+	 * @param columns 列名 → 列番号
+	 * @param column 列名
+	 * @param errors エラーメッセージの追加先
+	 * @return 値（列がない・空欄・不正な場合は null）
+	 */
+	private static Integer integer(List<String> row, Map<String, Integer> columns, String column,
+			List<String> errors) {
+		String value = text(row, columns, column);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return new BigDecimal(value).intValueExact();
+		} catch (NumberFormatException | ArithmeticException e) {
+			errors.add(column + ": 整数で入力してください。");
+			return null;
+		}
+	}
+
+	/**
+	 * 空行か
+	 *
+	 * @param row 列の値
+	 * @return すべての列が空欄の場合 true
+	 */
+	private static boolean isBlank(List<String> row) {
+		return row.stream().allMatch(value -> value == null || value.isBlank());
+	}
+
+	/**
+	 * 例外の根本原因のメッセージを取得（行エラーの表示用）
+	 *
+	 * @param e 例外
+	 * @return メッセージ
+	 */
+	private static String rootMessage(DataAccessException e) {
+		Throwable root = NestedExceptionUtils.getMostSpecificCause(e);
+		return root.getMessage();
+	}
+
+	/**
+	 * 登録待ちの行
+	 *
+	 * @param rowNumber 行番号
+	 * @param entity 登録するエンティティ
+	 */
+	private record PendingRow(int rowNumber, CenterInfo entity) {
+	}
+}
@@ -0,0 +1,591 @@
+package com.digitalojt.web.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.dto.CenterInfoRow;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.repository.CenterInfoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 稼働中在庫センターのインメモリ索引
+ *
+ * <pre>
+ * findActiveCenters の LIKE 検索は B-tree 索引を使えず全件走査になるため、
+ * 稼働中（operational_status = 0）のセンターをプロセス内に列指向で保持し、検索に応答する。
+ * 行は center_id 昇順に並べ、以下のビットマップも同じ順序で持つ（ページングは limit 件に達した時点で打ち切る）。
+ * - 現在容量: 容量昇順の行番号を二分探索し、絞り込みが効く範囲の場合のみビットマップを作成
+ * - 都道府県: 都道府県コードごとの該当行ビットマップ
+ * - センター名: 大文字化した名前の 2-gram → 行のビットマップ
+ * 候補行はビットマップの AND で絞り込んだ後、元の条件で再確認するため結果は DB 検索と一致する。
+ *
+ * 登録・更新・削除はエンティティのライフサイクルイベント（CenterInfoIndexListener）から
+ * コミット後に反映される（2026/10/18 性能改善: 検索スレッドでの再構築をやめる）。
+ * - 変更は構築済みの索引とは別に「差分」として保持し、検索時は差分を優先して結果に反映する
+ * - 索引の再構築は専用スレッドで行い、完了までは構築済みの索引と差分で応答する（検索は待たない）
+ * 返却するエンティティは検索ごとに新しく生成するため、変更しても索引には影響しない。
+ * 索引はプロセスごとに保持するため、複数台構成では他ノードの更新は再起動まで反映されない。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class CenterInfoIndex {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(CenterInfoIndex.class);
+
+	/** 稼働中を表す稼働状況ステータス */
+	private static final int OPERATIONAL = 0;
+
+	/** センター名の n-gram 長 */
+	private static final int GRAM = 2;
+
+	/** 容量範囲のビットマップを作成する選択率の上限（該当行が全体の 1/8 以下の場合に作成） */
+	private static final int CAPACITY_BITMAP_RATIO = 8;
+
+	/** 索引有効フラグ */
+	private final boolean enabled;
+
+	/** センター情報テーブル リポジトリー */
+	private final CenterInfoRepository repository;
+
+	/** 再構築を行うスレッド */
+	private final Executor rebuildExecutor;
+
+	/** このクラスで生成した再構築用スレッド（停止時に終了させる） */
+	private final ExecutorService ownedExecutor;
+
+	/** 行データ・変更番号の更新用ロック */
+	private final Object lock = new Object();
+
+	/** 稼働中センター（センターID → 行データ。lock で保護） */
+	private final Map<Integer, CenterInfoRow> rows = new HashMap<>();
+
+	/** 変更番号（lock で保護） */
+	private long sequence;
+
+	/** 再構築の予約済みフラグ */
+	private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+	/** 構築済みの索引と、構築後の差分（初期ロード前は null） */
+	private volatile State state;
+
+	/** 初期ロード完了フラグ */
+	private volatile boolean ready;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled 索引有効フラグ（false の場合は常に DB 検索）
+	 * @param repository センター情報テーブル リポジトリー
+	 */
+	@Autowired
+	public CenterInfoIndex(
+			@Value("${app.center-info.index.enabled:true}") boolean enabled,
+			CenterInfoRepository repository) {
+		this(enabled, repository, Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "center-info-index");
+			thread.setDaemon(true);
+			return thread;
+		}));
+	}
+
+	/**
+	 * コンストラクタ（再構築を行うスレッドを指定）
+	 *
+	 * @param enabled 索引有効フラグ
+	 * @param repository センター情報テーブル リポジトリー
+	 * @param rebuildExecutor 再構築を行うスレッド
+	 */
+	CenterInfoIndex(boolean enabled, CenterInfoRepository repository, Executor rebuildExecutor) {
+		this.enabled = enabled;
+		this.repository = repository;
+		this.rebuildExecutor = rebuildExecutor;
+		this.ownedExecutor = (rebuildExecutor instanceof ExecutorService service) ? service : null;
+	}
+
+	/**
+	 * 起動完了後に稼働中センターを読み込む
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (!enabled) {
+			logger.info("在庫センター索引は無効です（DB検索を使用）");
+			return;
+		}
+		long start = System.nanoTime();
+		List<CenterInfo> loaded = repository.findByOperationalStatus(OPERATIONAL);
+		synchronized (lock) {
+			rows.clear();
+			for (CenterInfo center : loaded) {
+				rows.put(center.getCenterId(), CenterInfoRow.from(center));
+			}
+			sequence++;
+		}
+		rebuild();
+		ready = true;
+		logger.info("在庫センター索引を構築しました: {}件, {}ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * 再構築用スレッドを停止
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 索引で検索に応答できるか
+	 *
+	 * @param centerName 正規化済みセンター名
+	 * @return 応答できる場合 true（無効・未ロード・LIKE ワイルドカードを含む場合は false）
+	 */
+	public boolean canAnswer(String centerName) {
+		return enabled && ready && !hasWildcard(centerName);
+	}
+
+	/**
+	 * 条件に合致する稼働中センターを取得（findActiveCenters / findActiveCentersAfter と同じ条件）
+	 *
+	 * @param centerName 正規化済みセンター名（空文字は条件なし）
+	 * @param regionCode 都道府県コード（null は条件なし）
+	 * @param capacityFrom 容量範囲（最小）
+	 * @param capacityTo 容量範囲（最大）
+	 * @param afterCenterId このIDより大きい行のみ（条件なしは 0）
+	 * @param limit 最大件数（条件なしは 0）
+	 * @return center_id 昇順の検索結果（呼び出しごとに新しいエンティティ）
+	 */
+	public List<CenterInfo> find(String centerName, Integer regionCode, int capacityFrom, int capacityTo,
+			int afterCenterId, int limit) {
+		State current = state;
+		Region region = Region.fromCode(regionCode);
+		if (current == null || (regionCode != null && region == null) || capacityFrom > capacityTo) {
+			return new ArrayList<>();
+		}
+		Query query = new Query(centerName.toUpperCase(Locale.ROOT), region, capacityFrom, capacityTo,
+				afterCenterId, (limit > 0) ? limit : Integer.MAX_VALUE);
+
+		// 構築済みの索引から検索（差分のある行は除外）し、差分のうち条件に合致する行を ID 順にマージ
+		List<CenterInfoRow> hits = current.snapshot().search(query, current.changes());
+		if (!current.changes().isEmpty()) {
+			hits = merge(hits, matchingChanges(current.changes(), query), query.limit());
+		}
+
+		List<CenterInfo> results = new ArrayList<>(hits.size());
+		for (CenterInfoRow row : hits) {
+			results.add(row.toEntity());
+		}
+		return results;
+	}
+
+	/**
+	 * コミット後に行データの変更を索引へ反映する
+	 * トランザクション外で呼ばれた場合は即時に反映する
+	 *
+	 * @param entity 変更されたエンティティ
+	 * @param removed 削除の場合 true
+	 */
+	public void applyAfterCommit(CenterInfo entity, boolean removed) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(entity, removed);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply(entity, removed);
+			}
+		});
+	}
+
+	/**
+	 * 行データの変更を反映（コミット時点の値を複製して差分に追加し、再構築を予約）
+	 *
+	 * @param entity 変更されたエンティティ
+	 * @param removed 削除の場合 true
+	 */
+	void apply(CenterInfo entity, boolean removed) {
+		CenterInfoRow row = (removed || !Objects.equals(entity.getOperationalStatus(), OPERATIONAL))
+				? null : CenterInfoRow.from(entity);
+		synchronized (lock) {
+			long changeSequence = ++sequence;
+			if (row == null) {
+				rows.remove(entity.getCenterId());
+			} else {
+				rows.put(entity.getCenterId(), row);
+			}
+			State current = state;
+			if (current == null) {
+				// 初期ロード前（ロード時にすべて読み込む）
+				return;
+			}
+			Map<Integer, Change> changes = new HashMap<>(current.changes());
+			changes.put(entity.getCenterId(), new Change(changeSequence, row));
+			state = new State(current.snapshot(), Collections.unmodifiableMap(changes));
+		}
+		scheduleRebuild();
+	}
+
+	/**
+	 * 再構築を予約（予約済みの場合は何もしない。実行時点までの変更をまとめて反映する）
+	 */
+	private void scheduleRebuild() {
+		if (!rebuildScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			rebuildExecutor.execute(() -> {
+				rebuildScheduled.set(false);
+				try {
+					rebuild();
+				} catch (RuntimeException e) {
+					// 差分で応答を続けるため、次の変更時に再試行する
+					logger.error("在庫センター索引の再構築に失敗しました", e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// 停止処理中
+			rebuildScheduled.set(false);
+		}
+	}
+
+	/**
+	 * 行データから索引を再構築し、構築に含めた差分を破棄する
+	 * 行データの複製のみロック内で行い、構築中も検索・変更の反映は待たない
+	 */
+	private void rebuild() {
+		CenterInfoRow[] copied;
+		long builtAt;
+		synchronized (lock) {
+			copied = rows.values().toArray(new CenterInfoRow[0]);
+			builtAt = sequence;
+		}
+		long start = System.nanoTime();
+		Snapshot snapshot = Snapshot.build(copied);
+		synchronized (lock) {
+			Map<Integer, Change> remaining = new HashMap<>();
+			State current = state;
+			if (current != null) {
+				current.changes().forEach((id, change) -> {
+					if (change.sequence() > builtAt) {
+						remaining.put(id, change);
+					}
+				});
+			}
+			state = new State(snapshot, Collections.unmodifiableMap(remaining));
+		}
+		logger.debug("在庫センター索引を再構築しました: {}件, {}ms", copied.length, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * 差分のうち条件に合致する行（center_id 昇順）
+	 *
+	 * @param changes 差分
+	 * @param query 検索条件
+	 * @return 合致する行
+	 */
+	private static List<CenterInfoRow> matchingChanges(Map<Integer, Change> changes, Query query) {
+		List<CenterInfoRow> matched = new ArrayList<>();
+		for (Change change : changes.values()) {
+			CenterInfoRow row = change.row();
+			if (row != null && row.centerId() > query.afterCenterId() && query.matches(row)) {
+				matched.add(row);
+			}
+		}
+		matched.sort(Comparator.comparingInt(CenterInfoRow::centerId));
+		return matched;
+	}
+
+	/**
+	 * center_id 昇順の2つの結果をマージ（最大 limit 件）
+	 *
+	 * @param left 結果1
+	 * @param right 結果2
+	 * @param limit 最大件数
+	 * @return マージした結果
+	 */
+	private static List<CenterInfoRow> merge(List<CenterInfoRow> left, List<CenterInfoRow> right, int limit) {
+		if (right.isEmpty()) {
+			return left;
+		}
+		List<CenterInfoRow> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+		int i = 0;
+		int j = 0;
+		while (merged.size() < limit && (i < left.size() || j < right.size())) {
+			if (j >= right.size() || (i < left.size() && left.get(i).centerId() < right.get(j).centerId())) {
+				merged.add(left.get(i++));
+			} else {
+				merged.add(right.get(j++));
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * 昇順配列で value 以上となる最初の位置
+	 */
+	private static int lowerBound(int[] sorted, int value) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * 昇順配列で value より大きくなる最初の位置
+	 */
+	private static int upperBound(int[] sorted, int value) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid] <= value) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * LIKE のワイルドカード（% _）を含むか
+	 */
+	private static boolean hasWildcard(String value) {
+		return value != null && (value.indexOf('%') >= 0 || value.indexOf('_') >= 0);
+	}
+
+	/**
+	 * 大文字化したセンター名（null は空文字）
+	 */
+	private static String upperCaseName(CenterInfoRow row) {
+		return (row.centerName() == null) ? "" : row.centerName().toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * 構築済みの索引と、構築後の差分（不変）
+	 *
+	 * @param snapshot 構築済みの索引
+	 * @param changes 構築後の差分（センターID → 変更内容）
+	 */
+	private record State(Snapshot snapshot, Map<Integer, Change> changes) {
+	}
+
+	/**
+	 * 構築後の変更
+	 *
+	 * @param sequence 変更番号
+	 * @param row 変更後の行（削除・稼働停止の場合は null）
+	 */
+	private record Change(long sequence, CenterInfoRow row) {
+	}
+
+	/**
+	 * 検索条件
+	 *
+	 * @param upperName 大文字化したセンター名（空文字は条件なし）
+	 * @param region 都道府県（null は条件なし）
+	 * @param capacityFrom 容量範囲（最小）
+	 * @param capacityTo 容量範囲（最大）
+	 * @param afterCenterId このIDより大きい行のみ
+	 * @param limit 最大件数
+	 */
+	private record Query(String upperName, Region region, int capacityFrom, int capacityTo,
+			int afterCenterId, int limit) {
+
+		/**
+		 * 行が条件に合致するか（センターIDの条件を除く）
+		 */
+		boolean matches(CenterInfoRow row) {
+			Integer capacity = row.currentStorageCapacity();
+			if (capacity == null || capacity < capacityFrom || capacity > capacityTo) {
+				return false;
+			}
+			if (region != null && !Objects.equals(row.regionCode(), region.getCode())) {
+				return false;
+			}
+			return upperName.isEmpty() || upperCaseName(row).contains(upperName);
+		}
+	}
+
+	/**
+	 * 構築済みの列指向索引（不変）
+	 *
+	 * @param ids center_id 昇順のセンターID
+	 * @param rows ids と同順の行データ
+	 * @param capacities ids と同順の現在容量
+	 * @param upperNames ids と同順の大文字化したセンター名
+	 * @param sortedCapacities 現在容量（昇順）
+	 * @param capacityOrder sortedCapacities と同順の行番号
+	 * @param regionBits 都道府県（ordinal）ごとの該当行ビットマップ
+	 * @param nameGrams センター名 2-gram ごとの該当行ビットマップ
+	 */
+	private record Snapshot(int[] ids, CenterInfoRow[] rows, int[] capacities, String[] upperNames,
+			int[] sortedCapacities, int[] capacityOrder, BitSet[] regionBits, Map<String, BitSet> nameGrams) {
+
+		/**
+		 * 行データから索引を構築（現在容量が null の行は条件に合致しないため含めない）
+		 *
+		 * @param source 行データ
+		 * @return 索引
+		 */
+		static Snapshot build(CenterInfoRow[] source) {
+			CenterInfoRow[] sorted = Arrays.stream(source)
+					.filter(row -> row.currentStorageCapacity() != null)
+					.sorted(Comparator.comparingInt(CenterInfoRow::centerId))
+					.toArray(CenterInfoRow[]::new);
+
+			int n = sorted.length;
+			int[] ids = new int[n];
+			int[] capacities = new int[n];
+			String[] upperNames = new String[n];
+			BitSet[] regionBits = new BitSet[Region.values().length];
+			for (Region r : Region.values()) {
+				regionBits[r.ordinal()] = new BitSet(n);
+			}
+			Map<String, BitSet> nameGrams = new HashMap<>();
+
+			for (int pos = 0; pos < n; pos++) {
+				CenterInfoRow row = sorted[pos];
+				ids[pos] = row.centerId();
+				capacities[pos] = row.currentStorageCapacity();
+
+				Region region = Region.fromCode(row.regionCode());
+				if (region != null) {
+					regionBits[region.ordinal()].set(pos);
+				}
+
+				String upperName = upperCaseName(row);
+				upperNames[pos] = upperName;
+				for (int i = 0; i + GRAM <= upperName.length(); i++) {
+					nameGrams.computeIfAbsent(upperName.substring(i, i + GRAM), k -> new BitSet(n)).set(pos);
+				}
+			}
+
+			// 容量昇順の行番号
+			Integer[] order = new Integer[n];
+			for (int pos = 0; pos < n; pos++) {
+				order[pos] = pos;
+			}
+			Arrays.sort(order, Comparator.comparingInt((Integer pos) -> capacities[pos]));
+			int[] sortedCapacities = new int[n];
+			int[] capacityOrder = new int[n];
+			for (int i = 0; i < n; i++) {
+				capacityOrder[i] = order[i];
+				sortedCapacities[i] = capacities[order[i]];
+			}
+			return new Snapshot(ids, sorted, capacities, upperNames, sortedCapacities, capacityOrder,
+					regionBits, nameGrams);
+		}
+
+		/**
+		 * 条件に合致する行を center_id 昇順に最大 limit 件取得
+		 *
+		 * @param query 検索条件
+		 * @param excluded 除外するセンターID（差分のある行）
+		 * @return 合致する行
+		 */
+		List<CenterInfoRow> search(Query query, Map<Integer, Change> excluded) {
+			int n = ids.length;
+
+			// 容量範囲に該当する行数を二分探索で求める
+			int from = lowerBound(sortedCapacities, query.capacityFrom());
+			int to = upperBound(sortedCapacities, query.capacityTo());
+			if (from >= to) {
+				return new ArrayList<>();
+			}
+
+			// ビットマップで候補を絞り込む（null は全行が候補）
+			BitSet candidates = null;
+			if (query.region() != null) {
+				candidates = intersect(candidates, regionBits[query.region().ordinal()]);
+			}
+			String upperName = query.upperName();
+			for (int i = 0; i + GRAM <= upperName.length(); i++) {
+				BitSet postings = nameGrams.get(upperName.substring(i, i + GRAM));
+				if (postings == null) {
+					return new ArrayList<>();
+				}
+				candidates = intersect(candidates, postings);
+				if (candidates.isEmpty()) {
+					return new ArrayList<>();
+				}
+			}
+			if ((to - from) * CAPACITY_BITMAP_RATIO <= n) {
+				BitSet capacityBits = new BitSet(n);
+				for (int i = from; i < to; i++) {
+					capacityBits.set(capacityOrder[i]);
+				}
+				candidates = intersect(candidates, capacityBits);
+			}
+
+			// center_id 順に元の条件で再確認し、limit 件で打ち切る
+			List<CenterInfoRow> results = new ArrayList<>();
+			int pos = upperBound(ids, query.afterCenterId());
+			if (candidates != null) {
+				pos = candidates.nextSetBit(pos);
+			}
+			while (pos >= 0 && pos < n && results.size() < query.limit()) {
+				int capacity = capacities[pos];
+				if (capacity >= query.capacityFrom() && capacity <= query.capacityTo()
+						&& (upperName.isEmpty() || upperNames[pos].contains(upperName))
+						&& !excluded.containsKey(ids[pos])) {
+					results.add(rows[pos]);
+				}
+				pos = (candidates == null) ? pos + 1 : candidates.nextSetBit(pos + 1);
+			}
+			return results;
+		}
+
+		/**
+		 * 候補とビットマップの AND（候補が null の場合は複製を返し、索引のビットマップは変更しない）
+		 */
+		private static BitSet intersect(BitSet candidates, BitSet bits) {
+			if (candidates == null) {
+				return (BitSet) bits.clone();
+			}
+			candidates.and(bits);
+			return candidates;
+		}
+	}
+}
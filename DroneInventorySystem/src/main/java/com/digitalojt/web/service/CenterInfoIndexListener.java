@@ -0,0 +1,51 @@
+package com.digitalojt.web.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.digitalojt.web.entity.CenterInfo;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * 在庫センター情報エンティティのライフサイクルイベントを受け、インメモリ索引へ反映するリスナー
+ * （Hibernate が Spring のBeanとして生成する）
+ *
+ * @author dotlife
+ */
+public class CenterInfoIndexListener {
+
+	/** 在庫センター索引（EntityManagerFactory 初期化時の循環参照を避けるため遅延取得） */
+	private final ObjectProvider<CenterInfoIndex> index;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param index 在庫センター索引
+	 */
+	public CenterInfoIndexListener(ObjectProvider<CenterInfoIndex> index) {
+		this.index = index;
+	}
+
+	/**
+	 * 登録・更新後（コミット後に索引へ反映）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostPersist
+	@PostUpdate
+	public void afterSave(CenterInfo entity) {
+		index.ifAvailable(i -> i.applyAfterCommit(entity, false));
+	}
+
+	/**
+	 * 削除後（コミット後に索引から除外）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostRemove
+	public void afterRemove(CenterInfo entity) {
+		index.ifAvailable(i -> i.applyAfterCommit(entity, true));
+	}
+}
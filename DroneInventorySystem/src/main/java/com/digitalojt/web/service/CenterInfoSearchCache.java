@@ -0,0 +1,252 @@
+package com.digitalojt.web.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.dto.CenterInfoRow;
+import com.digitalojt.web.dto.CenterInfoView;
+import com.digitalojt.web.entity.CenterInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 在庫センター情報 検索結果キャッシュ
+ *
+ * <pre>
+ * 正規化済みの検索条件をキーに、稼働中センターの検索結果を保持する読み込み時キャッシュ。
+ * - 件数上限（W-TinyLFU による追い出し）と有効期限（TTL）を持つ
+ * - 登録・更新・削除のコミット後に、変更前後のデータが条件に合致するキーのみを破棄する
+ * - ヒット・ミス・追い出し件数は Micrometer（cache.gets / cache.evictions）で参照できる
+ * - 検索結果は不変な複製（CenterInfoRow）で保持し、ヒット時は都度新しいエンティティに変換して返す
+ *   （返却したエンティティを変更しても、他のリクエストのキャッシュ結果には影響しない）
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class CenterInfoSearchCache {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(CenterInfoSearchCache.class);
+
+	/** メトリクス上のキャッシュ名 */
+	private static final String CACHE_NAME = "centerInfoSearch";
+
+	/** キャッシュ有効フラグ */
+	private final boolean enabled;
+
+	/** 検索条件 → 検索結果 */
+	private final Cache<Key, List<CenterInfoRow>> cache;
+
+	/**
+	 * 破棄処理の世代番号
+	 * 読み込み中に破棄が走った場合、古い結果を格納しないための判定に使用する
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled キャッシュ有効フラグ
+	 * @param maximumSize 最大件数
+	 * @param ttl 有効期限
+	 * @param meterRegistry メトリクス登録先
+	 */
+	public CenterInfoSearchCache(
+			@Value("${app.center-info.search-cache.enabled:true}") boolean enabled,
+			@Value("${app.center-info.search-cache.maximum-size:1000}") long maximumSize,
+			@Value("${app.center-info.search-cache.ttl:10m}") Duration ttl,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		logger.info("検索結果キャッシュ設定: enabled={}, maximumSize={}, ttl={}", enabled, maximumSize, ttl);
+	}
+
+	/**
+	 * キャッシュから検索結果を取得し、存在しない場合は読み込んで格納する
+	 *
+	 * @param key 正規化済みの検索条件
+	 * @param loader DB検索処理
+	 * @return 検索結果（呼び出しごとに新しいエンティティ）
+	 */
+	public List<CenterInfo> get(Key key, Supplier<List<CenterInfo>> loader) {
+		if (!enabled) {
+			return loader.get();
+		}
+
+		List<CenterInfoRow> cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return toEntities(cached);
+		}
+
+		long startGeneration = generation.get();
+		List<CenterInfo> loaded = loader.get();
+
+		// 読み込み中にデータが変更された場合は格納しない
+		if (generation.get() == startGeneration) {
+			cache.put(key, loaded.stream().map(CenterInfoRow::from).toList());
+			// 格納直後に破棄が走った場合に備えて再確認
+			if (generation.get() != startGeneration) {
+				cache.invalidate(key);
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * 保持している複製を新しいエンティティに変換
+	 *
+	 * @param rows 保持している検索結果
+	 * @return 検索結果
+	 */
+	private static List<CenterInfo> toEntities(List<CenterInfoRow> rows) {
+		List<CenterInfo> entities = new ArrayList<>(rows.size());
+		for (CenterInfoRow row : rows) {
+			entities.add(row.toEntity());
+		}
+		return entities;
+	}
+
+	/**
+	 * コミット後に、変更前後のデータに影響を受けるキャッシュを破棄する
+	 * トランザクション外で呼ばれた場合は即時に破棄する
+	 *
+	 * @param before 変更前のデータ（登録時は null）
+	 * @param after 変更後のデータ（削除時は null）
+	 */
+	public void invalidateAfterCommit(CenterInfoView before, CenterInfoView after) {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidate(before, after);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidate(before, after);
+			}
+		});
+	}
+
+	/**
+	 * コミット後に、すべての検索結果キャッシュを破棄する（一括登録・一括更新用）
+	 * トランザクション外で呼ばれた場合は即時に破棄する
+	 */
+	public void invalidateAllAfterCommit() {
+		if (!enabled) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidateAll();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				invalidateAll();
+			}
+		});
+	}
+
+	/**
+	 * すべてのキーを破棄
+	 */
+	private void invalidateAll() {
+		generation.incrementAndGet();
+		cache.invalidateAll();
+		logger.debug("検索結果キャッシュをすべて破棄");
+	}
+
+	/**
+	 * 変更前後のデータのいずれかが検索条件に合致するキーを破棄
+	 *
+	 * @param before 変更前のデータ
+	 * @param after 変更後のデータ
+	 */
+	private void invalidate(CenterInfoView before, CenterInfoView after) {
+		generation.incrementAndGet();
+		int sizeBefore = cache.asMap().size();
+		cache.asMap().keySet().removeIf(key -> key.matches(before) || key.matches(after));
+		logger.debug("検索結果キャッシュを破棄: {}件 → {}件", sizeBefore, cache.asMap().size());
+	}
+
+	/**
+	 * 検索結果キャッシュのキー（正規化済みの検索条件）
+	 *
+	 * @param centerName センター名（トリム済み、未指定は空文字）
+	 * @param region 都道府県名（トリム済み、未指定は空文字）
+	 * @param capacityFrom 容量範囲（最小）
+	 * @param capacityTo 容量範囲（最大）
+	 * @param afterCenterId ページング時の前ページ最終ID（全件検索は 0）
+	 * @param limit ページング時の取得件数（全件検索は 0）
+	 */
+	public record Key(String centerName, String region, int capacityFrom, int capacityTo,
+			int afterCenterId, int limit) {
+
+		/**
+		 * データが検索条件に合致するかを判定（findActiveCenters の WHERE 句と同じ条件）
+		 * 都道府県は region_code と同じく住所から導出して比較する
+		 * ページ位置は考慮せず、条件に合致すれば全ページを破棄対象とする
+		 *
+		 * @param center 判定対象（null の場合は合致しない）
+		 * @return 合致する場合 true
+		 */
+		boolean matches(CenterInfoView center) {
+			if (center == null) {
+				return false;
+			}
+			if (!Objects.equals(center.getOperationalStatus(), 0)) {
+				return false;
+			}
+			if (!likeMatches(center.getCenterName(), centerName.toUpperCase(Locale.ROOT))) {
+				return false;
+			}
+			if (!region.isEmpty() && Region.fromAddress(center.getAddress()) != Region.fromName(region)) {
+				return false;
+			}
+			Integer capacity = center.getCurrentStorageCapacity();
+			return capacity != null && capacity >= capacityFrom && capacity <= capacityTo;
+		}
+
+		/**
+		 * UPPER(value) LIKE '%pattern%' の部分一致を判定
+		 * パターンに LIKE のワイルドカード（% _）が含まれる場合は、安全側に倒して合致とみなす
+		 *
+		 * @param value 判定対象の値
+		 * @param pattern 検索条件（空文字は条件なし）
+		 * @return 合致する場合 true
+		 */
+		private static boolean likeMatches(String value, String pattern) {
+			if (pattern.isEmpty() || pattern.indexOf('%') >= 0 || pattern.indexOf('_') >= 0) {
+				return true;
+			}
+			if (value == null) {
+				return false;
+			}
+			return value.toUpperCase(Locale.ROOT).contains(pattern);
+		}
+	}
+}
@@ -6,16 +6,24 @@ import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import com.digitalojt.web.consts.ModelAttributeContents;
+import com.digitalojt.web.consts.OperationType;
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.consts.ScreenTitle;
 import com.digitalojt.web.dto.ApiResponseDto;
+import com.digitalojt.web.dto.CenterInfoView;
+import com.digitalojt.web.dto.KeysetPageDto;
 import com.digitalojt.web.entity.CenterInfo;
 import com.digitalojt.web.exception.BusinessLogicException;
 import com.digitalojt.web.exception.ResourceNotFoundException;
 import com.digitalojt.web.form.CenterInfoForm;
 import com.digitalojt.web.repository.CenterInfoRepository;
 import com.digitalojt.web.repository.StockRepository;
+import com.digitalojt.web.util.KeysetCursor;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +45,18 @@ public class CenterInfoService {
 	
 	/** 在庫情報リポジトリ（在庫有無チェック用） */
 	private final StockRepository stockRepository;
+	
+	/** 検索結果キャッシュ */
+	private final CenterInfoSearchCache searchCache;
+	
+	/** 稼働中センターのインメモリ索引 */
+	private final CenterInfoIndex centerInfoIndex;
+	
+	/** 操作履歴の記録 */
+	private final OperationLogRecorder operationLogRecorder;
+	
+	/** 在庫が存在するセンターのビットマップ */
+	private final StockPresenceIndex stockPresenceIndex;
 
 	/**
 	 * 在庫センター情報を全建検索で取得
@@ -80,10 +100,27 @@ public class CenterInfoService {
 		logger.info("在庫センター情報の条件検索を実行: centerName=[{}], region=[{}], capacityFrom={}, capacityTo={}", 
 				normalizedCenterName, normalizedRegion, fromCapacity, toCapacity);
 		
+		// 都道府県名を都道府県コードへ変換（該当する都道府県がない場合は0件）
+		Integer regionCode = toRegionCode(normalizedRegion);
+		if (!normalizedRegion.isEmpty() && regionCode == null) {
+			logger.info("該当する都道府県がありません: region=[{}]", normalizedRegion);
+			return List.of();
+		}
+		
 		try {
-			// リポジトリを使用して検索を実行
-			List<CenterInfo> results = repository.findActiveCenters(
-					normalizedCenterName, normalizedRegion, fromCapacity, toCapacity);
+			// インメモリ索引が使用できる場合は索引から応答
+			if (centerInfoIndex.canAnswer(normalizedCenterName)) {
+				List<CenterInfo> results = centerInfoIndex.find(
+						normalizedCenterName, regionCode, fromCapacity, toCapacity, 0, 0);
+				logger.info("条件検索結果（索引）: {}件のデータを取得", results.size());
+				return results;
+			}
+			
+			// キャッシュになければリポジトリを使用して検索を実行
+			CenterInfoSearchCache.Key key = new CenterInfoSearchCache.Key(
+					normalizedCenterName, normalizedRegion, fromCapacity, toCapacity, 0, 0);
+			List<CenterInfo> results = searchCache.get(key, () -> repository.findActiveCenters(
+					normalizedCenterName, regionCode, fromCapacity, toCapacity));
 			
 			// 検索結果のログ出力
 			logger.info("条件検索結果: {}件のデータを取得", results.size());
@@ -96,6 +133,89 @@ public class CenterInfoService {
 		}
 	}
 	
+	/**
+	 * 引数に合致する在庫センター情報をキーセット方式で1ページ分取得
+	 * 2026/10/18 機能追加 検索APIの全件返却をページングに置き換える
+	 * 
+	 * @param centerName センター名
+	 * @param region 地域
+	 * @param storageCapacityFrom 容量範囲（最小）
+	 * @param storageCapacityTo 容量範囲（最大）
+	 * @param cursor 前ページの nextCursor（先頭ページは null）
+	 * @param pageSize ページサイズ（null の場合は既定件数）
+	 * @return ページ情報（center_id 昇順）
+	 * @throws BusinessLogicException 容量範囲・カーソルが不正な場合
+	 */
+	public KeysetPageDto<CenterInfo> getCenterInfoPage(String centerName, String region,
+			Integer storageCapacityFrom, Integer storageCapacityTo, String cursor, Integer pageSize) {
+		// 検索条件の正規化
+		String normalizedCenterName = (centerName == null) ? "" : centerName.trim();
+		String normalizedRegion = (region == null) ? "" : region.trim();
+		Integer fromCapacity = (storageCapacityFrom == null) ? Integer.MIN_VALUE : storageCapacityFrom;
+		Integer toCapacity = (storageCapacityTo == null) ? Integer.MAX_VALUE : storageCapacityTo;
+		int size = (pageSize == null) ? ModelAttributeContents.DEFAULT_PAGE_SIZE
+				: Math.min(pageSize, ModelAttributeContents.MAX_PAGE_SIZE);
+		
+		// 容量の範囲チェック
+		if (fromCapacity > toCapacity) {
+			logger.warn("容量範囲が不正: From={}, To={}", fromCapacity, toCapacity);
+			throw new BusinessLogicException("容量の範囲指定が不正です。From値はTo値以下である必要があります。");
+		}
+		
+		// 前ページ最終行のセンターID（先頭ページは 0）
+		int lastCenterId = KeysetCursor.decodeInt(cursor, 0);
+		
+		logger.info("在庫センター情報のページ検索を実行: centerName=[{}], region=[{}], capacityFrom={}, capacityTo={}, after={}, size={}", 
+				normalizedCenterName, normalizedRegion, fromCapacity, toCapacity, lastCenterId, size);
+		
+		// 都道府県名を都道府県コードへ変換（該当する都道府県がない場合は0件）
+		Integer regionCode = toRegionCode(normalizedRegion);
+		if (!normalizedRegion.isEmpty() && regionCode == null) {
+			logger.info("該当する都道府県がありません: region=[{}]", normalizedRegion);
+			return KeysetPageDto.of(List.of(), size, center -> KeysetCursor.encode(center.getCenterId()));
+		}
+		
+		// 次ページ有無の判定用に1件多く取得する（索引 → キャッシュ → DB検索の順）
+		List<CenterInfo> fetched;
+		if (centerInfoIndex.canAnswer(normalizedCenterName)) {
+			fetched = centerInfoIndex.find(normalizedCenterName, regionCode,
+					fromCapacity, toCapacity, lastCenterId, size + 1);
+		} else {
+			CenterInfoSearchCache.Key key = new CenterInfoSearchCache.Key(
+					normalizedCenterName, normalizedRegion, fromCapacity, toCapacity, lastCenterId, size + 1);
+			fetched = searchCache.get(key, () -> repository.findActiveCentersAfter(
+					normalizedCenterName, regionCode, fromCapacity, toCapacity,
+					lastCenterId, PageRequest.ofSize(size + 1)));
+		}
+		
+		KeysetPageDto<CenterInfo> page = KeysetPageDto.of(fetched, size,
+				center -> KeysetCursor.encode(center.getCenterId()));
+		logger.info("ページ検索結果: {}件のデータを取得, hasNext={}", page.getItems().size(), page.isHasNext());
+		
+		return page;
+	}
+	
+	/**
+	 * 正規化済みの都道府県名を都道府県コードへ変換
+	 * 
+	 * @param normalizedRegion 都道府県名（空文字は条件なし）
+	 * @return 都道府県コード（条件なし・該当なしの場合は null）
+	 */
+	private static Integer toRegionCode(String normalizedRegion) {
+		Region region = Region.fromName(normalizedRegion);
+		return (region == null) ? null : region.getCode();
+	}
+	
+	/**
+	 * 操作履歴に記録する操作内容
+	 * 
+	 * @param centerInfo 操作対象
+	 * @return 操作内容
+	 */
+	private static String describe(CenterInfo centerInfo) {
+		return "センターID=" + centerInfo.getCenterId() + ", センター名=" + centerInfo.getCenterName();
+	}
+	
 	/**
 	 * 在庫センター情報を新規登録する
 	 * 
@@ -145,6 +265,12 @@ public class CenterInfoService {
 	    try {
 	        saved = repository.save(entity);
 	        logger.info("新規登録成功: id={}", saved.getCenterId());
+	        
+	        // コミット後に影響する検索結果キャッシュを破棄
+	        searchCache.invalidateAfterCommit(null, CenterInfoView.from(saved));
+	        
+	        // コミット後に操作履歴を記録
+	        operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.CREATE, describe(saved));
 	    } catch (Exception e) {
 	        // ★ ここでスタックトレースを完全出力し、再スロー
 	        logger.error("INSERT FAILED - 保存処理で例外発生", e);
@@ -196,6 +322,9 @@ public class CenterInfoService {
         	
         }
         
+        // キャッシュ破棄判定用に変更前の状態を保持
+        CenterInfoView before = CenterInfoView.from(entity);
+        
         /* ---------- 値の上書き ---------- */
         entity.setCenterName(form.getCenterName());
         entity.setPostCode(form.getPostCode());
@@ -210,6 +339,12 @@ public class CenterInfoService {
         /* ---------- ④ 永続化 ---------- */
         CenterInfo saved = repository.save(entity);
         logger.info("更新完了: id={}, newVersion={}", saved.getCenterId(), saved.getVersion());
+        
+        // コミット後に影響する検索結果キャッシュを破棄
+        searchCache.invalidateAfterCommit(before, CenterInfoView.from(saved));
+        
+        // コミット後に操作履歴を記録
+        operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.UPDATE, describe(saved));
 
         return saved;
         
@@ -219,7 +354,7 @@ public class CenterInfoService {
      * 在庫センター情報を削除する
      *
      * <pre>
-     * 削除前にStockRepositoryで在庫データ有無をチェック
+     * 削除前に在庫データ有無をチェック（2026/10/18 性能改善: 件数取得をやめ、ビットマップと存在確認で判定）
      * 在庫が存在する場合は削除不可＆エラーメッセージ返却
      * 在庫が存在しない場合のみ削除を実行
      * </pre>
@@ -234,8 +369,7 @@ public class CenterInfoService {
 	    logger.info("削除処理開始: centerId={}, version={}", id, version);
 	    
 	 // 在庫有無チェック
-	    long stockCount = stockRepository.countByCenterId(id);
-	    if (stockCount > 0) {
+	    if (hasStock(id)) {
 	    	
 	    	// 在庫データが1件以上存在する場合は削除不可
 	    	logger.warn("在庫が存在するため、センター情報を削除できません: centerId={}", id);
@@ -258,6 +392,12 @@ public class CenterInfoService {
 	    	// entity指定でdelete（versionがWHERE句に反映される）
 	        repository.delete(entity); 
 	        logger.info("削除成功: centerId={}", id);
+	        
+	        // コミット後に影響する検索結果キャッシュを破棄
+	        searchCache.invalidateAfterCommit(CenterInfoView.from(entity), null);
+	        
+	        // コミット後に操作履歴を記録
+	        operationLogRecorder.record(ScreenTitle.CENTER_INFO, OperationType.DELETE, describe(entity));
 	        return ApiResponseDto.<Void>success(null, "削除処理を正常に終了しました。");
 	        
 	    } catch (Exception e) {
@@ -269,4 +409,23 @@ public class CenterInfoService {
 	    }
 	}
 	
+	/**
+	 * センターに在庫が存在するか
+	 *
+	 * <pre>
+	 * 在庫有無ビットマップでビットが立っていれば、DB にアクセスせず在庫ありと判定する。
+	 * ビットが立っていない場合（未ロード・他サーバーで登録直後を含む）は、削除が取り消せないため
+	 * LIMIT 1 の存在確認で確定させる。
+	 * </pre>
+	 *
+	 * @param id センターID
+	 * @return 在庫が1件以上存在する場合 true
+	 */
+	private boolean hasStock(int id) {
+		if (stockPresenceIndex.isReady() && stockPresenceIndex.hasStock(id)) {
+			return true;
+		}
+		return stockRepository.existsByCenterId(id);
+	}
+	
 }
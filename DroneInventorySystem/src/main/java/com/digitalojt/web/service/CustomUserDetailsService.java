@@ -1,19 +1,29 @@
 package com.digitalojt.web.service;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.digitalojt.web.consts.RoleConstants;
 import com.digitalojt.web.repository.AdminInfoRepository;
+import com.digitalojt.web.service.AdminCredentialCache.Credential;
+import com.digitalojt.web.util.InvalidCharacterSanitizer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * ユーザー情報生成
+ * 2026/10/18 性能改善:
+ *   - 認証情報を AdminCredentialCache から取得し、ログインのたびの DB 検索を省略
+ *   - UserDetailsPasswordService を実装し、弱い強度のパスワードハッシュをログイン成功時に再ハッシュして保存
  *
  * @author dotlife
  * 
@@ -21,11 +31,14 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 	
 	// 管理者情報リポジトリー
 	private final AdminInfoRepository repository;
 
+	// 認証情報キャッシュ
+	private final AdminCredentialCache credentialCache;
+
 	/**
 	 * ユーザー情報生成
 	 * 
@@ -40,14 +53,58 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException(username);
         }
 
-        return repository.findById(username)
-                .map(adminInfo -> User.withUsername(adminInfo.getAdminId())
-                        .password(adminInfo.getPassword())
-                        .roles(RoleConstants.ROLE_USER)
-                        .build())
+        return credentialCache.get(username, this::loadCredential)
+                .map(CustomUserDetailsService::toUserDetails)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
     }
 
+	/**
+	 * パスワードハッシュの更新
+	 * 保存済みのハッシュが現在の強度より弱い場合に、ログイン成功時に Spring Security から呼ばれる
+	 * （キャッシュはコミット後に AdminInfoCacheListener が破棄する）
+	 *
+	 * @param user ログインしたユーザー情報
+	 * @param newPassword 現在の強度で再ハッシュしたパスワード
+	 * @return 更新後のユーザー情報
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		repository.findById(user.getUsername()).ifPresent(adminInfo -> {
+			adminInfo.setPassword(newPassword);
+			adminInfo.setUpdateDate(LocalDateTime.now());
+			log.info("パスワードハッシュを現在の強度で更新しました: {}", adminInfo.getAdminId());
+		});
+		return User.withUserDetails(user)
+				.password(newPassword)
+				.build();
+	}
+
+	/**
+	 * 管理者情報テーブルから認証情報を取得
+	 *
+	 * @param adminId 管理者ID
+	 * @return 認証情報（存在しない場合は空）
+	 */
+	private Optional<Credential> loadCredential(String adminId) {
+		return repository.findById(adminId)
+				.map(adminInfo -> new Credential(adminInfo.getAdminId(), adminInfo.getPassword()));
+	}
+
+	/**
+	 * 認証情報からユーザー情報を生成
+	 * （ログイン後に資格情報が消去されるため、キャッシュした値から毎回生成する）
+	 *
+	 * @param credential 認証情報
+	 * @return ユーザー情報
+	 */
+	private static UserDetails toUserDetails(Credential credential) {
+		return User.withUsername(credential.adminId())
+				.password(credential.password())
+				.roles(RoleConstants.ROLE_USER)
+				.build();
+	}
+
 	/**
 	 * adminIdのバリデーションチェック
 	 * 
@@ -59,20 +116,9 @@ public class CustomUserDetailsService implements UserDetailsService {
             return false;
         }
 
-        // 半角スペースチェック
-        if (adminId.contains(" ")) {
-            return false;
-        }
-
-        // 禁止文字チェック
-        String invalidChars = "{}()'*;$=&";
-        for (char c : invalidChars.toCharArray()) {
-            if (adminId.indexOf(c) >= 0) {
-                return false;
-            }
-        }
-
-        return true;
+        // 禁止文字チェック（半角スペース・{}()'*;$=&）
+        // 2026/10/18 性能改善 禁止文字ごとの indexOf をビット表による判定に置き換え（禁止文字は従来どおり）
+        return !InvalidCharacterSanitizer.containsInvalidAdminIdCharacter(adminId);
     }
 
 }
@@ -0,0 +1,284 @@
+package com.digitalojt.web.service;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.digitalojt.web.util.SlidingWindowCounter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ログイン試行の制限
+ *
+ * <pre>
+ * 直近 window のログイン試行回数を、以下の3つのキーでスライディングウィンドウに数える。
+ * - 管理者ID + 接続元IPアドレス : 同じ接続元からの同じ管理者IDへの総当たり
+ * - 接続元IPアドレス           : 同じ接続元から複数の管理者IDを試す攻撃（パスワードスプレー）
+ * - 管理者ID                   : 複数の接続元から同じ管理者IDを試す攻撃（分散した総当たり）
+ * 試行回数はパスワードの照合（BCrypt）の前に3つのキーすべてへ加算し、加算後の回数で判定する。
+ * （判定と加算を分けないため、同時に送られた試行が上限を超えて照合に進むことはない）
+ * - 管理者ID + 接続元IPアドレス・接続元IPアドレスのいずれかが上限を超えた場合は、照合せずに拒否する
+ * - 管理者IDが上限を超えた場合は account-policy に従う
+ *   （DELAY: 超過回数に応じた間隔で1回だけ照合を許可し、間隔内の試行は照合せずに拒否する / BLOCK: 照合せずに拒否する）
+ * いずれの場合も待機はせず、リクエストのスレッドを占有しない。
+ * 拒否した試行・ログインに成功した試行・照合以外の理由で失敗した試行は回数から取り消す
+ * （成功した場合は「管理者ID + 接続元IPアドレス」の回数を破棄する）。
+ * 結果として、各キーの回数は直近 window のログイン失敗回数（照合中の試行を含む）になる。
+ * 拒否した件数は Micrometer（login.throttle.blocked、scope タグ）で参照できる。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Service
+public class LoginThrottleService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+	/** キーに含める管理者IDの最大文字数（admin_info.admin_id の桁数） */
+	private static final int MAX_ADMIN_ID_LENGTH = 100;
+
+	/**
+	 * 管理者IDごとの上限を超えた場合の扱い
+	 */
+	public enum AccountPolicy {
+		/**
+		 * 超過回数に応じた間隔（account-delay から倍々、account-max-delay まで）で1回だけ照合を許可する
+		 * 第三者が失敗を重ねても管理者を完全には締め出せないが、空いた照合の機会を攻撃者と取り合うことになる
+		 */
+		DELAY,
+		/**
+		 * 照合せずに拒否する
+		 * 分散した総当たりは止められるが、第三者が失敗を重ねることで管理者を window の間締め出せる
+		 */
+		BLOCK
+	}
+
+	/** 制限有効フラグ */
+	private final boolean enabled;
+
+	/** 上限（管理者ID + 接続元IPアドレス） */
+	private final int maxFailuresPerAccountAndAddress;
+
+	/** 上限（接続元IPアドレス） */
+	private final int maxFailuresPerAddress;
+
+	/** 上限（管理者ID） */
+	private final int maxFailuresPerAccount;
+
+	/** 管理者IDごとの上限を超えた場合の扱い */
+	private final AccountPolicy accountPolicy;
+
+	/** 照合を許可する間隔（上限を1回超えた場合。超過回数ごとに2倍にする） */
+	private final long accountDelayNanos;
+
+	/** 照合を許可する間隔の上限 */
+	private final long accountMaxDelayNanos;
+
+	/** 試行回数 */
+	private final SlidingWindowCounter attempts;
+
+	/** ログイン失敗の件数 */
+	private final Counter failureCounter;
+
+	/** 拒否した件数（管理者ID + 接続元IPアドレス） */
+	private final Counter blockedByAccountAndAddress;
+
+	/** 拒否した件数（接続元IPアドレス） */
+	private final Counter blockedByAddress;
+
+	/** 拒否した件数（管理者ID） */
+	private final Counter blockedByAccount;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled 制限有効フラグ
+	 * @param window 試行回数を数える期間
+	 * @param maxFailuresPerAccountAndAddress 上限（管理者ID + 接続元IPアドレス）
+	 * @param maxFailuresPerAddress 上限（接続元IPアドレス）
+	 * @param maxFailuresPerAccount 上限（管理者ID）
+	 * @param accountPolicy 管理者IDごとの上限を超えた場合の扱い
+	 * @param accountDelay 照合を許可する間隔（上限を1回超えた場合）
+	 * @param accountMaxDelay 照合を許可する間隔の上限
+	 * @param maximumKeys 保持するキーの上限
+	 * @param stripes ロックの分割数
+	 * @param meterRegistry メトリクス登録先
+	 */
+	public LoginThrottleService(
+			@Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+			@Value("${app.security.login-throttle.window:15m}") Duration window,
+			@Value("${app.security.login-throttle.max-failures-per-account-and-address:5}") int maxFailuresPerAccountAndAddress,
+			@Value("${app.security.login-throttle.max-failures-per-address:20}") int maxFailuresPerAddress,
+			@Value("${app.security.login-throttle.max-failures-per-account:50}") int maxFailuresPerAccount,
+			@Value("${app.security.login-throttle.account-policy:DELAY}") AccountPolicy accountPolicy,
+			@Value("${app.security.login-throttle.account-delay:1s}") Duration accountDelay,
+			@Value("${app.security.login-throttle.account-max-delay:30s}") Duration accountMaxDelay,
+			@Value("${app.security.login-throttle.maximum-keys:100000}") int maximumKeys,
+			@Value("${app.security.login-throttle.stripes:64}") int stripes,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.maxFailuresPerAccountAndAddress = maxFailuresPerAccountAndAddress;
+		this.maxFailuresPerAddress = maxFailuresPerAddress;
+		this.maxFailuresPerAccount = maxFailuresPerAccount;
+		this.accountPolicy = accountPolicy;
+		this.accountDelayNanos = accountDelay.toNanos();
+		this.accountMaxDelayNanos = accountMaxDelay.toNanos();
+		this.attempts = new SlidingWindowCounter(window, maximumKeys, stripes);
+		this.failureCounter = Counter.builder("login.failures")
+				.description("ログイン失敗（パスワード不一致・管理者ID不明）の件数")
+				.register(meterRegistry);
+		this.blockedByAccountAndAddress = blockedCounter(meterRegistry, "account_address");
+		this.blockedByAddress = blockedCounter(meterRegistry, "address");
+		this.blockedByAccount = blockedCounter(meterRegistry, "account");
+		Gauge.builder("login.throttle.keys", attempts, SlidingWindowCounter::size)
+				.description("試行回数を保持しているキーの件数")
+				.register(meterRegistry);
+		logger.info("ログイン試行制限設定: enabled={}, window={}, 上限(ID+IP/IP/ID)={}/{}/{}, accountPolicy={}, "
+				+ "accountDelay={}, accountMaxDelay={}, maximumKeys={}", enabled, window,
+				maxFailuresPerAccountAndAddress, maxFailuresPerAddress, maxFailuresPerAccount, accountPolicy,
+				accountDelay, accountMaxDelay, maximumKeys);
+	}
+
+	/**
+	 * ログインの試行を記録し、照合してよいかを判定
+	 * 管理者IDごとの上限を超えている場合、account-policy が DELAY であれば前回の照合から間隔が空いている場合のみ true を返す。
+	 * 待機はしない。true を返した場合は、照合の結果に応じて recordSuccess / recordFailure / release のいずれかを呼び出すこと
+	 *
+	 * @param adminId 入力された管理者ID
+	 * @param address 接続元IPアドレス
+	 * @return 照合してよい場合 true（上限を超えている場合は false。試行は記録しない）
+	 */
+	public boolean tryAcquire(String adminId, String address) {
+		if (!enabled) {
+			return true;
+		}
+		String account = normalize(adminId);
+		double accountAndAddressCount = attempts.increment(accountAndAddressKey(account, address));
+		double addressCount = attempts.increment(addressKey(address));
+		double accountCount = attempts.increment(accountKey(account));
+
+		Counter blocked = null;
+		if (accountAndAddressCount > maxFailuresPerAccountAndAddress) {
+			blocked = blockedByAccountAndAddress;
+		} else if (addressCount > maxFailuresPerAddress) {
+			blocked = blockedByAddress;
+		} else if (accountCount > maxFailuresPerAccount && (accountPolicy == AccountPolicy.BLOCK
+				|| !attempts.tryReserve(accountKey(account), accountDelayNanos(accountCount - maxFailuresPerAccount)))) {
+			blocked = blockedByAccount;
+		}
+		if (blocked != null) {
+			release(account, address);
+			blocked.increment();
+			logger.warn("ログイン試行の上限に達したため拒否しました: adminId={}, address={}, scope={}", account, address,
+					blocked.getId().getTag("scope"));
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * ログイン失敗を記録（試行回数は tryAcquire で加算済み）
+	 *
+	 * @param adminId 入力された管理者ID
+	 * @param address 接続元IPアドレス
+	 */
+	public void recordFailure(String adminId, String address) {
+		failureCounter.increment();
+	}
+
+	/**
+	 * ログイン成功を記録
+	 * 管理者ID + 接続元IPアドレスの回数を破棄し、接続元IPアドレス・管理者IDの回数から今回の試行を取り消す
+	 *
+	 * @param adminId 管理者ID
+	 * @param address 接続元IPアドレス
+	 */
+	public void recordSuccess(String adminId, String address) {
+		if (!enabled) {
+			return;
+		}
+		String account = normalize(adminId);
+		attempts.reset(accountAndAddressKey(account, address));
+		attempts.decrement(addressKey(address));
+		attempts.decrement(accountKey(account));
+	}
+
+	/**
+	 * 照合以外の理由（DB 障害など）で失敗した試行を取り消す
+	 *
+	 * @param adminId 入力された管理者ID
+	 * @param address 接続元IPアドレス
+	 */
+	public void release(String adminId, String address) {
+		if (!enabled) {
+			return;
+		}
+		String account = normalize(adminId);
+		attempts.decrement(accountAndAddressKey(account, address));
+		attempts.decrement(addressKey(address));
+		attempts.decrement(accountKey(account));
+	}
+
+	/**
+	 * 管理者IDごとの上限の超過回数に応じた照合の間隔（超過1回目で account-delay、以降1回ごとに2倍、account-max-delay まで）
+	 *
+	 * @param excess 超過回数
+	 * @return 間隔（ナノ秒）
+	 */
+	private long accountDelayNanos(double excess) {
+		long delayNanos = accountDelayNanos;
+		for (int i = 1; i < excess && 0 < delayNanos && delayNanos < accountMaxDelayNanos; i++) {
+			delayNanos <<= 1;
+		}
+		return Math.min(delayNanos, accountMaxDelayNanos);
+	}
+
+	/**
+	 * 管理者IDを正規化（null は空文字、長すぎる場合は切り詰め）
+	 *
+	 * @param adminId 管理者ID
+	 * @return 正規化した管理者ID
+	 */
+	private static String normalize(String adminId) {
+		if (adminId == null) {
+			return "";
+		}
+		return (adminId.length() > MAX_ADMIN_ID_LENGTH) ? adminId.substring(0, MAX_ADMIN_ID_LENGTH) : adminId;
+	}
+
+	/** キー（管理者ID + 接続元IPアドレス） */
+	private static String accountAndAddressKey(String account, String address) {
+		return "P:" + address + "|" + account;
+	}
+
+	/** キー（接続元IPアドレス） */
+	private static String addressKey(String address) {
+		return "A:" + address;
+	}
+
+	/** キー（管理者ID） */
+	private static String accountKey(String account) {
+		return "U:" + account;
+	}
+
+	/**
+	 * 拒否した件数のカウンターを登録
+	 *
+	 * @param meterRegistry メトリクス登録先
+	 * @param scope 上限の種類
+	 * @return カウンター
+	 */
+	private static Counter blockedCounter(MeterRegistry meterRegistry, String scope) {
+		return Counter.builder("login.throttle.blocked")
+				.description("ログイン試行の上限に達したため、照合せずに拒否した件数")
+				.tag("scope", scope)
+				.register(meterRegistry);
+	}
+}
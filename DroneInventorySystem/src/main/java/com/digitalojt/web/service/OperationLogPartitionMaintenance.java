@@ -0,0 +1,254 @@
+package com.digitalojt.web.service;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 操作履歴テーブル（operation_log）の月次パーティション保守
+ *
+ * <pre>
+ * 起動時と毎日の定期実行で以下を行う（V1_0_3 でパーティション化した MySQL のみ対象）。
+ * - 当月から months-ahead ヶ月先までのパーティションを pmax から切り出して作成
+ * - retention-months ヶ月より前のパーティションを削除
+ *   （expired-action=ARCHIVE の場合は operation_log_archive_pYYYYMM テーブルへ交換してから削除）
+ * パーティション化されていない環境（H2・移行前の DB）では何もしない。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class OperationLogPartitionMaintenance {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(OperationLogPartitionMaintenance.class);
+
+	/** 対象テーブル */
+	private static final String TABLE = "operation_log";
+
+	/** 上限なしパーティション名 */
+	private static final String MAX_PARTITION = "pmax";
+
+	/** 月次パーティション名の書式 */
+	private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+	/** パーティション境界値の書式 */
+	private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	/**
+	 * 保持期間を過ぎたパーティションの扱い
+	 */
+	public enum ExpiredAction {
+		/** 削除する */
+		DROP,
+		/** アーカイブテーブルへ交換してから削除する */
+		ARCHIVE
+	}
+
+	/**
+	 * パーティション情報
+	 *
+	 * @param name パーティション名
+	 * @param upperBound 上限（この日時未満を格納、pmax は null）
+	 */
+	record Partition(String name, LocalDateTime upperBound) {
+	}
+
+	/** 保守有効フラグ */
+	private final boolean enabled;
+
+	/** 事前に作成する月数 */
+	private final int monthsAhead;
+
+	/** 保持する月数 */
+	private final int retentionMonths;
+
+	/** 保持期間を過ぎたパーティションの扱い */
+	private final ExpiredAction expiredAction;
+
+	/** JDBC テンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled 保守有効フラグ
+	 * @param monthsAhead 事前に作成する月数
+	 * @param retentionMonths 保持する月数
+	 * @param expiredAction 保持期間を過ぎたパーティションの扱い
+	 * @param jdbcTemplate JDBC テンプレート
+	 */
+	public OperationLogPartitionMaintenance(
+			@Value("${app.operation-log.partition.enabled:true}") boolean enabled,
+			@Value("${app.operation-log.partition.months-ahead:3}") int monthsAhead,
+			@Value("${app.operation-log.partition.retention-months:13}") int retentionMonths,
+			@Value("${app.operation-log.partition.expired-action:DROP}") ExpiredAction expiredAction,
+			JdbcTemplate jdbcTemplate) {
+		this.enabled = enabled;
+		this.monthsAhead = monthsAhead;
+		this.retentionMonths = retentionMonths;
+		this.expiredAction = expiredAction;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * 起動時に保守を実行
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		maintain();
+	}
+
+	/**
+	 * パーティションの作成・削除を実行（毎日定時）
+	 */
+	@Scheduled(cron = "${app.operation-log.partition.cron:0 30 3 * * *}")
+	public void maintain() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			List<Partition> partitions = loadPartitions();
+			if (partitions.isEmpty()) {
+				logger.info("{} はパーティション化されていないため保守をスキップします", TABLE);
+				return;
+			}
+			LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+			createUpcoming(partitions, firstOfMonth);
+			removeExpired(partitions, firstOfMonth);
+		} catch (DataAccessException e) {
+			logger.error("{} のパーティション保守に失敗しました", TABLE, e);
+		}
+	}
+
+	/**
+	 * 当月から months-ahead ヶ月先までのパーティションを作成
+	 *
+	 * @param partitions 既存パーティション
+	 * @param firstOfMonth 当月1日
+	 */
+	private void createUpcoming(List<Partition> partitions, LocalDate firstOfMonth) {
+		boolean hasMax = partitions.stream().anyMatch(p -> p.upperBound() == null);
+		if (!hasMax) {
+			logger.warn("{} に {} パーティションがないため、パーティションを作成できません", TABLE, MAX_PARTITION);
+			return;
+		}
+		LocalDateTime target = firstOfMonth.plusMonths(monthsAhead + 1L).atStartOfDay();
+		LocalDateTime bound = partitions.stream()
+				.map(Partition::upperBound)
+				.filter(b -> b != null)
+				.max(LocalDateTime::compareTo)
+				.orElse(firstOfMonth.atStartOfDay());
+
+		List<String> definitions = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		while (bound.isBefore(target)) {
+			LocalDateTime next = bound.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+			String name = PARTITION_NAME.format(bound);
+			definitions.add("PARTITION `" + name + "` VALUES LESS THAN ('" + BOUND.format(next) + "')");
+			names.add(name);
+			bound = next;
+		}
+		if (definitions.isEmpty()) {
+			return;
+		}
+		definitions.add("PARTITION `" + MAX_PARTITION + "` VALUES LESS THAN (MAXVALUE)");
+		jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION `" + MAX_PARTITION + "` INTO ("
+				+ String.join(", ", definitions) + ")");
+		logger.info("{} にパーティションを作成しました: {}", TABLE, names);
+	}
+
+	/**
+	 * retention-months ヶ月より前のパーティションを削除（またはアーカイブ）
+	 *
+	 * @param partitions 既存パーティション
+	 * @param firstOfMonth 当月1日
+	 */
+	private void removeExpired(List<Partition> partitions, LocalDate firstOfMonth) {
+		LocalDateTime cutoff = firstOfMonth.minusMonths(retentionMonths).atStartOfDay();
+		for (Partition partition : partitions) {
+			if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+				continue;
+			}
+			if (expiredAction == ExpiredAction.ARCHIVE) {
+				archive(partition.name());
+			}
+			jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION `" + partition.name() + "`");
+			logger.info("{} の保持期間を過ぎたパーティションを削除しました: {}（{} 未満）",
+					TABLE, partition.name(), partition.upperBound());
+		}
+	}
+
+	/**
+	 * パーティションの内容をアーカイブテーブルへ交換（データのコピーは発生しない）
+	 *
+	 * @param partitionName パーティション名
+	 */
+	private void archive(String partitionName) {
+		String archiveTable = TABLE + "_archive_" + partitionName;
+		Integer exists = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+				Integer.class, archiveTable);
+		if (exists == null || exists == 0) {
+			// 交換先は同じ構造の非パーティションテーブル（空）とする
+			jdbcTemplate.execute("CREATE TABLE `" + archiveTable + "` LIKE " + TABLE);
+			jdbcTemplate.execute("ALTER TABLE `" + archiveTable + "` REMOVE PARTITIONING");
+		}
+		jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION `" + partitionName
+				+ "` WITH TABLE `" + archiveTable + "`");
+		logger.info("{} のパーティションをアーカイブしました: {} → {}", TABLE, partitionName, archiveTable);
+	}
+
+	/**
+	 * 既存パーティションを取得
+	 *
+	 * @return パーティション一覧（パーティション化されていない・MySQL 以外の場合は空）
+	 */
+	private List<Partition> loadPartitions() {
+		if (!isMySql()) {
+			return List.of();
+		}
+		return jdbcTemplate.query(
+				"SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+						+ "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+						+ "ORDER BY PARTITION_ORDINAL_POSITION",
+				(rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))),
+				TABLE);
+	}
+
+	/**
+	 * 接続先が MySQL か
+	 */
+	private boolean isMySql() {
+		String product = jdbcTemplate.execute(
+				(Connection connection) -> connection.getMetaData().getDatabaseProductName());
+		return product != null && product.toLowerCase().contains("mysql");
+	}
+
+	/**
+	 * パーティション境界値（'2026-11-01 00:00:00' または MAXVALUE）を変換
+	 */
+	private static LocalDateTime parseBound(String description) {
+		if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+			return null;
+		}
+		String value = description.replace("'", "").trim();
+		if (value.length() == 10) {
+			return LocalDate.parse(value).atStartOfDay();
+		}
+		return LocalDateTime.parse(value, BOUND);
+	}
+}
@@ -0,0 +1,381 @@
+package com.digitalojt.web.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.digitalojt.web.consts.OperationStatus;
+import com.digitalojt.web.consts.OperationType;
+import com.digitalojt.web.consts.ScreenTitle;
+import com.digitalojt.web.util.BoundedRingBuffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 操作履歴の非同期記録クラス
+ *
+ * <pre>
+ * 業務トランザクション内では INSERT を発行せず、コミット後に操作履歴をリングバッファへ投入する。
+ * 専用スレッドがバッファから取り出し、JDBC バッチ INSERT でまとめて operation_log に書き込む。
+ * - ロールバックされた操作は記録しない
+ * - バッファが満杯の場合は overflow-policy に従う
+ *   （CALLER_RUNS: 呼び出し元スレッドで即時に書き込む / DROP: 破棄して件数を記録する）
+ * - アプリケーション停止時は滞留分を書き込んでから終了する
+ *   （停止と同時に投入された分は、投入したスレッドが停止を検知して書き込む）
+ * - 滞留件数・書き込み時間などは Micrometer（operation.log.*）で参照できる
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class OperationLogRecorder {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(OperationLogRecorder.class);
+
+	/** 登録SQL */
+	private static final String INSERT_SQL = "INSERT INTO operation_log "
+			+ "(admin_id, table_key, operate_type, status, operation_details, delete_flag, create_date, update_date) "
+			+ "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+	/** 操作内容の最大長（operation_details 列の長さ） */
+	private static final int MAX_DETAILS_LENGTH = 255;
+
+	/** 停止時に書き込みスレッドの終了を待つ時間 */
+	private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+	/**
+	 * バッファが満杯の場合の扱い
+	 */
+	public enum OverflowPolicy {
+		/** 呼び出し元スレッドで即時に書き込む（記録漏れなし、応答時間は増える） */
+		CALLER_RUNS,
+		/** 破棄する（応答時間を優先） */
+		DROP
+	}
+
+	/**
+	 * 操作履歴1件分の記録内容
+	 *
+	 * @param adminId 操作した管理者ID
+	 * @param tableKey 画面のテーブルキー
+	 * @param operateType 操作種類コード
+	 * @param status 操作ステータスコード
+	 * @param details 操作内容
+	 * @param occurredAt 操作日時
+	 */
+	record Entry(String adminId, String tableKey, int operateType, int status, String details,
+			LocalDateTime occurredAt) {
+	}
+
+	/** 記録有効フラグ */
+	private final boolean enabled;
+
+	/** 1回の書き込み件数の上限 */
+	private final int batchSize;
+
+	/** 書き込み間隔（バッチ件数に満たない場合の最大待ち時間） */
+	private final long flushIntervalNanos;
+
+	/** バッファ満杯時の扱い */
+	private final OverflowPolicy overflowPolicy;
+
+	/** 操作履歴のリングバッファ */
+	private final BoundedRingBuffer<Entry> buffer;
+
+	/** JDBC テンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** 書き込み時間 */
+	private final Timer flushTimer;
+
+	/** 1回の書き込み件数 */
+	private final DistributionSummary flushSize;
+
+	/** 書き込み件数 */
+	private final Counter writtenCounter;
+
+	/** 書き込み失敗件数 */
+	private final Counter failedCounter;
+
+	/** 破棄件数 */
+	private final Counter droppedCounter;
+
+	/** 呼び出し元スレッドでの書き込み件数 */
+	private final Counter callerRunsCounter;
+
+	/** バッファからの取り出しの排他（取り出しは単一スレッド専用のため。停止後は投入したスレッドも取り出す） */
+	private final Object drainLock = new Object();
+
+	/** 書き込みスレッド */
+	private Thread writer;
+
+	/** 稼働中フラグ */
+	private volatile boolean running;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param enabled 記録有効フラグ
+	 * @param bufferSize バッファ容量
+	 * @param batchSize 1回の書き込み件数の上限
+	 * @param flushInterval 書き込み間隔
+	 * @param overflowPolicy バッファ満杯時の扱い
+	 * @param jdbcTemplate JDBC テンプレート
+	 * @param meterRegistry メトリクス登録先
+	 */
+	public OperationLogRecorder(
+			@Value("${app.operation-log.enabled:true}") boolean enabled,
+			@Value("${app.operation-log.buffer-size:8192}") int bufferSize,
+			@Value("${app.operation-log.batch-size:200}") int batchSize,
+			@Value("${app.operation-log.flush-interval:500ms}") Duration flushInterval,
+			@Value("${app.operation-log.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy,
+			JdbcTemplate jdbcTemplate,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.flushIntervalNanos = flushInterval.toNanos();
+		this.overflowPolicy = overflowPolicy;
+		this.buffer = new BoundedRingBuffer<>(bufferSize);
+		this.jdbcTemplate = jdbcTemplate;
+
+		Gauge.builder("operation.log.queue.depth", buffer, BoundedRingBuffer::size)
+				.description("操作履歴の書き込み待ち件数")
+				.register(meterRegistry);
+		Gauge.builder("operation.log.queue.capacity", buffer, BoundedRingBuffer::capacity)
+				.description("操作履歴バッファの容量")
+				.register(meterRegistry);
+		this.flushTimer = Timer.builder("operation.log.flush")
+				.description("操作履歴のバッチ書き込み時間")
+				.register(meterRegistry);
+		this.flushSize = DistributionSummary.builder("operation.log.flush.size")
+				.description("操作履歴の1回の書き込み件数")
+				.register(meterRegistry);
+		this.writtenCounter = meterRegistry.counter("operation.log.written");
+		this.failedCounter = meterRegistry.counter("operation.log.failed");
+		this.droppedCounter = meterRegistry.counter("operation.log.dropped");
+		this.callerRunsCounter = meterRegistry.counter("operation.log.caller.runs");
+	}
+
+	/**
+	 * 書き込みスレッドを開始
+	 */
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			logger.info("操作履歴の記録は無効です");
+			return;
+		}
+		running = true;
+		writer = new Thread(this::writeLoop, "operation-log-writer");
+		writer.setDaemon(true);
+		writer.start();
+		logger.info("操作履歴の記録を開始: bufferSize={}, batchSize={}, flushInterval={}ms, overflowPolicy={}",
+				buffer.capacity(), batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), overflowPolicy);
+	}
+
+	/**
+	 * 滞留分を書き込んでから書き込みスレッドを停止
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(SHUTDOWN_TIMEOUT.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (writer.isAlive()) {
+			logger.warn("操作履歴の書き込みが停止時間内に終わりませんでした: 残り{}件", buffer.size());
+			return;
+		}
+		// 書き込みスレッドの最後の取り出し以降に投入された分を書き込む
+		flushRemaining(new ArrayList<>(batchSize));
+		logger.info("操作履歴の記録を停止しました");
+	}
+
+	/**
+	 * 操作成功の履歴を記録
+	 * トランザクション内で呼ばれた場合はコミット後に記録し、ロールバック時は記録しない
+	 *
+	 * @param screen 操作した画面
+	 * @param operationType 操作種類
+	 * @param details 操作内容
+	 */
+	public void record(ScreenTitle screen, OperationType operationType, String details) {
+		if (!enabled) {
+			return;
+		}
+		String adminId = currentAdminId();
+		if (adminId == null) {
+			logger.debug("ログインユーザーが特定できないため操作履歴を記録しません: {}", details);
+			return;
+		}
+		Entry entry = new Entry(adminId, screen.getTableKey(), operationType.getTypeCode(),
+				OperationStatus.SUCCESS.getStatusCode(), truncate(details), LocalDateTime.now());
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			enqueue(entry);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				enqueue(entry);
+			}
+		});
+	}
+
+	/**
+	 * バッファへ投入（満杯の場合は overflow-policy に従う）
+	 * （テストから直接呼び出すため package-private）
+	 *
+	 * @param entry 操作履歴
+	 */
+	void enqueue(Entry entry) {
+		// 停止後は書き込みスレッドがいないため即時に書き込む
+		if (running && buffer.offer(entry)) {
+			if (!running) {
+				// 投入と停止が重なった場合は、書き込みスレッドの最後の取り出しに間に合っていない可能性があるため自分で書き込む
+				flushRemaining(new ArrayList<>(batchSize));
+			} else if (buffer.size() >= batchSize) {
+				LockSupport.unpark(writer);
+			}
+			return;
+		}
+		if (running && overflowPolicy == OverflowPolicy.DROP) {
+			droppedCounter.increment();
+			logger.warn("操作履歴バッファが満杯のため破棄しました: adminId={}, details={}", entry.adminId(), entry.details());
+			return;
+		}
+		callerRunsCounter.increment();
+		write(List.of(entry));
+	}
+
+	/**
+	 * 書き込みスレッドの処理
+	 * バッチ件数に達するか、最初の1件から書き込み間隔が経過した時点でまとめて書き込む
+	 */
+	private void writeLoop() {
+		List<Entry> batch = new ArrayList<>(batchSize);
+		long deadline = 0;
+		while (running) {
+			synchronized (drainLock) {
+				buffer.drainTo(batch, batchSize - batch.size());
+			}
+			long now = System.nanoTime();
+			if (batch.isEmpty()) {
+				LockSupport.parkNanos(this, flushIntervalNanos);
+				continue;
+			}
+			if (deadline == 0) {
+				deadline = now + flushIntervalNanos;
+			}
+			if (batch.size() >= batchSize || now - deadline >= 0) {
+				write(batch);
+				batch.clear();
+				deadline = 0;
+			} else {
+				LockSupport.parkNanos(this, deadline - now);
+			}
+		}
+
+		// 停止時は滞留分をすべて書き込む
+		flushRemaining(batch);
+	}
+
+	/**
+	 * 滞留分をすべて書き込む（停止時）
+	 *
+	 * @param batch 取り出し済みで未書き込みの操作履歴（書き込み後にクリアする）
+	 */
+	private void flushRemaining(List<Entry> batch) {
+		synchronized (drainLock) {
+			do {
+				buffer.drainTo(batch, batchSize - batch.size());
+				if (!batch.isEmpty()) {
+					write(batch);
+					batch.clear();
+				}
+			} while (buffer.size() > 0);
+		}
+	}
+
+	/**
+	 * JDBC バッチ INSERT で書き込む（失敗した場合はログに出力して破棄）
+	 * 書き込みスレッドを止めないよう、DB 以外の実行時例外も捕捉する
+	 *
+	 * @param entries 操作履歴
+	 */
+	private void write(List<Entry> entries) {
+		long start = System.nanoTime();
+		try {
+			jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+				Timestamp occurredAt = Timestamp.valueOf(entry.occurredAt());
+				ps.setString(1, entry.adminId());
+				ps.setString(2, entry.tableKey());
+				ps.setInt(3, entry.operateType());
+				ps.setInt(4, entry.status());
+				ps.setString(5, entry.details());
+				ps.setTimestamp(6, occurredAt);
+				ps.setTimestamp(7, occurredAt);
+			});
+			writtenCounter.increment(entries.size());
+			flushSize.record(entries.size());
+		} catch (RuntimeException e) {
+			failedCounter.increment(entries.size());
+			logger.error("操作履歴の書き込みに失敗しました: {}件", entries.size(), e);
+		} finally {
+			flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * ログイン中の管理者IDを取得
+	 *
+	 * @return 管理者ID（未ログインの場合は null）
+	 */
+	private static String currentAdminId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()
+				|| authentication instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		return authentication.getName();
+	}
+
+	/**
+	 * 操作内容を列の長さに切り詰める
+	 */
+	private static String truncate(String details) {
+		if (details == null || details.length() <= MAX_DETAILS_LENGTH) {
+			return details;
+		}
+		return details.substring(0, MAX_DETAILS_LENGTH);
+	}
+}
@@ -1,16 +1,24 @@
 package com.digitalojt.web.service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.digitalojt.web.consts.ModelAttributeContents;
 import com.digitalojt.web.consts.OperationStatus;
 import com.digitalojt.web.consts.OperationType;
 import com.digitalojt.web.consts.ScreenTitle;
+import com.digitalojt.web.dto.KeysetPageDto;
 import com.digitalojt.web.entity.OperationLog;
+import com.digitalojt.web.exception.BusinessLogicException;
 import com.digitalojt.web.repository.OperationLogRepository;
+import com.digitalojt.web.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,38 +36,119 @@ public class OperationLogService {
 	private final OperationLogRepository repository;
 
 	/**
-	 * 操作履歴情報を全件検索で取得
+	 * 初期表示用：直近1ヶ月分の操作履歴情報を1ページ分取得
+	 * 2026/10/18 性能改善: 全件取得をやめ、キーセットページングに変更
 	 * 
-	 * @return
+	 * @param sortOrder 並び順（null の場合は降順）
+	 * @param after 次ページ取得用カーソル
+	 * @param before 前ページ取得用カーソル
+	 * @param pageSize 1ページの表示件数（null の場合は既定件数）
+	 * @return 1ページ分の操作履歴情報
 	 */
-	public List<OperationLog> getOperationLogList() {
+	public KeysetPageDto<OperationLog> getOperationLogPage(Sort.Direction sortOrder, String after, String before,
+			Integer pageSize) {
 
 		// 1ヶ月前の開始日時を取得
 		LocalDateTime now = LocalDateTime.now();
 	    LocalDateTime oneMonth = now.minusMonths(1);
 	    
-		// 操作履歴情報の取得
-		List<OperationLog> operationLogList = repository.findOperationLogsForOneMonth(oneMonth, now);
-		
-		// 画面表示用にデータ加工した結果を返却
-		return convertOperationLogList(operationLogList);
+		return getOperationLogPage(null, null, null, oneMonth, now,
+				(sortOrder == null) ? Sort.Direction.DESC : sortOrder, after, before, pageSize);
 	}
 	
 	/**
-	 * 引数に合致する操作履歴情報を取得
+	 * 引数に合致する操作履歴情報を1ページ分取得
+	 * 2026/10/18 性能改善: 全件取得をやめ、(create_date, log_id) のキーセットページングに変更
+	 * 
+	 * <pre>
+	 * 次ページ有無（前ページへ遷移した場合は前ページ有無）の判定用に1件多く取得し、COUNT クエリは発行しない。
+	 * 前ページへの遷移は、表示順と逆向きに境界行へ近い順で取得してから並べ替える。
+	 * </pre>
 	 * 
 	 * @param userId
 	 * @param operateType
 	 * @param status
-	 * @param operationStart
-	 * @param operationEnd 
+	 * @param createDate
+	 * @param updateDate 
+	 * @param sortOrder 並び順（null の場合は昇順）
+	 * @param after 次ページ取得用カーソル（このカーソルの行より後ろを取得）
+	 * @param before 前ページ取得用カーソル（このカーソルの行より前を取得、after より優先）
+	 * @param pageSize 1ページの表示件数（null の場合は既定件数）
 	 * @return 引数と一致する値を取得した結果
+	 * @throws BusinessLogicException カーソルが不正な場合
 	 */
-    public List<OperationLog> getOperationLogData(String userId, Integer operateType, Integer status, LocalDateTime createDate, LocalDateTime updateDate) {
-    	List<OperationLog> operationLogList = repository.findOperationLogs(userId, operateType, status, createDate, updateDate);
-        return convertOperationLogList(operationLogList);
+    public KeysetPageDto<OperationLog> getOperationLogPage(String userId, Integer operateType, Integer status,
+    		LocalDateTime createDate, LocalDateTime updateDate, Sort.Direction sortOrder,
+    		String after, String before, Integer pageSize) {
+    	boolean ascending = (sortOrder == null || sortOrder.isAscending());
+    	int size = (pageSize == null) ? ModelAttributeContents.OPERATION_LOG_PAGE_SIZE
+    			: Math.max(1, Math.min(pageSize, ModelAttributeContents.MAX_PAGE_SIZE));
+    	Pageable limit = PageRequest.ofSize(size + 1);
+
+    	// 前ページへの遷移
+    	if (before != null && !before.isEmpty()) {
+    		LogKey key = decodeCursor(before);
+    		List<OperationLog> fetched = ascending
+    				? repository.findOperationLogsBefore(userId, operateType, status, createDate, updateDate,
+    						key.createDate(), key.logId(), limit)
+    				: repository.findOperationLogsAfter(userId, operateType, status, createDate, updateDate,
+    						key.createDate(), key.logId(), limit);
+    		// 境界行より前が削除済みの場合は先頭ページを表示
+    		if (!fetched.isEmpty()) {
+    			return KeysetPageDto.backward(convertOperationLogList(fetched), size, OperationLogService::encodeCursor);
+    		}
+    		after = null;
+    	}
+
+    	// 先頭ページ・次ページへの遷移
+    	LogKey key = (after == null || after.isEmpty()) ? null : decodeCursor(after);
+    	LocalDateTime lastDate = (key == null) ? null : key.createDate();
+    	int lastId = (key == null) ? 0 : key.logId();
+    	List<OperationLog> fetched = ascending
+    			? repository.findOperationLogsAfter(userId, operateType, status, createDate, updateDate,
+    					lastDate, lastId, limit)
+    			: repository.findOperationLogsBefore(userId, operateType, status, createDate, updateDate,
+    					lastDate, lastId, limit);
+        return KeysetPageDto.forward(convertOperationLogList(fetched), size, OperationLogService::encodeCursor,
+        		key != null);
     }
 
+	/**
+	 * 行のキー（操作時刻, ログID）からカーソルを生成
+	 * 操作時刻は区切り文字を含むため、末尾のキーとする
+	 * 
+	 * @param log 境界行
+	 * @return カーソル
+	 */
+	private static String encodeCursor(OperationLog log) {
+		return KeysetCursor.encode(log.getLogId(), log.getCreateDate());
+	}
+
+	/**
+	 * カーソルを行のキー（操作時刻, ログID）に分解
+	 * 
+	 * @param cursor カーソル
+	 * @return 行のキー
+	 * @throws BusinessLogicException カーソルが不正な場合
+	 */
+	private static LogKey decodeCursor(String cursor) {
+		String[] keys = KeysetCursor.decode(cursor, 2);
+		try {
+			return new LogKey(LocalDateTime.parse(keys[1]), Integer.parseInt(keys[0]));
+		} catch (DateTimeParseException | NumberFormatException e) {
+			throw new BusinessLogicException("ページ指定が不正です。再検索してください。", e);
+		}
+	}
+
+	/**
+	 * キーセットページングの境界行のキー
+	 * 
+	 * @param createDate 操作時刻
+	 * @param logId ログID
+	 */
+	private record LogKey(LocalDateTime createDate, int logId) {
+	}
+
 	/**
 	 * 画面表示用にデータ加工
 	 * 
@@ -0,0 +1,102 @@
+package com.digitalojt.web.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.digitalojt.web.dto.StockSummaryDelta;
+import com.digitalojt.web.entity.Stock;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * 在庫エンティティのライフサイクルイベントを受け、在庫集計へ差分を加算するリスナー
+ * （Hibernate が Spring のBeanとして生成する）
+ * 2026/10/18 機能追加: 在庫有無ビットマップへも在庫行の登録・移動・削除を反映
+ *
+ * <pre>
+ * 読み込み時・書き込み時の集計への寄与をエンティティに保持しておき、
+ * 更新時は「変更前の寄与の取り消し + 変更後の寄与」を差分として加算する。
+ * 寄与には削除済みの在庫もセンターIDを保持しているため、在庫有無ビットマップの移動元にも使用する。
+ * JPA を経由しない一括書き込み（JDBC バッチ等）は、呼び出し元で StockAggregationService へ差分を渡すこと。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class StockAggregationListener {
+
+	/** 在庫集計サービス（EntityManagerFactory 初期化時の循環参照を避けるため遅延取得） */
+	private final ObjectProvider<StockAggregationService> aggregation;
+
+	/** 在庫有無ビットマップ（同上） */
+	private final ObjectProvider<StockPresenceIndex> presence;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param aggregation 在庫集計サービス
+	 * @param presence 在庫有無ビットマップ
+	 */
+	public StockAggregationListener(ObjectProvider<StockAggregationService> aggregation,
+			ObjectProvider<StockPresenceIndex> presence) {
+		this.aggregation = aggregation;
+		this.presence = presence;
+	}
+
+	/**
+	 * 読み込み後（変更前の寄与を保持）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostLoad
+	public void afterLoad(Stock entity) {
+		entity.setAggregatedContribution(StockSummaryDelta.of(entity));
+	}
+
+	/**
+	 * 登録後
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostPersist
+	public void afterPersist(Stock entity) {
+		StockSummaryDelta contribution = StockSummaryDelta.of(entity);
+		aggregation.ifAvailable(a -> a.apply(contribution));
+		presence.ifAvailable(p -> p.applyAfterCommit(null, entity.getCenterId()));
+		entity.setAggregatedContribution(contribution);
+	}
+
+	/**
+	 * 更新後（変更前の寄与を取り消し、変更後の寄与を加算）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostUpdate
+	public void afterUpdate(Stock entity) {
+		StockSummaryDelta before = entity.getAggregatedContribution();
+		StockSummaryDelta after = StockSummaryDelta.of(entity);
+		if (before == null) {
+			aggregation.ifAvailable(a -> a.apply(after));
+		} else {
+			aggregation.ifAvailable(a -> a.apply(before.negate(), after));
+			presence.ifAvailable(p -> p.applyAfterCommit(before.centerId(), after.centerId()));
+		}
+		entity.setAggregatedContribution(after);
+	}
+
+	/**
+	 * 削除後（変更前の寄与を取り消し）
+	 *
+	 * @param entity 対象エンティティ
+	 */
+	@PostRemove
+	public void afterRemove(Stock entity) {
+		StockSummaryDelta before = entity.getAggregatedContribution();
+		if (before != null) {
+			aggregation.ifAvailable(a -> a.apply(before.negate()));
+			presence.ifAvailable(p -> p.applyAfterCommit(before.centerId(), null));
+		}
+		entity.setAggregatedContribution(null);
+	}
+}
@@ -0,0 +1,306 @@
+package com.digitalojt.web.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.digitalojt.web.consts.Category;
+import com.digitalojt.web.dto.StockSummaryDelta;
+
+/**
+ * 在庫集計サービス
+ *
+ * <pre>
+ * センター・分類ごとの在庫数量合計と在庫件数を、在庫の登録・更新・削除のたびに差分だけ加算して維持する。
+ * - 集計テーブル（stock_summary）へは、在庫の書き込みと同じトランザクション内で差分を UPSERT する
+ * - インメモリの集計値へは、コミット後に同じ差分を加算する（ロールバック時は反映しない）
+ * - 参照は stock_info を走査せず、インメモリの集計値を O(1) で返す
+ * - 複数台構成での他サーバーの更新は、refresh-interval ごとの集計テーブルの再読み込みで取り込む
+ * stock_info からの再集計（rebuild）は初期構築・不整合の修復時のみ使用する。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Service
+public class StockAggregationService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(StockAggregationService.class);
+
+	/**
+	 * 差分加算SQL（行ロックの順序を揃えるため、キー順に実行する）
+	 * 挿入しようとした値は行の別名（new）で参照する（MySQL 8.0.20 で非推奨となった VALUES() 関数は使用しない）
+	 */
+	private static final String UPSERT_SQL = "INSERT INTO stock_summary "
+			+ "(center_id, category_id, total_amount, stock_count, update_date) VALUES (?, ?, ?, ?, ?) AS new "
+			+ "ON DUPLICATE KEY UPDATE total_amount = total_amount + new.total_amount, "
+			+ "stock_count = stock_count + new.stock_count, update_date = new.update_date";
+
+	/** 集計テーブル読み込みSQL */
+	private static final String SELECT_SQL = "SELECT center_id, category_id, total_amount, stock_count FROM stock_summary";
+
+	/** 再集計SQL */
+	private static final String REBUILD_SQL = "INSERT INTO stock_summary "
+			+ "(center_id, category_id, total_amount, stock_count, update_date) "
+			+ "SELECT center_id, category_id, COALESCE(SUM(amount), 0), COUNT(*), ? FROM stock_info "
+			+ "WHERE delete_flag = 0 AND center_id IS NOT NULL AND category_id IS NOT NULL "
+			+ "GROUP BY center_id, category_id";
+
+	/** 集計値の並び（センターID → 分類ID） */
+	private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::centerId)
+			.thenComparing(Key::categoryId);
+
+	/** JDBCテンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** 起動時に stock_info から再集計するか */
+	private final boolean rebuildOnStartup;
+
+	/** インメモリの集計値（参照時に丸ごと差し替えるため volatile） */
+	private volatile Snapshot snapshot = new Snapshot();
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param jdbcTemplate JDBCテンプレート
+	 * @param rebuildOnStartup 起動時に stock_info から再集計するか
+	 */
+	public StockAggregationService(JdbcTemplate jdbcTemplate,
+			@Value("${app.stock-summary.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.rebuildOnStartup = rebuildOnStartup;
+	}
+
+	/**
+	 * 起動時に集計値を読み込む
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		if (rebuildOnStartup) {
+			rebuild();
+		}
+		refresh();
+	}
+
+	/**
+	 * 集計テーブルを読み込み、インメモリの集計値を差し替える（定期実行）
+	 *
+	 * <pre>
+	 * 他サーバーで加算された差分を取り込むための処理で、読み込むのはセンター数 × 分類数の行のみ。
+	 * 読み込み中にコミットされた自サーバーの差分は差し替えで失われることがあるが、次回の読み込みで補正される。
+	 * </pre>
+	 */
+	@Scheduled(fixedDelayString = "${app.stock-summary.refresh-interval:PT5M}",
+			initialDelayString = "${app.stock-summary.refresh-interval:PT5M}")
+	public void refresh() {
+		try {
+			Snapshot loaded = new Snapshot();
+			jdbcTemplate.query(SELECT_SQL, rs -> {
+				loaded.add(new Key(rs.getInt("center_id"), rs.getInt("category_id")),
+						rs.getLong("total_amount"), rs.getLong("stock_count"));
+			});
+			snapshot = loaded;
+			logger.debug("在庫集計を読み込みました: {}件", loaded.byKey.size());
+		} catch (DataAccessException e) {
+			logger.error("在庫集計の読み込みに失敗しました", e);
+		}
+	}
+
+	/**
+	 * stock_info を再集計して集計テーブルを作り直す（初期構築・修復用）
+	 */
+	@Transactional
+	public void rebuild() {
+		logger.info("在庫集計を stock_info から再集計します");
+		jdbcTemplate.update("DELETE FROM stock_summary");
+		int rows = jdbcTemplate.update(REBUILD_SQL, Timestamp.valueOf(LocalDateTime.now()));
+		logger.info("在庫集計の再集計が完了しました: {}件", rows);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				refresh();
+			}
+		});
+	}
+
+	/**
+	 * 在庫の書き込みに伴う差分を集計に加算する
+	 *
+	 * <pre>
+	 * 同じキーの差分はまとめてから、集計テーブルへキー順に UPSERT する。
+	 * 呼び出し元のトランザクション内で実行され、インメモリの集計値へはコミット後に反映する。
+	 * トランザクション外で呼ばれた場合は即時に反映する。
+	 * </pre>
+	 *
+	 * @param deltas 差分（センターID・分類IDが null のもの、数量・件数とも 0 のものは無視する）
+	 */
+	public void apply(Collection<StockSummaryDelta> deltas) {
+		Map<Key, long[]> merged = new TreeMap<>(KEY_ORDER);
+		for (StockSummaryDelta delta : deltas) {
+			if (delta == null || delta.centerId() == null || delta.categoryId() == null || delta.isZero()) {
+				continue;
+			}
+			long[] sum = merged.computeIfAbsent(new Key(delta.centerId(), delta.categoryId()), k -> new long[2]);
+			sum[0] += delta.amount();
+			sum[1] += delta.count();
+		}
+		merged.values().removeIf(sum -> sum[0] == 0 && sum[1] == 0);
+		if (merged.isEmpty()) {
+			return;
+		}
+
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> args = new ArrayList<>(merged.size());
+		merged.forEach((key, sum) -> args.add(new Object[] { key.centerId(), key.categoryId(), sum[0], sum[1], now }));
+		jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			applyToSnapshot(merged);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				applyToSnapshot(merged);
+			}
+		});
+	}
+
+	/**
+	 * 在庫の書き込みに伴う差分を集計に加算する
+	 *
+	 * @param deltas 差分
+	 * @see #apply(Collection)
+	 */
+	public void apply(StockSummaryDelta... deltas) {
+		apply(List.of(deltas));
+	}
+
+	/**
+	 * センターの在庫数量合計を取得
+	 *
+	 * @param centerId センターID
+	 * @return 在庫数量合計（在庫がない場合は 0）
+	 */
+	public long getCenterTotalAmount(int centerId) {
+		Totals totals = snapshot.byCenter.get(centerId);
+		return (totals == null) ? 0 : totals.amount.get();
+	}
+
+	/**
+	 * センターの在庫件数を取得
+	 *
+	 * @param centerId センターID
+	 * @return 在庫件数（在庫がない場合は 0）
+	 */
+	public long getCenterStockCount(int centerId) {
+		Totals totals = snapshot.byCenter.get(centerId);
+		return (totals == null) ? 0 : totals.count.get();
+	}
+
+	/**
+	 * センター・分類の在庫数量合計を取得
+	 *
+	 * @param centerId センターID
+	 * @param category 分類
+	 * @return 在庫数量合計（在庫がない場合は 0）
+	 */
+	public long getCategoryTotalAmount(int centerId, Category category) {
+		Totals totals = snapshot.byKey.get(new Key(centerId, category.getCategoryId()));
+		return (totals == null) ? 0 : totals.amount.get();
+	}
+
+	/**
+	 * センターの分類別の在庫数量合計を取得（ダッシュボード用）
+	 *
+	 * @param centerId センターID
+	 * @return 分類 → 在庫数量合計（全分類を定義順に含む）
+	 */
+	public Map<Category, Long> getCategoryTotals(int centerId) {
+		Map<Category, Long> result = new EnumMap<>(Category.class);
+		for (Category category : Category.values()) {
+			result.put(category, getCategoryTotalAmount(centerId, category));
+		}
+		return result;
+	}
+
+	/**
+	 * コミット済みの差分をインメモリの集計値へ加算
+	 *
+	 * @param merged キー → {数量, 件数} の差分
+	 */
+	private void applyToSnapshot(Map<Key, long[]> merged) {
+		Snapshot current = snapshot;
+		merged.forEach((key, sum) -> current.add(key, sum[0], sum[1]));
+	}
+
+	/**
+	 * 集計キー（センターID・分類ID）
+	 *
+	 * @param centerId センターID
+	 * @param categoryId 分類ID
+	 */
+	private record Key(int centerId, int categoryId) {
+	}
+
+	/**
+	 * 在庫数量合計・在庫件数
+	 */
+	private static final class Totals {
+
+		/** 在庫数量合計 */
+		private final AtomicLong amount = new AtomicLong();
+
+		/** 在庫件数 */
+		private final AtomicLong count = new AtomicLong();
+	}
+
+	/**
+	 * インメモリの集計値（センター・分類別と、センター別の合計）
+	 */
+	private static final class Snapshot {
+
+		/** センター・分類別 */
+		private final Map<Key, Totals> byKey = new ConcurrentHashMap<>();
+
+		/** センター別 */
+		private final Map<Integer, Totals> byCenter = new ConcurrentHashMap<>();
+
+		/**
+		 * 差分を加算
+		 *
+		 * @param key 集計キー
+		 * @param amount 在庫数量の増減
+		 * @param count 在庫件数の増減
+		 */
+		void add(Key key, long amount, long count) {
+			Totals byKeyTotals = byKey.computeIfAbsent(key, k -> new Totals());
+			byKeyTotals.amount.addAndGet(amount);
+			byKeyTotals.count.addAndGet(count);
+			Totals centerTotals = byCenter.computeIfAbsent(key.centerId(), k -> new Totals());
+			centerTotals.amount.addAndGet(amount);
+			centerTotals.count.addAndGet(count);
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package com.digitalojt.web.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 在庫が存在するセンターのインメモリビットマップ
+ *
+ * <pre>
+ * センター削除時の在庫有無チェックで stock_info を COUNT しないよう、
+ * センターID → 在庫行数を保持し、1行以上あるセンターのビットを立てておく。
+ * 在庫有無は countByCenterId と同じく削除フラグを問わず、行が存在するかで判定する。
+ * - 在庫の登録・センター変更・削除は、エンティティのライフサイクルイベント（StockAggregationListener）から
+ *   コミット後に行数へ反映する
+ * - 複数台構成での他サーバーの更新は、refresh-interval ごとの再読み込みで取り込む
+ * ビットが立っていない場合は他サーバーで登録された直後の可能性があるため、
+ * 削除可否のように取り消せない判定では StockRepository#existsByCenterId で確認すること。
+ * </pre>
+ *
+ * @author dotlife
+ */
+@Component
+public class StockPresenceIndex {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(StockPresenceIndex.class);
+
+	/** センター別在庫行数の読み込みSQL（idx_stock_info_center_delete の索引のみで集計できる） */
+	private static final String COUNT_SQL = "SELECT center_id, COUNT(*) AS row_count FROM stock_info "
+			+ "WHERE center_id IS NOT NULL GROUP BY center_id";
+
+	/** JDBCテンプレート */
+	private final JdbcTemplate jdbcTemplate;
+
+	/** センターID → 在庫行数（this で同期） */
+	private Map<Integer, Long> rowCounts = new HashMap<>();
+
+	/** 在庫が1行以上あるセンターのビットマップ（this で同期） */
+	private BitSet present = new BitSet();
+
+	/** 初期ロード完了フラグ */
+	private volatile boolean ready;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param jdbcTemplate JDBCテンプレート
+	 */
+	public StockPresenceIndex(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * 起動完了後にセンター別の在庫行数を読み込む
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		refresh();
+	}
+
+	/**
+	 * センター別の在庫行数を読み込み、ビットマップを差し替える（定期実行）
+	 *
+	 * <pre>
+	 * 読み込み中にコミットされた自サーバーの変更は差し替えで失われることがあるが、次回の読み込みで補正される。
+	 * </pre>
+	 */
+	@Scheduled(fixedDelayString = "${app.stock-presence.refresh-interval:PT5M}",
+			initialDelayString = "${app.stock-presence.refresh-interval:PT5M}")
+	public void refresh() {
+		try {
+			Map<Integer, Long> loadedCounts = new HashMap<>();
+			BitSet loadedBits = new BitSet();
+			jdbcTemplate.query(COUNT_SQL, rs -> {
+				int centerId = rs.getInt("center_id");
+				long rowCount = rs.getLong("row_count");
+				loadedCounts.put(centerId, rowCount);
+				if (centerId >= 0 && rowCount > 0) {
+					loadedBits.set(centerId);
+				}
+			});
+			synchronized (this) {
+				rowCounts = loadedCounts;
+				present = loadedBits;
+			}
+			ready = true;
+			logger.debug("在庫有無ビットマップを読み込みました: {}センター", loadedBits.cardinality());
+		} catch (DataAccessException e) {
+			logger.error("在庫有無ビットマップの読み込みに失敗しました", e);
+		}
+	}
+
+	/**
+	 * ビットマップで在庫有無に応答できるか
+	 *
+	 * @return 初期ロードが完了している場合 true
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * センターに在庫が存在するか
+	 *
+	 * @param centerId センターID
+	 * @return 在庫が1行以上存在する場合 true
+	 */
+	public synchronized boolean hasStock(int centerId) {
+		return centerId >= 0 && present.get(centerId);
+	}
+
+	/**
+	 * 指定したセンターのうち、在庫が存在するセンターを抽出（一括削除のプレビュー用）
+	 *
+	 * @param centerIds センターID
+	 * @return 在庫が存在するセンターID（引数の順序を保持）
+	 */
+	public synchronized Set<Integer> filterWithStock(Collection<Integer> centerIds) {
+		Set<Integer> result = new LinkedHashSet<>();
+		for (Integer centerId : centerIds) {
+			if (centerId != null && centerId >= 0 && present.get(centerId)) {
+				result.add(centerId);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * コミット後に在庫行の移動をビットマップへ反映する
+	 * トランザクション外で呼ばれた場合は即時に反映する
+	 *
+	 * @param fromCenterId 移動元のセンターID（登録の場合は null）
+	 * @param toCenterId 移動先のセンターID（削除の場合は null）
+	 */
+	public void applyAfterCommit(Integer fromCenterId, Integer toCenterId) {
+		if (Objects.equals(fromCenterId, toCenterId)) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			move(fromCenterId, toCenterId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				move(fromCenterId, toCenterId);
+			}
+		});
+	}
+
+	/**
+	 * 在庫行数を増減し、0 行との境界をまたいだ場合はビットを更新
+	 *
+	 * @param fromCenterId 移動元のセンターID（null は増減なし）
+	 * @param toCenterId 移動先のセンターID（null は増減なし）
+	 */
+	private synchronized void move(Integer fromCenterId, Integer toCenterId) {
+		if (fromCenterId != null) {
+			long rowCount = rowCounts.merge(fromCenterId, -1L, Long::sum);
+			if (rowCount <= 0) {
+				rowCounts.remove(fromCenterId);
+				if (fromCenterId >= 0) {
+					present.clear(fromCenterId);
+				}
+			}
+		}
+		if (toCenterId != null) {
+			rowCounts.merge(toCenterId, 1L, Long::sum);
+			if (toCenterId >= 0) {
+				present.set(toCenterId);
+			}
+		}
+	}
+}
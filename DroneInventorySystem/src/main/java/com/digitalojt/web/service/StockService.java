@@ -0,0 +1,71 @@
+package com.digitalojt.web.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.digitalojt.web.consts.Category;
+import com.digitalojt.web.consts.ModelAttributeContents;
+import com.digitalojt.web.dto.KeysetPageDto;
+import com.digitalojt.web.dto.StockView;
+import com.digitalojt.web.repository.StockRepository;
+import com.digitalojt.web.util.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 在庫一覧画面のサービスクラス
+ *
+ * @author dotlife
+ *
+ */
+@Service
+@RequiredArgsConstructor
+public class StockService {
+
+	/** ロガー */
+	private static final Logger logger = LoggerFactory.getLogger(StockService.class);
+
+	/** 在庫情報テーブル リポジトリー */
+	private final StockRepository repository;
+
+	/**
+	 * 引数に合致する在庫情報をキーセット方式で1ページ分取得
+	 *
+	 * <pre>
+	 * 次ページ有無の判定用に1件多く取得し、COUNT クエリは発行しない。
+	 * 1回の検索で読み出す行数はページサイズで上限が決まるため、センター内の在庫件数に依存しない。
+	 * </pre>
+	 *
+	 * @param category 分類（null の場合は条件なし）
+	 * @param centerId センターID（null の場合は条件なし）
+	 * @param name 在庫名（部分一致、null・空文字の場合は条件なし）
+	 * @param cursor 次ページ取得用カーソル（null・空の場合は先頭ページ）
+	 * @param pageSize 1ページの取得件数（null の場合は既定件数）
+	 * @return 1ページ分の在庫情報
+	 * @throws BusinessLogicException カーソルが不正な場合
+	 */
+	public KeysetPageDto<StockView> getStockPage(Category category, Integer centerId, String name,
+			String cursor, Integer pageSize) {
+		// 検索条件の正規化
+		String normalizedName = (name == null) ? "" : name.trim();
+		Integer categoryId = (category == null) ? null : category.getCategoryId();
+		int size = (pageSize == null) ? ModelAttributeContents.DEFAULT_PAGE_SIZE
+				: Math.min(pageSize, ModelAttributeContents.MAX_PAGE_SIZE);
+
+		// 前ページ最終行の在庫ID（先頭ページは 0）
+		int lastStockId = KeysetCursor.decodeInt(cursor, 0);
+
+		logger.info("在庫情報のページ検索を実行: category={}, centerId={}, name=[{}], after={}, size={}",
+				category, centerId, normalizedName, lastStockId, size);
+
+		// 次ページ有無の判定用に1件多く取得する
+		List<StockView> fetched = repository.findActiveStocksAfter(
+				centerId, categoryId, normalizedName, lastStockId, PageRequest.ofSize(size + 1));
+
+		return KeysetPageDto.of(fetched, size, stock -> KeysetCursor.encode(stock.getStockId()));
+	}
+}
@@ -0,0 +1,66 @@
+package com.digitalojt.web.util;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * BCrypt の強度（コスト）を、実行環境での照合時間から決定する
+ *
+ * <pre>
+ * 最小強度でハッシュ化を数回計測し（最初の1回はウォームアップとして除外）、最短の時間を基準にする。
+ * BCrypt は強度が1上がるごとに計算量が2倍になるため、
+ * 基準時間 × 2^(強度 - 最小強度) が目標時間を超えない最大の強度を返す（最小強度・最大強度の範囲内）。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public final class BCryptStrengthCalibrator {
+
+	/** 計測回数（ウォームアップを除く） */
+	private static final int SAMPLES = 3;
+
+	/** 計測用のパスワード */
+	private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+	private BCryptStrengthCalibrator() {
+	}
+
+	/**
+	 * 目標時間に収まる強度を決定
+	 *
+	 * @param targetLatency 1回の照合にかける目標時間
+	 * @param minStrength 最小強度（4～31）
+	 * @param maxStrength 最大強度（最小強度～31）
+	 * @return 強度
+	 */
+	public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+		long baseNanos = measure(minStrength);
+		long targetNanos = targetLatency.toNanos();
+		int strength = minStrength;
+		long estimated = baseNanos;
+		while (strength < maxStrength && estimated * 2 <= targetNanos) {
+			strength++;
+			estimated *= 2;
+		}
+		return strength;
+	}
+
+	/**
+	 * 指定した強度でのハッシュ化時間を計測
+	 *
+	 * @param strength 強度
+	 * @return 最短のハッシュ化時間（ナノ秒）
+	 */
+	private static long measure(int strength) {
+		String salt = BCrypt.gensalt(strength);
+		BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < SAMPLES; i++) {
+			long start = System.nanoTime();
+			BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+}
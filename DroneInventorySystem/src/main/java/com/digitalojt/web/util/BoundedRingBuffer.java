@@ -0,0 +1,141 @@
+package com.digitalojt.web.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 固定長のロックフリー リングバッファ（複数スレッド投入・単一スレッド取り出し）
+ *
+ * <pre>
+ * 各スロットに通番（シーケンス）を持たせ、投入側は CAS で書き込み位置を確保する。
+ * 満杯の場合は待たずに false を返すため、溢れた場合の扱いは呼び出し側で決める。
+ * 取り出し（poll / drainTo）は単一スレッドからのみ呼び出すこと。
+ * </pre>
+ *
+ * @param <E> 要素の型
+ * @author dotlife
+ */
+public class BoundedRingBuffer<E> {
+
+	/** 要素の格納領域 */
+	private final AtomicReferenceArray<E> buffer;
+
+	/** スロットごとの通番（投入可能・取り出し可能の判定に使用） */
+	private final AtomicLongArray sequences;
+
+	/** 位置 → スロット番号の変換用マスク（容量 - 1） */
+	private final int mask;
+
+	/** 次の投入位置 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** 次の取り出し位置 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param capacity 容量（2のべき乗に切り上げる）
+	 */
+	public BoundedRingBuffer(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("capacity: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.buffer = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * 要素を投入（ブロックしない）
+	 *
+	 * @param element 要素（null 不可）
+	 * @return 投入できた場合 true、満杯の場合 false
+	 */
+	public boolean offer(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		while (true) {
+			long pos = tail.get();
+			int index = (int) pos & mask;
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					buffer.lazySet(index, element);
+					// 通番の更新で要素を取り出し側へ公開する
+					sequences.set(index, pos + 1);
+					return true;
+				}
+			} else if (diff < 0) {
+				// 1周前の要素が未取り出し（満杯）
+				return false;
+			}
+			// 他スレッドが先に確保したため再試行
+		}
+	}
+
+	/**
+	 * 要素を1件取り出す（単一スレッド専用）
+	 *
+	 * @return 要素（空の場合は null）
+	 */
+	public E poll() {
+		long pos = head.get();
+		int index = (int) pos & mask;
+		if (sequences.get(index) != pos + 1) {
+			return null;
+		}
+		E element = buffer.get(index);
+		buffer.lazySet(index, null);
+		// 1周後の投入を許可する
+		sequences.set(index, pos + buffer.length());
+		head.lazySet(pos + 1);
+		return element;
+	}
+
+	/**
+	 * 最大件数まで要素を取り出して追加する（単一スレッド専用）
+	 *
+	 * @param target 追加先
+	 * @param maxElements 最大件数
+	 * @return 取り出した件数
+	 */
+	public int drainTo(List<? super E> target, int maxElements) {
+		int count = 0;
+		E element;
+		while (count < maxElements && (element = poll()) != null) {
+			target.add(element);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 滞留件数（概算）
+	 *
+	 * @return 滞留件数
+	 */
+	public int size() {
+		long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, buffer.length()));
+	}
+
+	/**
+	 * 容量
+	 *
+	 * @return 容量
+	 */
+	public int capacity() {
+		return buffer.length();
+	}
+}
@@ -0,0 +1,155 @@
+package com.digitalojt.web.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSVファイルの行読み込みクラス
+ *
+ * <pre>
+ * RFC 4180 形式（ダブルクォートで囲んだ値の中の区切り文字・改行・"" を許容）を1レコードずつ読み込む。
+ * 先頭の UTF-8 BOM（エクスポートしたCSV・Excel で保存したCSV）は読み飛ばす。
+ * エクスポート時に数式の実行を防ぐために付与した先頭の「'」（「=」「+」「-」「@」・タブ・CR の前）は1文字だけ取り除く。
+ * 閉じられていないクォート等で1レコードが上限を超えた場合は、ファイル全体を読み込む前にエラーとする。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class CsvRowReader implements RowReader {
+
+	/** UTF-8 BOM */
+	private static final int BOM = '\uFEFF';
+
+	/** 1レコードの最大文字数 */
+	private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+	/** 読み込み元 */
+	private final Reader reader;
+
+	/** 直前に読み込んだレコードの番号 */
+	private int rowNumber;
+
+	/** 先読みした1文字（未使用の場合は -2） */
+	private int pushedBack = -2;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param in 読み込み元（UTF-8）
+	 */
+	public CsvRowReader(InputStream in) {
+		this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> next() throws IOException {
+		int c = read();
+		if (rowNumber == 0 && c == BOM) {
+			c = read();
+		}
+		if (c == -1) {
+			return null;
+		}
+		rowNumber++;
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int length = 0;
+		while (true) {
+			if (++length > MAX_RECORD_LENGTH) {
+				throw new IOException(rowNumber + "行目: 1行の長さが上限（" + MAX_RECORD_LENGTH + "文字）を超えています");
+			}
+			if (quoted) {
+				if (c == -1) {
+					throw new IOException(rowNumber + "行目: ダブルクォートが閉じられていません");
+				}
+				if (c == '"') {
+					int following = read();
+					if (following == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						c = following;
+						continue;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.length() == 0) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(unescapeFormula(field));
+				field.setLength(0);
+			} else if (c == '\r' || c == '\n' || c == -1) {
+				if (c == '\r') {
+					int following = read();
+					if (following != '\n') {
+						pushedBack = following;
+					}
+				}
+				fields.add(unescapeFormula(field));
+				return fields;
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * エクスポート時に付与した数式実行防止の「'」を取り除く（CenterInfoExportService#writeCsvText の逆変換）
+	 *
+	 * @param field 項目値
+	 * @return 先頭が「'」で、続く文字が「=」「+」「-」「@」・タブ・CR の場合は先頭の「'」を除いた値
+	 */
+	private static String unescapeFormula(CharSequence field) {
+		if (field.length() >= 2 && field.charAt(0) == '\'') {
+			char next = field.charAt(1);
+			if (next == '=' || next == '+' || next == '-' || next == '@' || next == '\t' || next == '\r') {
+				return field.subSequence(1, field.length()).toString();
+			}
+		}
+		return field.toString();
+	}
+
+	/**
+	 * 1文字読み込む（先読みした文字があればそれを返す）
+	 *
+	 * @return 文字、末尾の場合は -1
+	 * @throws IOException 読み込みに失敗した場合
+	 */
+	private int read() throws IOException {
+		if (pushedBack != -2) {
+			int c = pushedBack;
+			pushedBack = -2;
+			return c;
+		}
+		return reader.read();
+	}
+}
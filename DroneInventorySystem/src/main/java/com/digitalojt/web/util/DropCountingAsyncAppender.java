@@ -0,0 +1,59 @@
+package com.digitalojt.web.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * 破棄件数を数える非同期アペンダー
+ *
+ * <pre>
+ * logback の AsyncAppender は、キューが満杯（neverBlock=true）または残り容量が discardingThreshold 未満の場合に
+ * ログを黙って破棄する。このクラスは破棄した件数を数え、メトリクス（logback.async.dropped）で参照できるようにする。
+ * - キューが満杯の場合は、書き込みスレッドを待たせずにこのクラスで破棄する
+ *   （判定と追加の間に満杯になった場合は AsyncAppender 側で破棄され、数えられないことがある）
+ * - discardingThreshold による破棄（TRACE / DEBUG / INFO）も数える
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+	/** 破棄した件数 */
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (isNeverBlock() && isStarted() && getRemainingCapacity() == 0) {
+			dropped.increment();
+			return;
+		}
+		super.append(event);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * キュー残り容量が閾値未満の場合にのみ呼ばれるため、破棄対象であれば件数に加える
+	 */
+	@Override
+	protected boolean isDiscardable(ILoggingEvent event) {
+		boolean discardable = super.isDiscardable(event);
+		if (discardable) {
+			dropped.increment();
+		}
+		return discardable;
+	}
+
+	/**
+	 * 破棄した件数を取得
+	 *
+	 * @return 起動してからの破棄件数
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+}
@@ -0,0 +1,77 @@
+package com.digitalojt.web.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.digitalojt.web.exception.BusinessLogicException;
+
+/**
+ * キーセットページング用カーソル 共通クラス
+ * 前ページ最終行のキー値を、画面に渡すための不透明なトークンへ変換する
+ *
+ * @author dotlife
+ */
+public class KeysetCursor {
+
+	/** トークン内のキー区切り文字 */
+	private static final String SEPARATOR = ":";
+
+	/**
+	 * キー値からカーソルを生成
+	 *
+	 * @param keys 前ページ最終行のキー値（複合キーの場合は並び順どおり）
+	 * @return URLセーフなカーソル文字列
+	 */
+	public static String encode(Object... keys) {
+		StringBuilder raw = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			if (i > 0) {
+				raw.append(SEPARATOR);
+			}
+			raw.append(keys[i]);
+		}
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * カーソルをキー値に分解
+	 *
+	 * @param cursor カーソル文字列
+	 * @param keyCount 期待するキーの個数
+	 * @return キー値の配列
+	 * @throws BusinessLogicException カーソルが不正な場合
+	 */
+	public static String[] decode(String cursor, int keyCount) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] keys = raw.split(SEPARATOR, keyCount);
+			if (keys.length != keyCount) {
+				throw new IllegalArgumentException(raw);
+			}
+			return keys;
+		} catch (IllegalArgumentException e) {
+			throw new BusinessLogicException("ページ指定が不正です。再検索してください。", e);
+		}
+	}
+
+	/**
+	 * 単一の数値キーのカーソルを分解
+	 *
+	 * @param cursor カーソル文字列（null・空の場合は先頭ページ）
+	 * @param firstPageKey 先頭ページを表すキー値
+	 * @return キー値
+	 * @throws BusinessLogicException カーソルが不正な場合
+	 */
+	public static int decodeInt(String cursor, int firstPageKey) {
+		if (cursor == null || cursor.isEmpty()) {
+			return firstPageKey;
+		}
+		String key = decode(cursor, 1)[0];
+		try {
+			return Integer.parseInt(key);
+		} catch (NumberFormatException e) {
+			throw new BusinessLogicException("ページ指定が不正です。再検索してください。", e);
+		}
+	}
+}
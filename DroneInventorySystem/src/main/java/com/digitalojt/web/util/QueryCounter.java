@@ -0,0 +1,40 @@
+package com.digitalojt.web.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate が発行した SQL の件数をスレッドごとに数える
+ *
+ * <pre>
+ * StatementInspector として Hibernate に登録し、SQL の準備ごとに件数を加算する（SQL は変更しない）。
+ * 件数は単調増加のため、処理の開始時と終了時の差分がその処理で発行した SQL の件数になる。
+ * JdbcTemplate で直接実行した SQL は対象外。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class QueryCounter implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	/** スレッドごとの件数 */
+	private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	/**
+	 * 現在のスレッドでこれまでに発行した SQL の件数を取得
+	 *
+	 * @return 件数
+	 */
+	public static long current() {
+		return COUNT.get()[0];
+	}
+}
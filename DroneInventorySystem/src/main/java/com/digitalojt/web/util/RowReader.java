@@ -0,0 +1,29 @@
+package com.digitalojt.web.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 取込ファイルの行読み込み 共通インターフェース
+ * ファイル全体をメモリに展開せず、1行ずつ読み進める
+ *
+ * @author dotlife
+ */
+public interface RowReader extends Closeable {
+
+	/**
+	 * 次の行を読み込む
+	 *
+	 * @return 列の値のリスト（空欄は空文字）、ファイル末尾の場合は null
+	 * @throws IOException 読み込みに失敗した場合・ファイル形式が不正な場合
+	 */
+	List<String> next() throws IOException;
+
+	/**
+	 * 直前に読み込んだ行の行番号を取得（エラー報告用、1始まり）
+	 *
+	 * @return 行番号
+	 */
+	int getRowNumber();
+}
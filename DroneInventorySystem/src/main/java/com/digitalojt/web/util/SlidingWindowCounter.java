@@ -0,0 +1,253 @@
+package com.digitalojt.web.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * キーごとの件数をスライディングウィンドウで数えるカウンター（メモリ使用量の上限付き）
+ *
+ * <pre>
+ * キーごとに「現在の区間」と「直前の区間」の2つの件数だけを持ち、
+ * 直近 window の件数を 直前の区間の件数 × 区間の残り割合 + 現在の区間の件数 で近似する。
+ * - キーはハッシュ値でストライプ（分割したマップ）に振り分け、ストライプ単位でロックする
+ * - ストライプごとの件数上限を超えた場合は、最も長く使われていないキーから破棄する
+ *   （破棄されたキーの件数は 0 から数え直しになる）
+ * 時刻は System.nanoTime() を使用し、システム時刻の変更の影響を受けない。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class SlidingWindowCounter {
+
+	/** 区間の長さ（ナノ秒） */
+	private final long windowNanos;
+
+	/** ストライプ */
+	private final Stripe[] stripes;
+
+	/** キー → ストライプ番号の変換用マスク（ストライプ数 - 1） */
+	private final int mask;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param window 集計する期間
+	 * @param maximumKeys 保持するキーの上限（ストライプ数で等分する）
+	 * @param stripeCount ストライプ数（2のべき乗に切り上げる）
+	 */
+	public SlidingWindowCounter(Duration window, int maximumKeys, int stripeCount) {
+		if (window.isNegative() || window.isZero()) {
+			throw new IllegalArgumentException("window must be positive: " + window);
+		}
+		int count = 1;
+		while (count < stripeCount) {
+			count <<= 1;
+		}
+		this.windowNanos = window.toNanos();
+		this.stripes = new Stripe[count];
+		this.mask = count - 1;
+		int perStripe = Math.max(1, (maximumKeys + count - 1) / count);
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new Stripe(perStripe);
+		}
+	}
+
+	/**
+	 * 直近の件数を取得（件数は加算しない）
+	 *
+	 * @param key キー
+	 * @return 直近 window の件数（近似値）
+	 */
+	public double estimate(String key) {
+		Stripe stripe = stripeFor(key);
+		long now = System.nanoTime();
+		synchronized (stripe) {
+			Window w = stripe.get(key);
+			return (w == null) ? 0 : w.estimate(now, windowNanos);
+		}
+	}
+
+	/**
+	 * 件数を1加算
+	 *
+	 * @param key キー
+	 * @return 加算後の直近 window の件数（近似値）
+	 */
+	public double increment(String key) {
+		Stripe stripe = stripeFor(key);
+		long now = System.nanoTime();
+		synchronized (stripe) {
+			Window w = stripe.get(key);
+			if (w == null) {
+				w = new Window(now);
+				stripe.put(key, w);
+			}
+			w.roll(now, windowNanos);
+			w.current++;
+			return w.estimate(now, windowNanos);
+		}
+	}
+
+	/**
+	 * 件数を1減算（加算の取り消し）
+	 * 加算後に区間が進んでいた場合は直前の区間から減算する。件数が 0 の場合は何もしない
+	 *
+	 * @param key キー
+	 */
+	public void decrement(String key) {
+		Stripe stripe = stripeFor(key);
+		long now = System.nanoTime();
+		synchronized (stripe) {
+			Window w = stripe.get(key);
+			if (w == null) {
+				return;
+			}
+			w.roll(now, windowNanos);
+			if (w.current > 0) {
+				w.current--;
+			} else if (w.previous > 0) {
+				w.previous--;
+			}
+		}
+	}
+
+	/**
+	 * キーに対して次の操作を許可する時刻を予約（前回の予約から interval が経過していない場合は予約しない）
+	 * 待機せずに結果を返す。キーがない場合（破棄された場合を含む）は予約せずに true を返す
+	 *
+	 * @param key キー
+	 * @param intervalNanos 次に許可するまでの間隔（ナノ秒）
+	 * @return 許可する場合 true（前回の予約から interval が経過していない場合は false）
+	 */
+	public boolean tryReserve(String key, long intervalNanos) {
+		Stripe stripe = stripeFor(key);
+		long now = System.nanoTime();
+		synchronized (stripe) {
+			Window w = stripe.get(key);
+			if (w == null) {
+				return true;
+			}
+			if (w.reserved && now - w.notBefore < 0) {
+				return false;
+			}
+			w.reserved = true;
+			w.notBefore = now + intervalNanos;
+			return true;
+		}
+	}
+
+	/**
+	 * キーの件数を破棄
+	 *
+	 * @param key キー
+	 */
+	public void reset(String key) {
+		Stripe stripe = stripeFor(key);
+		synchronized (stripe) {
+			stripe.remove(key);
+		}
+	}
+
+	/**
+	 * 保持しているキーの件数
+	 *
+	 * @return キーの件数（期限切れで件数 0 のキーを含む）
+	 */
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * キーに対応するストライプを取得
+	 *
+	 * @param key キー
+	 * @return ストライプ
+	 */
+	private Stripe stripeFor(String key) {
+		int h = key.hashCode();
+		return stripes[(h ^ (h >>> 16)) & mask];
+	}
+
+	/**
+	 * ストライプ（件数上限付き、アクセス順の LRU マップ）
+	 */
+	private static final class Stripe extends LinkedHashMap<String, Window> {
+
+		private static final long serialVersionUID = 1L;
+
+		/** 件数上限 */
+		private final int maximumSize;
+
+		Stripe(int maximumSize) {
+			super(16, 0.75f, true);
+			this.maximumSize = maximumSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+			return size() > maximumSize;
+		}
+	}
+
+	/**
+	 * キーごとの件数（現在の区間・直前の区間）
+	 */
+	private static final class Window {
+
+		/** 現在の区間の開始時刻（ナノ秒） */
+		private long start;
+
+		/** 現在の区間の件数 */
+		private long current;
+
+		/** 直前の区間の件数 */
+		private long previous;
+
+		/** 予約済みフラグ（tryReserve） */
+		private boolean reserved;
+
+		/** 次に許可する時刻（ナノ秒、reserved の場合のみ有効） */
+		private long notBefore;
+
+		Window(long start) {
+			this.start = start;
+		}
+
+		/**
+		 * 区間を現在時刻まで進める
+		 *
+		 * @param now 現在時刻（ナノ秒）
+		 * @param windowNanos 区間の長さ（ナノ秒）
+		 */
+		void roll(long now, long windowNanos) {
+			long elapsed = now - start;
+			if (elapsed < windowNanos) {
+				return;
+			}
+			// 1区間だけ進んだ場合は現在の件数が直前の件数になり、2区間以上進んだ場合はどちらも 0
+			previous = (elapsed < windowNanos * 2) ? current : 0;
+			current = 0;
+			start += (elapsed / windowNanos) * windowNanos;
+		}
+
+		/**
+		 * 直近 window の件数を近似
+		 *
+		 * @param now 現在時刻（ナノ秒）
+		 * @param windowNanos 区間の長さ（ナノ秒）
+		 * @return 件数（近似値）
+		 */
+		double estimate(long now, long windowNanos) {
+			roll(now, windowNanos);
+			double remaining = 1.0 - (double) (now - start) / windowNanos;
+			return previous * remaining + current;
+		}
+	}
+}
@@ -0,0 +1,360 @@
+package com.digitalojt.web.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Excel（.xlsx）ファイルの行読み込みクラス
+ *
+ * <pre>
+ * 先頭のワークシートの XML をストリーミングで解析し、1行ずつ返す（DOM やワークブック全体は展開しない）。
+ * - 文字列セルが参照する共有文字列表（sharedStrings.xml）のみ、開く時点でメモリに読み込む
+ *   （ふりがな（rPh）は値に含めない）
+ * - 数値セルは Excel が保存した文字列表現のまま返す（整数は "100" のように小数点なし）
+ * - 空のセルは空文字で埋め、行の途中の空セルが省略されていても列位置を保つ
+ * 外部実体・DTD の解決は無効にしている。
+ * </pre>
+ *
+ * @author dotlife
+ */
+public class XlsxRowReader implements RowReader {
+
+	/** ワークブック */
+	private static final String WORKBOOK = "xl/workbook.xml";
+
+	/** ワークブックのリレーションシップ */
+	private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+
+	/** 共有文字列表 */
+	private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+
+	/** ワークシートが特定できない場合の既定パス */
+	private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+
+	/** リレーションシップIDの名前空間 */
+	private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	/** 共有文字列表の最大件数（展開後のメモリ使用量の上限） */
+	private static final int MAX_SHARED_STRINGS = 1_000_000;
+
+	/** XMLパーサー生成（外部実体・DTD を無効化） */
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	/** ZIPファイル */
+	private final ZipFile zip;
+
+	/** 共有文字列表 */
+	private final List<String> sharedStrings;
+
+	/** ワークシートの XML パーサー */
+	private final XMLStreamReader sheet;
+
+	/** 直前に読み込んだ行の番号 */
+	private int rowNumber;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param path 読み込むファイル
+	 * @throws IOException xlsx 形式でない場合・読み込みに失敗した場合
+	 */
+	public XlsxRowReader(Path path) throws IOException {
+		this.zip = new ZipFile(path.toFile());
+		try {
+			this.sharedStrings = readSharedStrings();
+			ZipEntry sheetEntry = zip.getEntry(resolveFirstSheet());
+			if (sheetEntry == null) {
+				throw new IOException("ワークシートが見つかりません");
+			}
+			this.sheet = XML_INPUT_FACTORY.createXMLStreamReader(zip.getInputStream(sheetEntry));
+		} catch (IOException | XMLStreamException | RuntimeException e) {
+			zip.close();
+			throw (e instanceof IOException io) ? io : new IOException("xlsx ファイルを読み込めません", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<String> next() throws IOException {
+		try {
+			List<String> cells = null;
+			int column = 0;
+			String type = null;
+			String value = null;
+			StringBuilder inline = null;
+			boolean inValue = false;
+
+			while (sheet.hasNext()) {
+				int event = sheet.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					switch (sheet.getLocalName()) {
+					case "row" -> {
+						cells = new ArrayList<>();
+						column = 0;
+						String r = sheet.getAttributeValue(null, "r");
+						rowNumber = (r == null) ? rowNumber + 1 : Integer.parseInt(r);
+					}
+					case "c" -> {
+						String ref = sheet.getAttributeValue(null, "r");
+						if (ref != null) {
+							column = columnIndex(ref);
+						}
+						type = sheet.getAttributeValue(null, "t");
+						value = null;
+						inline = null;
+					}
+					case "v" -> inValue = true;
+					case "is" -> inline = new StringBuilder();
+					case "t" -> inValue = (inline != null);
+					case "rPh" -> skipElement();
+					default -> {
+						// 書式等の要素は読み飛ばす
+					}
+					}
+				} else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+					if (inValue) {
+						if (inline != null) {
+							inline.append(sheet.getText());
+						} else {
+							value = (value == null) ? sheet.getText() : value + sheet.getText();
+						}
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					switch (sheet.getLocalName()) {
+					case "v", "t" -> inValue = false;
+					case "c" -> {
+						if (cells != null) {
+							while (cells.size() < column) {
+								cells.add("");
+							}
+							cells.add(cellValue(type, value, inline));
+							column = cells.size();
+						}
+					}
+					case "row" -> {
+						return cells;
+					}
+					default -> {
+						// 何もしない
+					}
+					}
+				}
+			}
+			return null;
+		} catch (XMLStreamException | NumberFormatException e) {
+			throw new IOException(rowNumber + "行目: ワークシートの形式が不正です", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowNumber() {
+		return rowNumber;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			sheet.close();
+		} catch (XMLStreamException e) {
+			// ZIP のクローズで入力ストリームも閉じられるため無視する
+		} finally {
+			zip.close();
+		}
+	}
+
+	/**
+	 * セルの値を文字列に変換
+	 *
+	 * @param type セルの型（t 属性）
+	 * @param value v 要素の値
+	 * @param inline インライン文字列（is 要素）
+	 * @return セルの値（空欄は空文字）
+	 * @throws IOException 共有文字列の参照が不正な場合
+	 */
+	private String cellValue(String type, String value, StringBuilder inline) throws IOException {
+		if ("inlineStr".equals(type)) {
+			return (inline == null) ? "" : inline.toString();
+		}
+		if (value == null) {
+			return "";
+		}
+		if ("s".equals(type)) {
+			int index = Integer.parseInt(value.trim());
+			if (index < 0 || index >= sharedStrings.size()) {
+				throw new IOException(rowNumber + "行目: 共有文字列の参照が不正です");
+			}
+			return sharedStrings.get(index);
+		}
+		return value;
+	}
+
+	/**
+	 * 現在の要素を終了タグまで読み飛ばす
+	 *
+	 * @throws XMLStreamException XML の解析に失敗した場合
+	 */
+	private void skipElement() throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && sheet.hasNext()) {
+			int event = sheet.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * 共有文字列表を読み込む
+	 *
+	 * @return 共有文字列（ファイルにない場合は空）
+	 * @throws IOException 読み込みに失敗した場合・件数が上限を超える場合
+	 * @throws XMLStreamException XML の解析に失敗した場合
+	 */
+	private List<String> readSharedStrings() throws IOException, XMLStreamException {
+		ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+		if (entry == null) {
+			return Collections.emptyList();
+		}
+		List<String> strings = new ArrayList<>();
+		try (InputStream in = zip.getInputStream(entry)) {
+			XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			StringBuilder text = null;
+			boolean inText = false;
+			int phoneticDepth = 0;
+			while (xml.hasNext()) {
+				int event = xml.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					switch (xml.getLocalName()) {
+					case "si" -> text = new StringBuilder();
+					case "rPh" -> phoneticDepth++;
+					case "t" -> inText = (phoneticDepth == 0);
+					default -> {
+						// 書式等の要素は読み飛ばす
+					}
+					}
+				} else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+						&& inText && text != null) {
+					text.append(xml.getText());
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					switch (xml.getLocalName()) {
+					case "si" -> {
+						if (strings.size() >= MAX_SHARED_STRINGS) {
+							throw new IOException("共有文字列の件数が上限（" + MAX_SHARED_STRINGS + "件）を超えています");
+						}
+						strings.add(text == null ? "" : text.toString());
+						text = null;
+					}
+					case "rPh" -> phoneticDepth--;
+					case "t" -> inText = false;
+					default -> {
+						// 何もしない
+					}
+					}
+				}
+			}
+			xml.close();
+		}
+		return strings;
+	}
+
+	/**
+	 * 先頭のワークシートのパスを特定
+	 *
+	 * @return ZIP 内のパス
+	 * @throws IOException 読み込みに失敗した場合
+	 * @throws XMLStreamException XML の解析に失敗した場合
+	 */
+	private String resolveFirstSheet() throws IOException, XMLStreamException {
+		ZipEntry workbook = zip.getEntry(WORKBOOK);
+		ZipEntry rels = zip.getEntry(WORKBOOK_RELS);
+		if (workbook == null || rels == null) {
+			return DEFAULT_SHEET;
+		}
+
+		// ワークブックから先頭シートのリレーションシップIDを取得
+		String relationId = null;
+		try (InputStream in = zip.getInputStream(workbook)) {
+			XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			while (xml.hasNext() && relationId == null) {
+				if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+					relationId = xml.getAttributeValue(RELATIONSHIP_NS, "id");
+				}
+			}
+			xml.close();
+		}
+		if (relationId == null) {
+			return DEFAULT_SHEET;
+		}
+
+		// リレーションシップからシートのパスを取得
+		Map<String, String> targets = new HashMap<>();
+		try (InputStream in = zip.getInputStream(rels)) {
+			XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+			while (xml.hasNext()) {
+				if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())) {
+					targets.put(xml.getAttributeValue(null, "Id"), xml.getAttributeValue(null, "Target"));
+				}
+			}
+			xml.close();
+		}
+		String target = targets.get(relationId);
+		if (target == null) {
+			return DEFAULT_SHEET;
+		}
+		return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+	}
+
+	/**
+	 * セル参照（例: "AB12"）から0始まりの列番号を取得
+	 *
+	 * @param ref セル参照
+	 * @return 列番号
+	 */
+	private static int columnIndex(String ref) {
+		int column = 0;
+		for (int i = 0; i < ref.length(); i++) {
+			char c = ref.charAt(i);
+			if (c < 'A' || c > 'Z') {
+				break;
+			}
+			column = column * 26 + (c - 'A' + 1);
+		}
+		return column - 1;
+	}
+
+	/**
+	 * 外部実体・DTD を無効にした XMLパーサー生成を作成
+	 *
+	 * @return XMLパーサー生成
+	 */
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return factory;
+	}
+}
@@ -1,11 +1,11 @@
 package com.digitalojt.web.validation;
 
 import com.digitalojt.web.consts.ErrorMessage;
-import com.digitalojt.web.consts.InvalidCharacter;
 import com.digitalojt.web.consts.Region;
 import com.digitalojt.web.exception.ErrorMessageHelper;
 import com.digitalojt.web.form.CenterInfoForm;
 import com.digitalojt.web.util.InputValidator;
+import com.digitalojt.web.util.InvalidCharacterSanitizer;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -81,33 +81,10 @@ public class CenterInfoFormValidatorImpl implements ConstraintValidator<CenterIn
             return false;
         }
         
-        // 文字列の各文字を1つずつチェック
-        for (char c : input.toCharArray()) {
-            // 不正文字が含まれているか確認
-            if (isInvalidCharacter(c)) {
-                return true;
-            }
-        }
-        return false;
+        // 2026/10/18 性能改善 共通の不正文字チェック（ビット表による判定）に置き換え
+        return InvalidCharacterSanitizer.containsInvalidCharacter(input);
     }
     
-    /**
-     * 文字が不正文字かをチェックするメソッド
-     * 
-     * @param character チェックする文字
-     * @return 不正文字なら true, それ以外は false
-     */
-    private static boolean isInvalidCharacter(char character) {
-        for (InvalidCharacter invalidChar : InvalidCharacter.values()) {
-            if (invalidChar.getCharacter() == character) {
-            	// 不正文字が見つかった
-                return true;
-            }
-        }
-        // 不正文字ではない
-        return false;
-    }
-
     /**
      * 都道府県が有効かどうかを確認
      * @param region 都道府県
@@ -118,15 +95,8 @@ public class CenterInfoFormValidatorImpl implements ConstraintValidator<CenterIn
     		return false;
     	}
     	
-        // Enum の名前と比較して一致するかチェック
-    	boolean regionFlg = false;
-        for (Region regions : Region.values()) {
-        	if (regions.getName().contains(region)) {
-        		regionFlg = true;
-        		break;
-            }
-        }
-        return regionFlg;
+        // 2026/10/18 性能改善 Enum の線形走査をやめ、都道府県名の逆引き表で完全一致を判定
+        return Region.fromName(region) != null;
     }
 
     /**
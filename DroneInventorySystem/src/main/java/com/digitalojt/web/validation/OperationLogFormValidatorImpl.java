@@ -4,12 +4,12 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 import com.digitalojt.web.consts.ErrorMessage;
-import com.digitalojt.web.consts.InvalidCharacter;
 import com.digitalojt.web.consts.OperationStatus;
 import com.digitalojt.web.consts.OperationType;
 import com.digitalojt.web.exception.ErrorMessageHelper;
 import com.digitalojt.web.form.OperationLogForm;
 import com.digitalojt.web.util.InputValidator;
+import com.digitalojt.web.util.InvalidCharacterSanitizer;
 
 /**
  * 操作履歴画面のバリデーション処理実装
@@ -79,32 +79,10 @@ public class OperationLogFormValidatorImpl implements ConstraintValidator<Operat
             return false; // `null` の場合は不正文字チェック不要
         }
         
-        // 文字列の各文字を1つずつチェック
-        for (char c : input.toCharArray()) {
-            // 不正文字が含まれているか確認
-            if (isInvalidCharacter(c)) {
-                return true;
-            }
-        }
-        return false;
+        // 2026/10/18 性能改善 共通の不正文字チェック（ビット表による判定）に置き換え
+        return InvalidCharacterSanitizer.containsInvalidCharacter(input);
     }
     
-    /**
-     * 文字が不正文字かをチェックするメソッド
-     * 
-     * @param character チェックする文字
-     * @return 不正文字なら true, それ以外は false
-     */
-    private static boolean isInvalidCharacter(char character) {
-        for (InvalidCharacter invalidChar : InvalidCharacter.values()) {
-            if (invalidChar.getCharacter() == character) {
-            	// 不正文字が見つかった
-                return true;
-            }
-        }
-        // 不正文字ではない
-        return false;
-    }
     
     /**
      * 操作の種類が有効かどうかを確認
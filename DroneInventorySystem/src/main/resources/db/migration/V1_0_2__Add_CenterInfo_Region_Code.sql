@@ -0,0 +1,100 @@
+-- 在庫センター情報テーブル（center_info）に都道府県コードを追加
+-- 住所の LIKE 検索をやめ、(operational_status, region_code, current_storage_capacity) の索引で範囲検索する
+
+-- 都道府県コード（JIS X 0401）カラムを追加
+ALTER TABLE center_info ADD COLUMN region_code TINYINT NULL COMMENT '都道府県コード（JIS X 0401）' AFTER address;
+
+-- 都道府県マスタ（移行用の一時テーブル、Region Enum と同じ定義）
+CREATE TEMPORARY TABLE tmp_region (
+    region_code TINYINT NOT NULL PRIMARY KEY,
+    region_name VARCHAR(4) NOT NULL
+);
+INSERT INTO tmp_region (region_code, region_name) VALUES
+    (1, '北海道'),
+    (2, '青森県'),
+    (3, '岩手県'),
+    (4, '宮城県'),
+    (5, '秋田県'),
+    (6, '山形県'),
+    (7, '福島県'),
+    (8, '茨城県'),
+    (9, '栃木県'),
+    (10, '群馬県'),
+    (11, '埼玉県'),
+    (12, '千葉県'),
+    (13, '東京都'),
+    (14, '神奈川県'),
+    (15, '新潟県'),
+    (16, '富山県'),
+    (17, '石川県'),
+    (18, '福井県'),
+    (19, '山梨県'),
+    (20, '長野県'),
+    (21, '岐阜県'),
+    (22, '静岡県'),
+    (23, '愛知県'),
+    (24, '三重県'),
+    (25, '滋賀県'),
+    (26, '京都府'),
+    (27, '大阪府'),
+    (28, '兵庫県'),
+    (29, '奈良県'),
+    (30, '和歌山県'),
+    (31, '鳥取県'),
+    (32, '島根県'),
+    (33, '岡山県'),
+    (34, '広島県'),
+    (35, '山口県'),
+    (36, '徳島県'),
+    (37, '香川県'),
+    (38, '愛媛県'),
+    (39, '高知県'),
+    (40, '福岡県'),
+    (41, '佐賀県'),
+    (42, '長崎県'),
+    (43, '熊本県'),
+    (44, '大分県'),
+    (45, '宮崎県'),
+    (46, '鹿児島県'),
+    (47, '沖縄県');
+
+-- 既存データを center_id の範囲ごとに移行（1回の更新でテーブル全体をロックしないため）
+DROP PROCEDURE IF EXISTS backfill_center_info_region_code;
+DELIMITER $$
+CREATE PROCEDURE backfill_center_info_region_code()
+BEGIN
+    DECLARE v_from INT;
+    DECLARE v_max INT;
+    DECLARE v_batch INT DEFAULT 1000;
+
+    SELECT COALESCE(MIN(center_id), 0), COALESCE(MAX(center_id), -1) INTO v_from, v_max FROM center_info;
+
+    WHILE v_from <= v_max DO
+        -- 住所の先頭が都道府県名の場合
+        UPDATE center_info c
+          JOIN tmp_region r ON c.address LIKE CONCAT(r.region_name, '%')
+           SET c.region_code = r.region_code
+         WHERE c.center_id BETWEEN v_from AND v_from + v_batch - 1
+           AND c.region_code IS NULL;
+
+        -- 先頭以外に都道府県名を含む場合（Region.fromAddress と同じく定義順で最初の都道府県）
+        UPDATE center_info c
+           SET c.region_code = (
+                 SELECT MIN(r.region_code) FROM tmp_region r
+                  WHERE c.address LIKE CONCAT('%', r.region_name, '%'))
+         WHERE c.center_id BETWEEN v_from AND v_from + v_batch - 1
+           AND c.region_code IS NULL;
+
+        COMMIT;
+        SET v_from = v_from + v_batch;
+    END WHILE;
+END$$
+DELIMITER ;
+
+CALL backfill_center_info_region_code();
+DROP PROCEDURE backfill_center_info_region_code;
+DROP TEMPORARY TABLE tmp_region;
+
+-- 稼働状況・都道府県・現在容量の複合インデックスを追加
+CREATE INDEX idx_center_info_status_region_capacity
+    ON center_info (operational_status, region_code, current_storage_capacity);
@@ -0,0 +1,55 @@
+-- 操作履歴テーブル（operation_log）を操作時刻（create_date）で月次パーティション化
+-- 直近1ヶ月の検索が対象月のパーティションのみを走査するようにし、保持期間を過ぎた月はパーティション単位で削除する
+-- 翌月以降のパーティション作成・保持期間切れの削除は OperationLogPartitionMaintenance が定期実行する
+
+-- 外部キー制約を削除（MySQL のパーティションテーブルは外部キーを持てないため）
+DROP PROCEDURE IF EXISTS drop_operation_log_foreign_keys;
+DELIMITER $$
+CREATE PROCEDURE drop_operation_log_foreign_keys()
+BEGIN
+    DECLARE v_done INT DEFAULT 0;
+    DECLARE v_name VARCHAR(64);
+    DECLARE cur CURSOR FOR
+        SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+         WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'operation_log';
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET v_done = 1;
+
+    OPEN cur;
+    drop_loop: LOOP
+        FETCH cur INTO v_name;
+        IF v_done = 1 THEN
+            LEAVE drop_loop;
+        END IF;
+        SET @ddl = CONCAT('ALTER TABLE operation_log DROP FOREIGN KEY `', v_name, '`');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END LOOP;
+    CLOSE cur;
+END$$
+DELIMITER ;
+
+CALL drop_operation_log_foreign_keys();
+DROP PROCEDURE drop_operation_log_foreign_keys;
+
+-- 管理者IDの検索用インデックス（外部キー削除後も JOIN で使用する）
+CREATE INDEX idx_operation_log_admin_id ON operation_log (admin_id);
+
+-- 主キーにパーティションキー（create_date）を含める
+ALTER TABLE operation_log DROP PRIMARY KEY, ADD PRIMARY KEY (log_id, create_date);
+
+-- 操作時刻・操作種類・ステータスの複合インデックスを追加
+CREATE INDEX idx_operation_log_date_type_status ON operation_log (create_date, operate_type, status);
+
+-- 月次パーティションに変更
+-- 移行時点より前のデータは p_old にまとめ、保持期間を過ぎた時点で p_old ごと削除する
+-- 移行時点以降の月のパーティションは起動時・毎日の定期処理で pmax から切り出して作成する
+ALTER TABLE operation_log
+    PARTITION BY RANGE COLUMNS (create_date) (
+        PARTITION p_old   VALUES LESS THAN ('2026-10-01 00:00:00'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01 00:00:00'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01 00:00:00'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01 00:00:00'),
+        PARTITION p202701 VALUES LESS THAN ('2027-02-01 00:00:00'),
+        PARTITION pmax    VALUES LESS THAN (MAXVALUE)
+    );
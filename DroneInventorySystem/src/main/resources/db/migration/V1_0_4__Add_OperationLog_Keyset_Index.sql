@@ -0,0 +1,4 @@
+-- 操作履歴画面のキーセットページング用インデックス
+-- ORDER BY create_date, log_id と (create_date, log_id) の境界条件をインデックス順に走査し、
+-- 1ページ分 + 1件を読んだ時点で打ち切れるようにする（ファイルソート・COUNT(*) を発生させない）
+CREATE INDEX idx_operation_log_date_id ON operation_log (create_date, log_id);
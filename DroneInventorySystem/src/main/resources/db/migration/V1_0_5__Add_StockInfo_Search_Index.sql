@@ -0,0 +1,8 @@
+-- 在庫一覧画面の検索用インデックス
+-- InnoDB のセカンダリインデックスは末尾に主キー（stock_id）を含むため、
+-- センター・分類・削除フラグを等価条件で絞り込んだ結果を stock_id 順に読み出せる
+-- （キーセットページングで 1ページ分 + 1件を読んだ時点で打ち切れ、センター内の在庫件数に依存しない）
+CREATE INDEX idx_stock_info_center_category_delete ON stock_info (center_id, category_id, delete_flag);
+
+-- 分類を指定しない検索用（センター・削除フラグで絞り込み、stock_id 順に読み出す）
+CREATE INDEX idx_stock_info_center_delete ON stock_info (center_id, delete_flag);
@@ -0,0 +1,18 @@
+-- 在庫集計テーブル（センター・分類ごとの在庫数量合計と在庫件数）
+-- 以降は在庫の登録・更新・削除時に StockAggregationService が差分のみを加算して維持する
+CREATE TABLE IF NOT EXISTS stock_summary (
+    center_id INT NOT NULL,
+    category_id INT NOT NULL,
+    total_amount BIGINT NOT NULL,
+    stock_count BIGINT NOT NULL,
+    update_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (center_id, category_id)
+);
+
+-- 既存の在庫から初期値を作成（stock_info を走査するのはこの1回のみ）
+DELETE FROM stock_summary;
+INSERT INTO stock_summary (center_id, category_id, total_amount, stock_count, update_date)
+SELECT center_id, category_id, COALESCE(SUM(amount), 0), COUNT(*), NOW(6)
+  FROM stock_info
+ WHERE delete_flag = 0 AND center_id IS NOT NULL AND category_id IS NOT NULL
+ GROUP BY center_id, category_id;
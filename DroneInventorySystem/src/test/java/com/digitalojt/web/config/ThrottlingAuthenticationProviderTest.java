@@ -0,0 +1,90 @@
+package com.digitalojt.web.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.digitalojt.web.consts.ErrorMessage;
+import com.digitalojt.web.exception.LoginThrottledException;
+import com.digitalojt.web.service.LoginThrottleService;
+import com.digitalojt.web.service.LoginThrottleService.AccountPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * ThrottlingAuthenticationProvider の確認（上限を超えた試行は待たずに、照合せずに拒否する）
+ *
+ * @author dotlife
+ */
+class ThrottlingAuthenticationProviderTest {
+
+	/** 照合の呼び出し回数 */
+	private final AtomicInteger delegateCalls = new AtomicInteger();
+
+	/** 常にパスワード不一致とする Provider */
+	private final AuthenticationProvider delegate = new AuthenticationProvider() {
+		@Override
+		public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+			delegateCalls.incrementAndGet();
+			throw new BadCredentialsException("bad credentials");
+		}
+
+		@Override
+		public boolean supports(Class<?> authentication) {
+			return true;
+		}
+	};
+
+	@Test
+	void throttledAccountIsRejectedWithoutWaitingOrVerifying() {
+		for (AccountPolicy policy : AccountPolicy.values()) {
+			delegateCalls.set(0);
+			ThrottlingAuthenticationProvider provider = newProvider(policy);
+
+			// 管理者IDごとの上限（3回）まで、接続元を変えて失敗させる（DELAY は超過1回目も照合する）
+			int allowed = (policy == AccountPolicy.DELAY) ? 4 : 3;
+			for (int i = 0; i < allowed; i++) {
+				assertThatThrownBy(() -> provider.authenticate(token("10.0.1." + delegateCalls.get())))
+						.isInstanceOf(BadCredentialsException.class);
+			}
+			assertThat(delegateCalls.get()).isEqualTo(allowed);
+
+			for (int i = 0; i < 20; i++) {
+				long start = System.nanoTime();
+				assertThatThrownBy(() -> provider.authenticate(token("10.0.2.1")))
+						.as(policy.name())
+						.isInstanceOf(LoginThrottledException.class);
+				assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).as(policy.name()).isLessThan(500);
+			}
+			assertThat(delegateCalls.get()).as(policy.name()).isEqualTo(allowed);
+		}
+	}
+
+	private ThrottlingAuthenticationProvider newProvider(AccountPolicy policy) {
+		LoginThrottleService throttleService = new LoginThrottleService(true, Duration.ofMinutes(15), 1000, 1000, 3,
+				policy, Duration.ofHours(1), Duration.ofHours(1), 1000, 4, new SimpleMeterRegistry());
+		StaticMessageSource messageSource = new StaticMessageSource();
+		messageSource.addMessage(ErrorMessage.LOGIN_THROTTLED, Locale.JAPAN, "throttled");
+		return new ThrottlingAuthenticationProvider(delegate, throttleService, messageSource);
+	}
+
+	private static Authentication token(String address) {
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated("admin",
+				"wrong");
+		token.setDetails(new WebAuthenticationDetails(address, null));
+		return token;
+	}
+}
@@ -0,0 +1,102 @@
+package com.digitalojt.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.digitalojt.web.config.DbTimingDataSource;
+
+/**
+ * DB の処理時間の加算（DbTimingDataSource → RequestContext）の確認
+ *
+ * @author dotlife
+ */
+class RequestContextDbTimeTest {
+
+	/** 1行の読み込みにかかる時間（ミリ秒） */
+	private static final long FETCH_MILLIS = 20;
+
+	/** 行数 */
+	private static final int ROWS = 3;
+
+	@AfterEach
+	void tearDown() {
+		RequestContext.bind(null);
+	}
+
+	@Test
+	void resultSetFetchIsIncludedInDbTime() throws Exception {
+		AtomicInteger fetched = new AtomicInteger();
+		DataSource dataSource = new DbTimingDataSource(stubDataSource(fetched));
+		RequestContext context = new RequestContext("req-1");
+		RequestContext.bind(context);
+
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("select 1");
+				ResultSet resultSet = statement.executeQuery()) {
+			assertThat(resultSet.getStatement()).isSameAs(statement);
+			assertThat(statement.getConnection()).isSameAs(connection);
+			while (resultSet.next()) {
+				// 読み込みのみ
+			}
+		}
+
+		// executeQuery は即座に返るため、加算されるのは読み込み（next の呼び出し。最後の false を含む）の時間
+		assertThat(fetched.get()).isEqualTo(ROWS + 1);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(context.dbNanos())).isGreaterThanOrEqualTo(FETCH_MILLIS * (ROWS + 1));
+	}
+
+	@Test
+	void connectionWithoutRequestContextIsNotWrapped() throws Exception {
+		DataSource target = stubDataSource(new AtomicInteger());
+
+		// 起動時の処理・バッチなどは元の接続をそのまま使う
+		assertThat(new DbTimingDataSource(target).getConnection()).isSameAs(target.getConnection());
+	}
+
+	/**
+	 * 行の読み込みに FETCH_MILLIS かかる結果セットを返すデータソース
+	 *
+	 * @param fetched 読み込んだ行数
+	 * @return データソース
+	 */
+	private static DataSource stubDataSource(AtomicInteger fetched) {
+		ResultSet resultSet = stub(ResultSet.class, (proxy, method, args) -> {
+			if (method.getName().equals("next")) {
+				Thread.sleep(FETCH_MILLIS);
+				return fetched.incrementAndGet() <= ROWS;
+			}
+			return null;
+		});
+		PreparedStatement statement = stub(PreparedStatement.class,
+				(proxy, method, args) -> method.getName().equals("executeQuery") ? resultSet : null);
+		Connection connection = stub(Connection.class,
+				(proxy, method, args) -> method.getName().equals("prepareStatement") ? statement : null);
+		return stub(DataSource.class,
+				(proxy, method, args) -> method.getName().equals("getConnection") ? connection : null);
+	}
+
+	/**
+	 * インターフェースの簡易実装
+	 *
+	 * @param <T> インターフェース
+	 * @param type インターフェース
+	 * @param handler 処理
+	 * @return 実装
+	 */
+	private static <T> T stub(Class<T> type, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(RequestContextDbTimeTest.class.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+}
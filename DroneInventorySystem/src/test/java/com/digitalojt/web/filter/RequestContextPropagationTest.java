@@ -0,0 +1,60 @@
+package com.digitalojt.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import com.digitalojt.web.config.LogConfig;
+import com.digitalojt.web.consts.LogMessage;
+
+/**
+ * 非同期処理への RequestContext・ログの診断コンテキストの引き継ぎ（LogConfig#mdcTaskDecorator）の確認
+ *
+ * @author dotlife
+ */
+class RequestContextPropagationTest {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		RequestContext.bind(null);
+		MDC.clear();
+	}
+
+	@Test
+	void asyncTaskAddsDbTimeToRequestContext() throws Exception {
+		TaskDecorator decorator = new LogConfig().mdcTaskDecorator();
+		RequestContext context = new RequestContext("req-1");
+		RequestContext.bind(context);
+		MDC.put(LogMessage.REQUEST_ID_KEY, "req-1");
+
+		AtomicReference<RequestContext> seen = new AtomicReference<>();
+		AtomicReference<String> seenRequestId = new AtomicReference<>();
+		executor.submit(decorator.decorate(() -> {
+			seen.set(RequestContext.current());
+			seenRequestId.set(MDC.get(LogMessage.REQUEST_ID_KEY));
+			RequestContext.current().addDbTime(TimeUnit.MILLISECONDS.toNanos(5));
+		})).get(10, TimeUnit.SECONDS);
+
+		assertThat(seen.get()).isSameAs(context);
+		assertThat(seenRequestId.get()).isEqualTo("req-1");
+		assertThat(context.dbNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+
+		// 処理後のスレッドにはコンテキストを残さない
+		RequestContext.bind(null);
+		MDC.clear();
+		AtomicReference<RequestContext> after = new AtomicReference<>(context);
+		executor.submit(() -> after.set(RequestContext.current())).get(10, TimeUnit.SECONDS);
+		assertThat(after.get()).isNull();
+	}
+}
@@ -0,0 +1,92 @@
+package com.digitalojt.web.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.digitalojt.web.consts.ExportFormat;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.repository.CenterInfoRepository;
+import com.digitalojt.web.util.CsvRowReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * エクスポートしたCSVを取込で読み込んだ場合に値が元に戻ることの確認（数式実行防止の「'」の付与・除去）
+ *
+ * @author dotlife
+ */
+class CenterInfoCsvRoundTripTest {
+
+	/** 列番号（センター名・備考） */
+	private static final int CENTER_NAME = 1;
+	private static final int NOTES = 9;
+
+	@Test
+	void formulaPrefixIsRemovedOnImport() throws Exception {
+		List<String> values = List.of("=SUM(A1:A2)", "+81-3", "-1", "@cmd", "\tタブ", "\r改行", "'引用符", "''=二重",
+				"'", "通常,\"区切り\"");
+		List<CenterInfo> centers = new ArrayList<>();
+		for (int i = 0; i < values.size(); i++) {
+			CenterInfo center = new CenterInfo();
+			center.setCenterId(i + 1);
+			center.setCenterName(values.get(i));
+			center.setNotes(values.get(i));
+			centers.add(center);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService(centers).export(ExportFormat.CSV, out);
+		String csv = out.toString(StandardCharsets.UTF_8);
+		assertThat(csv).contains(",'=SUM(A1:A2),", ",'@cmd,", ",'-1,");
+
+		try (CsvRowReader reader = new CsvRowReader(new ByteArrayInputStream(out.toByteArray()))) {
+			reader.next();
+			for (String value : values) {
+				List<String> row = reader.next();
+				assertThat(row.get(CENTER_NAME)).isEqualTo(value);
+				assertThat(row.get(NOTES)).isEqualTo(value);
+			}
+			assertThat(reader.next()).isNull();
+		}
+	}
+
+	/**
+	 * 指定したセンター情報を出力するエクスポートサービス
+	 *
+	 * @param centers 出力対象
+	 * @return エクスポートサービス
+	 */
+	private static CenterInfoExportService exportService(List<CenterInfo> centers) {
+		CenterInfoRepository repository = stub(CenterInfoRepository.class, "streamAll", centers.stream());
+		EntityManager entityManager = stub(EntityManager.class, "detach", null);
+		return new CenterInfoExportService(repository, entityManager, new ObjectMapper());
+	}
+
+	/**
+	 * 指定したメソッドのみ値を返すインターフェースの簡易実装
+	 *
+	 * @param <T> インターフェース
+	 * @param type インターフェース
+	 * @param methodName メソッド名
+	 * @param result 戻り値
+	 * @return 実装
+	 */
+	private static <T> T stub(Class<T> type, String methodName, Object result) {
+		return type.cast(Proxy.newProxyInstance(CenterInfoCsvRoundTripTest.class.getClassLoader(),
+				new Class<?>[] { type }, (proxy, method, args) -> {
+					if (method.getName().equals(methodName)) {
+						return result;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				}));
+	}
+}
@@ -0,0 +1,184 @@
+package com.digitalojt.web.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.digitalojt.web.consts.Region;
+import com.digitalojt.web.entity.CenterInfo;
+import com.digitalojt.web.repository.CenterInfoRepository;
+
+/**
+ * CenterInfoIndex の検索結果が DB 検索（findActiveCenters / findActiveCentersAfter）と一致することの確認
+ *
+ * @author dotlife
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:center_info_index;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driverClassName=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CenterInfoIndexTest {
+
+	/** センター名の候補（大文字・小文字、2-gram が重なる名前、1文字の名前を含む） */
+	private static final String[] NAMES = { "東京第一センター", "東京第二センター", "大阪センター", "Alpha Center",
+			"ALPHA center", "alphabet", "センター", "東", "ab", "abab", "Bab" };
+
+	/** 住所（都道府県コードの導出元） */
+	private static final String[] ADDRESSES = { "東京都千代田区1-1", "大阪府大阪市2-2", "北海道札幌市3-3", "福岡県福岡市4-4",
+			"住所不明" };
+
+	/** 検索するセンター名（該当なし・1文字・2-gram は合致するが部分一致しないものを含む） */
+	private static final String[] QUERY_NAMES = { "", "東", "東京", "センター", "第二", "alpha", "ALPHA C", "ab", "bab",
+			"aba", "京第一セ", "該当なし", "a" };
+
+	@Autowired
+	private CenterInfoRepository repository;
+
+	/** 再構築を呼び出し元で実行するまで保留するスレッド */
+	private final List<Runnable> pendingRebuilds = new ArrayList<>();
+
+	private CenterInfoIndex index;
+
+	private final Random random = new Random(20261018L);
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 300; i++) {
+			repository.save(newCenter(i));
+		}
+		repository.flush();
+		index = new CenterInfoIndex(true, repository, pendingRebuilds::add);
+		index.load();
+	}
+
+	@Test
+	void findMatchesRepository() {
+		assertAllQueriesMatch();
+	}
+
+	@Test
+	void findMatchesRepositoryWhileChangesAreNotRebuilt() {
+		List<CenterInfo> all = new ArrayList<>(repository.findAll());
+		all.sort(Comparator.comparingInt(CenterInfo::getCenterId));
+
+		// 更新（名前・容量・住所の変更、稼働停止・稼働再開）
+		for (int i = 0; i < all.size(); i += 7) {
+			CenterInfo center = all.get(i);
+			center.setCenterName(NAMES[random.nextInt(NAMES.length)]);
+			center.setCurrentStorageCapacity(random.nextInt(101));
+			center.setAddress(ADDRESSES[random.nextInt(ADDRESSES.length)]);
+			center.setOperationalStatus(random.nextInt(3) == 0 ? 1 : 0);
+			index.apply(repository.saveAndFlush(center), false);
+		}
+		// 削除
+		for (int i = 3; i < all.size(); i += 11) {
+			CenterInfo center = all.get(i);
+			repository.delete(center);
+			repository.flush();
+			index.apply(center, true);
+		}
+		// 登録（既存より大きいID）
+		for (int i = 0; i < 20; i++) {
+			index.apply(repository.saveAndFlush(newCenter(1000 + i)), false);
+		}
+
+		// 再構築前（構築済みの索引 + 差分）
+		assertThat(pendingRebuilds).hasSize(1);
+		assertAllQueriesMatch();
+
+		// 再構築後
+		runPendingRebuilds();
+		assertAllQueriesMatch();
+	}
+
+	@Test
+	void returnedEntitiesAreNotShared() {
+		List<CenterInfo> first = index.find("", null, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1);
+		first.get(0).setCenterName("変更");
+
+		List<CenterInfo> second = index.find("", null, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1);
+		assertThat(second.get(0)).isNotSameAs(first.get(0));
+		assertThat(second.get(0).getCenterName()).isNotEqualTo("変更");
+	}
+
+	/**
+	 * 検索条件の組み合わせすべてで、索引と DB 検索の結果（center_id の並び）が一致することを確認
+	 */
+	private void assertAllQueriesMatch() {
+		List<Integer> ids = repository.findAll().stream().map(CenterInfo::getCenterId).sorted().toList();
+		int maxId = ids.get(ids.size() - 1);
+		Integer[] regionCodes = { null, Region.fromName("東京都").getCode(), Region.fromName("北海道").getCode(),
+				Region.fromName("沖縄県").getCode() };
+		int[][] capacities = { { Integer.MIN_VALUE, Integer.MAX_VALUE }, { 0, 100 }, { 10, 12 }, { 50, 50 },
+				{ 95, 200 }, { -5, -1 } };
+		int[] afters = { 0, ids.get(0), ids.get(ids.size() / 2), maxId - 1, maxId };
+		int[] limits = { 0, 1, 5, 51, 1000 };
+
+		for (String name : QUERY_NAMES) {
+			for (Integer regionCode : regionCodes) {
+				for (int[] capacity : capacities) {
+					List<Integer> expected = repository.findActiveCenters(name, regionCode, capacity[0], capacity[1])
+							.stream().map(CenterInfo::getCenterId).sorted().toList();
+					assertThat(ids(index.find(name, regionCode, capacity[0], capacity[1], 0, 0)))
+							.as("name=%s, region=%s, capacity=%d-%d", name, regionCode, capacity[0], capacity[1])
+							.isEqualTo(expected);
+
+					for (int after : afters) {
+						for (int limit : limits) {
+							if (limit == 0) {
+								continue;
+							}
+							List<Integer> page = ids(repository.findActiveCentersAfter(name, regionCode,
+									capacity[0], capacity[1], after, PageRequest.ofSize(limit)));
+							assertThat(ids(index.find(name, regionCode, capacity[0], capacity[1], after, limit)))
+									.as("name=%s, region=%s, capacity=%d-%d, after=%d, limit=%d",
+											name, regionCode, capacity[0], capacity[1], after, limit)
+									.isEqualTo(page);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void runPendingRebuilds() {
+		List<Runnable> tasks = new ArrayList<>(pendingRebuilds);
+		pendingRebuilds.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	private static List<Integer> ids(List<CenterInfo> centers) {
+		return centers.stream().map(CenterInfo::getCenterId).toList();
+	}
+
+	private CenterInfo newCenter(int seed) {
+		LocalDateTime now = LocalDateTime.now();
+		CenterInfo center = new CenterInfo();
+		center.setCenterName(NAMES[random.nextInt(NAMES.length)] + (random.nextBoolean() ? "" : " " + seed));
+		center.setPostCode("100-0001");
+		center.setAddress(ADDRESSES[random.nextInt(ADDRESSES.length)]);
+		center.setPhoneNumber("03-0000-0000");
+		center.setManagerName("管理者" + seed);
+		center.setOperationalStatus(random.nextInt(4) == 0 ? 1 : 0);
+		center.setMaxStorageCapacity(100);
+		center.setCurrentStorageCapacity(random.nextInt(101));
+		center.setDeleteFlag(0);
+		center.setCreateDate(now);
+		center.setUpdateDate(now);
+		return center;
+	}
+}
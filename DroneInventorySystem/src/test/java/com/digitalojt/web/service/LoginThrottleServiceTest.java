@@ -0,0 +1,143 @@
+package com.digitalojt.web.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.digitalojt.web.service.LoginThrottleService.AccountPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * LoginThrottleService の確認（同時試行・取り消し・管理者IDごとの上限の扱い）
+ *
+ * @author dotlife
+ */
+class LoginThrottleServiceTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void concurrentAttemptsDoNotExceedLimit() throws InterruptedException {
+		LoginThrottleService service = newService(5, 1000, 1000, AccountPolicy.BLOCK, Duration.ZERO);
+		int threads = 32;
+		CountDownLatch ready = new CountDownLatch(1);
+		AtomicInteger acquired = new AtomicInteger();
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			Thread worker = new Thread(() -> {
+				try {
+					ready.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				if (service.tryAcquire("admin", "10.0.0.1")) {
+					acquired.incrementAndGet();
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		ready.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		// 照合中の試行も回数に含まれるため、同時に送られても上限を超えて照合に進まない
+		assertThat(acquired.get()).isEqualTo(5);
+		assertThat(blocked("account_address")).isEqualTo(threads - 5);
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isFalse();
+	}
+
+	@Test
+	void failuresBlockAndRejectedAttemptsAreNotCounted() {
+		LoginThrottleService service = newService(3, 5, 1000, AccountPolicy.BLOCK, Duration.ZERO);
+		for (int i = 0; i < 3; i++) {
+			assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+			service.recordFailure("admin", "10.0.0.1");
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(service.tryAcquire("admin", "10.0.0.1")).isFalse();
+		}
+
+		// 拒否した試行は接続元IPアドレスの回数に含まれない（5回中3回のみ使用済み）
+		assertThat(service.tryAcquire("other", "10.0.0.1")).isTrue();
+		assertThat(service.tryAcquire("other", "10.0.0.1")).isTrue();
+		assertThat(service.tryAcquire("other", "10.0.0.1")).isFalse();
+		assertThat(blocked("address")).isEqualTo(1);
+	}
+
+	@Test
+	void successAndReleaseAreNotCounted() {
+		LoginThrottleService service = newService(2, 3, 3, AccountPolicy.BLOCK, Duration.ZERO);
+		for (int i = 0; i < 10; i++) {
+			assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+			if (i % 2 == 0) {
+				service.recordSuccess("admin", "10.0.0.1");
+			} else {
+				service.release("admin", "10.0.0.1");
+			}
+		}
+
+		// 成功で管理者ID + 接続元IPアドレスの失敗回数は破棄される
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		service.recordFailure("admin", "10.0.0.1");
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		service.recordSuccess("admin", "10.0.0.1");
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		service.recordFailure("admin", "10.0.0.1");
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		service.recordFailure("admin", "10.0.0.1");
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isFalse();
+	}
+
+	@Test
+	void blockPolicyRejectsAccountFromAnyAddress() {
+		LoginThrottleService service = newService(1000, 1000, 2, AccountPolicy.BLOCK, Duration.ZERO);
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		assertThat(service.tryAcquire("admin", "10.0.0.2")).isTrue();
+
+		assertThat(service.tryAcquire("admin", "10.0.0.3")).isFalse();
+		assertThat(blocked("account")).isEqualTo(1);
+	}
+
+	@Test
+	void delayPolicyAllowsOneAttemptPerIntervalWithoutWaiting() throws InterruptedException {
+		LoginThrottleService service = newService(1000, 1000, 2, AccountPolicy.DELAY, Duration.ofMillis(200));
+		assertThat(service.tryAcquire("admin", "10.0.0.1")).isTrue();
+		assertThat(service.tryAcquire("admin", "10.0.0.2")).isTrue();
+
+		// 上限を超えた最初の試行は照合させ、間隔内の試行は待たずに拒否する
+		long start = System.nanoTime();
+		assertThat(service.tryAcquire("admin", "10.0.0.3")).isTrue();
+		assertThat(service.tryAcquire("admin", "10.0.0.4")).isFalse();
+		assertThat(service.tryAcquire("admin", "10.0.0.5")).isFalse();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(200);
+		assertThat(blocked("account")).isEqualTo(2);
+
+		// 間隔が空けば次の1回を照合させる（間隔は超過回数に応じて2倍になる）
+		Thread.sleep(250);
+		assertThat(service.tryAcquire("admin", "10.0.0.6")).isTrue();
+		assertThat(service.tryAcquire("admin", "10.0.0.7")).isFalse();
+		Thread.sleep(250);
+		assertThat(service.tryAcquire("admin", "10.0.0.8")).isFalse();
+	}
+
+	private LoginThrottleService newService(int perAccountAndAddress, int perAddress, int perAccount,
+			AccountPolicy accountPolicy, Duration accountDelay) {
+		return new LoginThrottleService(true, Duration.ofMinutes(15), perAccountAndAddress, perAddress, perAccount,
+				accountPolicy, accountDelay, Duration.ofSeconds(1), 1000, 4, meterRegistry);
+	}
+
+	private double blocked(String scope) {
+		return meterRegistry.get("login.throttle.blocked").tag("scope", scope).counter().count();
+	}
+}
@@ -0,0 +1,238 @@
+package com.digitalojt.web.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.digitalojt.web.service.OperationLogRecorder.Entry;
+import com.digitalojt.web.service.OperationLogRecorder.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * OperationLogRecorder の確認（バッファ満杯時の扱い・停止時の書き込み・書き込み失敗時の継続）
+ *
+ * @author dotlife
+ */
+class OperationLogRecorderTest {
+
+	/** 書き込みスレッド名 */
+	private static final String WRITER_THREAD = "operation-log-writer";
+
+	private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private OperationLogRecorder recorder;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.release.countDown();
+		if (recorder != null) {
+			recorder.shutdown();
+		}
+	}
+
+	@Test
+	void callerRunsWritesOnCallingThreadWhenFull() throws InterruptedException {
+		recorder = start(4, 1, Duration.ofHours(1), OverflowPolicy.CALLER_RUNS);
+		fillWhileWriterBlocked();
+
+		// 満杯のため呼び出し元スレッドで書き込まれる
+		recorder.enqueue(entry(5));
+		assertThat(jdbcTemplate.details()).containsExactly("details-5");
+		assertThat(meterRegistry.get("operation.log.caller.runs").counter().count()).isEqualTo(1);
+
+		jdbcTemplate.release.countDown();
+		recorder.shutdown();
+		assertThat(jdbcTemplate.details()).containsExactlyInAnyOrder(
+				"details-0", "details-1", "details-2", "details-3", "details-4", "details-5");
+		assertThat(meterRegistry.get("operation.log.dropped").counter().count()).isZero();
+	}
+
+	@Test
+	void dropDiscardsWhenFull() throws InterruptedException {
+		recorder = start(4, 1, Duration.ofHours(1), OverflowPolicy.DROP);
+		fillWhileWriterBlocked();
+
+		recorder.enqueue(entry(5));
+		assertThat(jdbcTemplate.details()).isEmpty();
+		assertThat(meterRegistry.get("operation.log.dropped").counter().count()).isEqualTo(1);
+
+		jdbcTemplate.release.countDown();
+		recorder.shutdown();
+		assertThat(jdbcTemplate.details()).containsExactlyInAnyOrder(
+				"details-0", "details-1", "details-2", "details-3", "details-4");
+		assertThat(meterRegistry.get("operation.log.caller.runs").counter().count()).isZero();
+	}
+
+	@Test
+	void shutdownWritesEverythingBuffered() throws InterruptedException {
+		// 書き込み間隔を長くし、停止時の書き込みだけで全件書かれることを確認する
+		recorder = start(1024, 1000, Duration.ofHours(1), OverflowPolicy.CALLER_RUNS);
+		runProducers(4, 200);
+
+		recorder.shutdown();
+		assertAllWrittenOnce(800);
+		assertThat(jdbcTemplate.threads).containsOnly(WRITER_THREAD);
+	}
+
+	@Test
+	void writerSurvivesWriteFailure() throws InterruptedException {
+		jdbcTemplate.failures.set(1);
+		recorder = start(16, 1, Duration.ofMillis(10), OverflowPolicy.CALLER_RUNS);
+
+		recorder.enqueue(entry(0));
+		recorder.enqueue(entry(1));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!jdbcTemplate.details().contains("details-1") && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+
+		// 1件目は書き込み失敗として破棄され、書き込みスレッドは2件目を書き込む
+		assertThat(jdbcTemplate.details()).containsExactly("details-1");
+		assertThat(jdbcTemplate.threads).containsOnly(WRITER_THREAD);
+		assertThat(meterRegistry.get("operation.log.failed").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void producersRacingShutdownLoseNothing() throws InterruptedException {
+		for (int round = 0; round < 30; round++) {
+			synchronized (jdbcTemplate.written) {
+				jdbcTemplate.written.clear();
+			}
+			recorder = start(1 << 14, 50, Duration.ofMillis(1), OverflowPolicy.CALLER_RUNS);
+
+			// 投入の途中で停止する
+			List<Thread> producers = startProducers(4, 2000);
+			recorder.shutdown();
+			for (Thread producer : producers) {
+				producer.join();
+			}
+
+			assertAllWrittenOnce(8000);
+			recorder = null;
+		}
+	}
+
+	/**
+	 * 書き込みスレッドを1件目の書き込み中に止め、バッファ（容量4）を満杯にする
+	 */
+	private void fillWhileWriterBlocked() throws InterruptedException {
+		jdbcTemplate.blockWriter = true;
+		recorder.enqueue(entry(0));
+		assertThat(jdbcTemplate.writerBlocked.await(10, TimeUnit.SECONDS)).isTrue();
+		for (int i = 1; i <= 4; i++) {
+			recorder.enqueue(entry(i));
+		}
+	}
+
+	private OperationLogRecorder start(int bufferSize, int batchSize, Duration flushInterval,
+			OverflowPolicy overflowPolicy) {
+		OperationLogRecorder started = new OperationLogRecorder(true, bufferSize, batchSize, flushInterval,
+				overflowPolicy, jdbcTemplate, meterRegistry);
+		started.start();
+		return started;
+	}
+
+	private void runProducers(int threads, int perThread) throws InterruptedException {
+		for (Thread producer : startProducers(threads, perThread)) {
+			producer.join();
+		}
+	}
+
+	private List<Thread> startProducers(int threads, int perThread) {
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int base = t * perThread;
+			Thread producer = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					recorder.enqueue(entry(base + i));
+				}
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		return producers;
+	}
+
+	private void assertAllWrittenOnce(int expected) {
+		List<String> details = jdbcTemplate.details();
+		assertThat(details).hasSize(expected);
+		assertThat(new HashSet<>(details)).hasSize(expected);
+	}
+
+	private static Entry entry(int number) {
+		return new Entry("admin", "center_info", 1, 0, "details-" + number, LocalDateTime.now());
+	}
+
+	/**
+	 * 書き込んだ操作履歴を記録する JdbcTemplate（DB には接続しない）
+	 */
+	private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+		/** 書き込んだ操作履歴 */
+		final List<Entry> written = new ArrayList<>();
+
+		/** 書き込んだスレッド名 */
+		final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+		/** 失敗させる書き込み回数 */
+		final AtomicInteger failures = new AtomicInteger();
+
+		/** 書き込みスレッドの最初の書き込みを止めるか */
+		volatile boolean blockWriter;
+
+		/** 書き込みスレッドが止まった */
+		final CountDownLatch writerBlocked = new CountDownLatch(1);
+
+		/** 書き込みスレッドの再開 */
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@Override
+		public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+				ParameterizedPreparedStatementSetter<T> pss) {
+			String thread = Thread.currentThread().getName();
+			if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				throw new IllegalStateException("書き込み失敗（テスト）");
+			}
+			if (blockWriter && thread.equals(WRITER_THREAD)) {
+				blockWriter = false;
+				writerBlocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			synchronized (written) {
+				for (T arg : batchArgs) {
+					written.add((Entry) arg);
+				}
+			}
+			threads.add(thread);
+			return new int[0][];
+		}
+
+		List<String> details() {
+			synchronized (written) {
+				return written.stream().map(Entry::details).toList();
+			}
+		}
+	}
+}
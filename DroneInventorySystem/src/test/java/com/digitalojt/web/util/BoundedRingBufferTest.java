@@ -0,0 +1,117 @@
+package com.digitalojt.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BoundedRingBuffer の確認（容量・満杯時の扱い・複数スレッドからの投入）
+ *
+ * @author dotlife
+ */
+class BoundedRingBufferTest {
+
+	@Test
+	void capacityIsRoundedUpToPowerOfTwo() {
+		assertThat(new BoundedRingBuffer<Integer>(1).capacity()).isEqualTo(1);
+		assertThat(new BoundedRingBuffer<Integer>(3).capacity()).isEqualTo(4);
+		assertThat(new BoundedRingBuffer<Integer>(8192).capacity()).isEqualTo(8192);
+	}
+
+	@Test
+	void offerReturnsFalseWhenFull() {
+		BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(4)).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+
+		// 1件取り出すと1件投入できる
+		assertThat(buffer.poll()).isEqualTo(0);
+		assertThat(buffer.offer(5)).isTrue();
+		assertThat(buffer.offer(6)).isFalse();
+
+		List<Integer> drained = new ArrayList<>();
+		assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+		assertThat(drained).containsExactly(1, 2, 3, 5);
+		assertThat(buffer.poll()).isNull();
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void multipleProducersLoseNothingAndDuplicateNothing() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 20_000;
+		int total = producers * perProducer;
+		// 満杯が頻繁に起きるよう小さい容量にする
+		BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+		CountDownLatch ready = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			Thread thread = new Thread(() -> {
+				awaitQuietly(ready);
+				for (int i = 0; i < perProducer; i++) {
+					Integer value = base + i;
+					while (!buffer.offer(value)) {
+						Thread.yield();
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+
+		BitSet received = new BitSet(total);
+		int[] lastByProducer = new int[producers];
+		Arrays.fill(lastByProducer, -1);
+		int count = 0;
+		int duplicates = 0;
+		boolean ordered = true;
+		List<Integer> batch = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		ready.countDown();
+		while (count < total && System.nanoTime() < deadline) {
+			batch.clear();
+			if (buffer.drainTo(batch, 32) == 0) {
+				Thread.yield();
+			}
+			for (int value : batch) {
+				if (received.get(value)) {
+					duplicates++;
+				}
+				received.set(value);
+				// 同じスレッドから投入した要素は投入順に取り出される
+				int producer = value / perProducer;
+				ordered &= value > lastByProducer[producer];
+				lastByProducer[producer] = value;
+				count++;
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(duplicates).isZero();
+		assertThat(count).isEqualTo(total);
+		assertThat(received.cardinality()).isEqualTo(total);
+		assertThat(ordered).isTrue();
+		assertThat(buffer.poll()).isNull();
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.digitalojt.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.digitalojt.web.consts.InvalidCharacter;
+
+/**
+ * InvalidCharacterSanitizer の確認（画面の不正文字・ログインIDの禁止文字）
+ *
+ * @author dotlife
+ */
+class InvalidCharacterSanitizerTest {
+
+	@Test
+	void matchesInvalidCharacterEnum() {
+		for (char c = 0; c < 0x4000; c++) {
+			boolean expected = false;
+			for (InvalidCharacter invalidChar : InvalidCharacter.values()) {
+				expected |= invalidChar.getCharacter() == c;
+			}
+			assertThat(InvalidCharacterSanitizer.isInvalidCharacter(c)).as("U+%04X", (int) c).isEqualTo(expected);
+		}
+		assertThat(InvalidCharacterSanitizer.containsInvalidCharacter("東京　センター")).isTrue();
+		assertThat(InvalidCharacterSanitizer.containsInvalidCharacter("東京センター")).isFalse();
+		assertThat(InvalidCharacterSanitizer.containsInvalidCharacter(null)).isFalse();
+	}
+
+	@Test
+	void adminIdKeepsLegacyCharacterSet() {
+		for (char c : " {}()'*;$=&".toCharArray()) {
+			assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter("admin" + c)).as("%s", c).isTrue();
+		}
+		// 画面の不正文字のうち ? " 全角スペースはログインIDでは禁止しない
+		assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter("admin?")).isFalse();
+		assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter("admin\"")).isFalse();
+		assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter("admin　")).isFalse();
+		assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter("admin01")).isFalse();
+		assertThat(InvalidCharacterSanitizer.containsInvalidAdminIdCharacter(null)).isFalse();
+	}
+}